@@ -0,0 +1,53 @@
+package com.generic.rest.main.controller;
+
+import com.generic.rest.main.dto.SearchCacheStatsDTO;
+import com.generic.rest.main.dto.SecondLevelCacheStatsDTO;
+import com.generic.rest.main.dto.WriteSchedulerStatsDTO;
+import com.generic.rest.main.service.ProductArchiveService;
+import com.generic.rest.main.service.ProductSearchCache;
+import com.generic.rest.main.service.SecondLevelCacheService;
+import com.generic.rest.main.service.WriteScheduler;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin")
+public class AdminController {
+
+    private final WriteScheduler writeScheduler;
+    private final ProductArchiveService productArchiveService;
+    private final ProductSearchCache productSearchCache;
+    private final SecondLevelCacheService secondLevelCacheService;
+
+    public AdminController(WriteScheduler writeScheduler, ProductArchiveService productArchiveService,
+                           ProductSearchCache productSearchCache, SecondLevelCacheService secondLevelCacheService) {
+        this.writeScheduler = writeScheduler;
+        this.productArchiveService = productArchiveService;
+        this.productSearchCache = productSearchCache;
+        this.secondLevelCacheService = secondLevelCacheService;
+    }
+
+    @GetMapping("/write-scheduler")
+    public ResponseEntity<WriteSchedulerStatsDTO> writeSchedulerStats() {
+        return ResponseEntity.ok(writeScheduler.getStats());
+    }
+
+    @GetMapping("/search-cache")
+    public ResponseEntity<SearchCacheStatsDTO> searchCacheStats() {
+        return ResponseEntity.ok(productSearchCache.getStats());
+    }
+
+    @GetMapping("/second-level-cache")
+    public ResponseEntity<SecondLevelCacheStatsDTO> secondLevelCacheStats() {
+        return ResponseEntity.ok(secondLevelCacheService.getStats());
+    }
+
+    @PostMapping("/products/archive")
+    public ResponseEntity<Map<String, Integer>> archiveProducts() {
+        int products = productArchiveService.archive();
+        return ResponseEntity.ok(Map.of("products", products));
+    }
+}
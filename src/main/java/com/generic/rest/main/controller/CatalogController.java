@@ -0,0 +1,29 @@
+package com.generic.rest.main.controller;
+
+import com.generic.rest.main.dto.CatalogChangesDTO;
+import com.generic.rest.main.service.CatalogService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/catalog")
+public class CatalogController {
+
+    private final CatalogService catalogService;
+
+    public CatalogController(CatalogService catalogService) {
+        this.catalogService = catalogService;
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<CatalogChangesDTO> changes(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "500") int limit
+    ) {
+        CatalogChangesDTO response = catalogService.getChanges(since, limit);
+        return ResponseEntity.ok(response);
+    }
+}
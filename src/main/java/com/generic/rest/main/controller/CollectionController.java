@@ -1,11 +1,15 @@
 package com.generic.rest.main.controller;
 
 import com.generic.rest.main.dto.CollectionDTO;
+import com.generic.rest.main.dto.CollectionPageDTO;
 import com.generic.rest.main.dto.ProductDTO;
+import com.generic.rest.main.model.enums.ProductSort;
 import com.generic.rest.main.service.CollectionService;
+import com.generic.rest.main.service.FieldSelection;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -21,19 +25,36 @@ public class CollectionController {
     }
 
     @GetMapping("/list")
-    public ResponseEntity<List<CollectionDTO>> listCollections(
-            @RequestParam(required = false, defaultValue = "false") boolean onlyRoot
+    public ResponseEntity<MappingJacksonValue> listCollections(
+            @RequestParam(required = false, defaultValue = "false") boolean onlyRoot,
+            @RequestParam(required = false) String fields
     ) {
+        FieldSelection selection = FieldSelection.parse(fields, CollectionDTO.class);
         List<CollectionDTO> response = onlyRoot
-                ? collectionService.listRootCollections()
-                : collectionService.listAllCollections();
-        return ResponseEntity.ok(response);
+                ? collectionService.listRootCollections(selection)
+                : collectionService.listAllCollections(selection);
+        return ResponseEntity.ok(selection.apply(response));
     }
 
     @GetMapping("/show/{id}")
-    public ResponseEntity<CollectionDTO> showCollection(@PathVariable Long id) {
-        CollectionDTO response = collectionService.getCollection(id);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<MappingJacksonValue> showCollection(@PathVariable Long id,
+                                                              @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, CollectionDTO.class);
+        CollectionDTO response = collectionService.getCollection(id, selection);
+        return ResponseEntity.ok(selection.apply(response));
+    }
+
+    // Public: everything a storefront category page shows, in one request
+    @GetMapping("/page/{id}")
+    public ResponseEntity<MappingJacksonValue> showCollectionPage(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) ProductSort sort,
+            @RequestParam(required = false) String fields
+    ) {
+        FieldSelection selection = FieldSelection.parse(fields, ProductDTO.class);
+        CollectionPageDTO response = collectionService.getCollectionPage(id, size, sort, selection);
+        return ResponseEntity.ok(selection.apply(response));
     }
 
     @PostMapping("/create")
@@ -76,9 +97,11 @@ public class CollectionController {
     }
 
     @GetMapping("/{collectionId}/products")
-    public ResponseEntity<List<ProductDTO>> getCollectionProducts(@PathVariable Long collectionId) {
-        List<ProductDTO> response = collectionService.getCollectionProducts(collectionId);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<MappingJacksonValue> getCollectionProducts(@PathVariable Long collectionId,
+                                                                     @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, ProductDTO.class);
+        List<ProductDTO> response = collectionService.getCollectionProducts(collectionId, selection);
+        return ResponseEntity.ok(selection.apply(response));
     }
 
     @PostMapping("/{parentId}/subcollections/{subcollectionId}")
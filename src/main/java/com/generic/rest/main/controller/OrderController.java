@@ -1,25 +1,35 @@
 package com.generic.rest.main.controller;
 
+import com.generic.rest.main.dto.BulkOrderUpdateDTO;
+import com.generic.rest.main.dto.BulkOrderUpdateResultDTO;
 import com.generic.rest.main.dto.OrderDTO;
 import com.generic.rest.main.model.User;
+import com.generic.rest.main.model.enums.OrderStatus;
+import com.generic.rest.main.service.FieldSelection;
+import com.generic.rest.main.service.OrderEventService;
 import com.generic.rest.main.service.OrderService;
 import jakarta.validation.Valid;
 
 import java.util.List;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/order")
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderEventService orderEventService;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, OrderEventService orderEventService) {
         this.orderService = orderService;
+        this.orderEventService = orderEventService;
     }
 
     @PostMapping("/create")
@@ -30,23 +40,38 @@ public class OrderController {
     }
 
     @GetMapping("/list")
-    public ResponseEntity<List<OrderDTO>> list(Authentication authentication, @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "20") int size) {
+    public ResponseEntity<MappingJacksonValue> list(Authentication authentication, @RequestParam(required = false) OrderStatus status, @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "20") int size, @RequestParam(required = false) String fields) {
         User user = (User) authentication.getPrincipal();
-        List<OrderDTO> response = orderService.listOrders(user, page, size);
-        return ResponseEntity.ok(response);
+        FieldSelection selection = FieldSelection.parse(fields, OrderDTO.class);
+        List<OrderDTO> response = orderService.listOrders(user, status, page, size, selection);
+        return ResponseEntity.ok(selection.apply(response));
     }
 
     @GetMapping("/list/{userId}")
-    public ResponseEntity<List<OrderDTO>> listByUserId(@PathVariable Long userId, @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "20") int size) {
-        List<OrderDTO> response = orderService.listOrdersByUserId(userId, page, size);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<MappingJacksonValue> listByUserId(@PathVariable Long userId, @RequestParam(required = false) OrderStatus status, @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "20") int size, @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, OrderDTO.class);
+        List<OrderDTO> response = orderService.listOrdersByUserId(userId, status, page, size, selection);
+        return ResponseEntity.ok(selection.apply(response));
+    }
+
+    @GetMapping("/queue")
+    public ResponseEntity<MappingJacksonValue> queue(@RequestParam(defaultValue = "IN_PROCESS") OrderStatus status, @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "20") int size, @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, OrderDTO.class);
+        List<OrderDTO> response = orderService.listFulfilmentQueue(status, page, size, selection);
+        return ResponseEntity.ok(selection.apply(response));
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        return orderEventService.subscribe(user.getId());
     }
 
     @GetMapping("/show/{id}")
-    public ResponseEntity<OrderDTO> show(Authentication authentication, @PathVariable Long id) {
+    public ResponseEntity<byte[]> show(Authentication authentication, @PathVariable Long id) {
         User user = (User) authentication.getPrincipal();
-        OrderDTO response = orderService.getOrder(user, id);
-        return ResponseEntity.ok(response);
+        byte[] response = orderService.getOrderBody(user, id);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(response);
     }
 
     @PutMapping("/edit/{id}")
@@ -56,6 +81,12 @@ public class OrderController {
         return ResponseEntity.ok(response);
     }
 
+    @PutMapping("/bulk-edit")
+    public ResponseEntity<BulkOrderUpdateResultDTO> bulkEdit(@RequestBody BulkOrderUpdateDTO request) {
+        BulkOrderUpdateResultDTO response = orderService.bulkUpdateOrders(request);
+        return ResponseEntity.ok(response);
+    }
+
     @DeleteMapping("/delete/{id}")
     public ResponseEntity<Void> delete(Authentication authentication, @PathVariable Long id) {
         User user = (User) authentication.getPrincipal();
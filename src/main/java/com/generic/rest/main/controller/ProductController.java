@@ -1,7 +1,16 @@
 package com.generic.rest.main.controller;
 
+import com.generic.rest.main.dto.BestsellerDTO;
+import com.generic.rest.main.dto.ProductBatchDTO;
 import com.generic.rest.main.dto.ProductDTO;
+import com.generic.rest.main.dto.ProductFacetsDTO;
+import com.generic.rest.main.dto.ProductStockDTO;
+import com.generic.rest.main.dto.SuggestionDTO;
+import com.generic.rest.main.model.enums.Gender;
+import com.generic.rest.main.model.enums.ProductSort;
 import com.generic.rest.main.model.enums.ProductType;
+import com.generic.rest.main.model.enums.Size;
+import com.generic.rest.main.service.FieldSelection;
 import com.generic.rest.main.service.ProductService;
 import jakarta.validation.Valid;
 
@@ -9,6 +18,7 @@ import java.util.List;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -22,24 +32,72 @@ public class ProductController {
     }
 
     @GetMapping("/list")
-    public ResponseEntity<List<ProductDTO>> listProducts(
+    public ResponseEntity<MappingJacksonValue> listProducts(
             @RequestParam(required = false) String name,
             @RequestParam(required = false) ProductType type,
+            @RequestParam(required = false) Gender gender,
+            @RequestParam(required = false) Size productSize,
             @RequestParam(required = false) Float minPrice,
             @RequestParam(required = false) Float maxPrice,
+            @RequestParam(required = false) Long collectionId,
+            @RequestParam(required = false) ProductSort sort,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String fields
     ) {
-        List<ProductDTO> response = productService.listProducts(name, type, minPrice, maxPrice, page, size);
+        FieldSelection selection = FieldSelection.parse(fields, ProductDTO.class);
+        List<ProductDTO> response = productService.listProducts(name, type, gender, productSize, minPrice, maxPrice,
+                collectionId, sort, page, size, selection);
+        return ResponseEntity.ok(selection.apply(response));
+    }
+
+    @GetMapping("/facets")
+    public ResponseEntity<ProductFacetsDTO> facets(
+            @RequestParam(required = false) ProductType type,
+            @RequestParam(required = false) Gender gender,
+            @RequestParam(required = false) Size productSize,
+            @RequestParam(required = false) Float minPrice,
+            @RequestParam(required = false) Float maxPrice
+    ) {
+        ProductFacetsDTO response = productService.getFacets(type, gender, productSize, minPrice, maxPrice);
         return ResponseEntity.ok(response);
     }
 
-    @GetMapping("/show/{id}")
-    public ResponseEntity<ProductDTO> showProduct(@PathVariable Long id) {
-        ProductDTO response = productService.getProduct(id);
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionDTO>> suggest(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        List<SuggestionDTO> response = productService.suggest(q, limit);
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/batch")
+    public ResponseEntity<MappingJacksonValue> batch(@RequestParam List<Long> ids,
+                                                     @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, ProductDTO.class);
+        ProductBatchDTO response = productService.getProductBatch(ids, selection);
+        return ResponseEntity.ok(selection.apply(response));
+    }
+
+    @GetMapping("/bestsellers")
+    public ResponseEntity<List<BestsellerDTO>> bestsellers(
+            @RequestParam(required = false) ProductType type,
+            @RequestParam(required = false) Gender gender,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        List<BestsellerDTO> response = productService.getBestsellers(type, gender, limit);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/show/{id}")
+    public ResponseEntity<MappingJacksonValue> showProduct(@PathVariable Long id,
+                                                           @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, ProductDTO.class);
+        ProductDTO response = productService.getProduct(id, selection);
+        return ResponseEntity.ok(selection.apply(response));
+    }
+
     @PostMapping("/create")
     public ResponseEntity<ProductDTO> createProduct(@Valid @RequestBody ProductDTO request) {
         ProductDTO response = productService.createProduct(request);
@@ -60,4 +118,19 @@ public class ProductController {
         productService.deleteProduct(id);
         return ResponseEntity.noContent().build();
     }
+
+    @GetMapping("/stock/{id}")
+    public ResponseEntity<ProductStockDTO> showStock(@PathVariable Long id) {
+        ProductStockDTO response = productService.getStock(id);
+        return ResponseEntity.ok(response);
+    }
+
+    @PutMapping("/stock/{id}")
+    public ResponseEntity<ProductStockDTO> editStock(
+            @PathVariable Long id,
+            @Valid @RequestBody ProductStockDTO request
+    ) {
+        ProductStockDTO response = productService.setStock(id, request);
+        return ResponseEntity.ok(response);
+    }
 }
@@ -0,0 +1,64 @@
+package com.generic.rest.main.controller;
+
+import com.generic.rest.main.dto.CategorySalesDTO;
+import com.generic.rest.main.dto.DailySalesDTO;
+import com.generic.rest.main.dto.ProductSalesDTO;
+import com.generic.rest.main.service.SalesRollupService;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/admin/reports")
+public class ReportController {
+
+    private static final int DEFAULT_DAYS = 30;
+
+    private final SalesRollupService salesRollupService;
+
+    public ReportController(SalesRollupService salesRollupService) {
+        this.salesRollupService = salesRollupService;
+    }
+
+    @GetMapping("/daily")
+    public ResponseEntity<List<DailySalesDTO>> daily(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_DAYS - 1);
+        return ResponseEntity.ok(salesRollupService.getDailySales(start, end));
+    }
+
+    @GetMapping("/products")
+    public ResponseEntity<List<ProductSalesDTO>> products(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_DAYS - 1);
+        return ResponseEntity.ok(salesRollupService.getProductSales(start, end, limit));
+    }
+
+    @GetMapping("/categories")
+    public ResponseEntity<List<CategorySalesDTO>> categories(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_DAYS - 1);
+        return ResponseEntity.ok(salesRollupService.getCategorySales(start, end));
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuild() {
+        int orders = salesRollupService.rebuild();
+        return ResponseEntity.ok(Map.of("orders", orders));
+    }
+}
@@ -0,0 +1,54 @@
+package com.generic.rest.main.dto;
+
+import com.generic.rest.main.model.enums.Gender;
+import com.generic.rest.main.model.enums.ProductType;
+
+public class BestsellerDTO {
+
+    private Long productId;
+    private ProductType type;
+    private Gender gender;
+    private long unitsSold;
+
+    public BestsellerDTO() {
+    }
+
+    public BestsellerDTO(Long productId, ProductType type, Gender gender, long unitsSold) {
+        this.productId = productId;
+        this.type = type;
+        this.gender = gender;
+        this.unitsSold = unitsSold;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public ProductType getType() {
+        return type;
+    }
+
+    public void setType(ProductType type) {
+        this.type = type;
+    }
+
+    public Gender getGender() {
+        return gender;
+    }
+
+    public void setGender(Gender gender) {
+        this.gender = gender;
+    }
+
+    public long getUnitsSold() {
+        return unitsSold;
+    }
+
+    public void setUnitsSold(long unitsSold) {
+        this.unitsSold = unitsSold;
+    }
+}
@@ -0,0 +1,60 @@
+package com.generic.rest.main.dto;
+
+import com.generic.rest.main.model.enums.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class BulkOrderUpdateDTO {
+
+    // Either explicit order ids, or a status filter optionally bounded by creation time
+    private List<Long> orderIds;
+    private OrderStatus status;
+    private LocalDateTime createdBefore;
+
+    private LocalDateTime shippedAt;
+    private LocalDateTime deliveredAt;
+
+    public BulkOrderUpdateDTO() {
+    }
+
+    public List<Long> getOrderIds() {
+        return orderIds;
+    }
+
+    public void setOrderIds(List<Long> orderIds) {
+        this.orderIds = orderIds;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(OrderStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getCreatedBefore() {
+        return createdBefore;
+    }
+
+    public void setCreatedBefore(LocalDateTime createdBefore) {
+        this.createdBefore = createdBefore;
+    }
+
+    public LocalDateTime getShippedAt() {
+        return shippedAt;
+    }
+
+    public void setShippedAt(LocalDateTime shippedAt) {
+        this.shippedAt = shippedAt;
+    }
+
+    public LocalDateTime getDeliveredAt() {
+        return deliveredAt;
+    }
+
+    public void setDeliveredAt(LocalDateTime deliveredAt) {
+        this.deliveredAt = deliveredAt;
+    }
+}
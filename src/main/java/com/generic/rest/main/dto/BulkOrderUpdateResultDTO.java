@@ -0,0 +1,33 @@
+package com.generic.rest.main.dto;
+
+import java.util.List;
+
+public class BulkOrderUpdateResultDTO {
+
+    private int updated;
+    private List<OrderUpdateOutcomeDTO> outcomes;
+
+    public BulkOrderUpdateResultDTO() {
+    }
+
+    public BulkOrderUpdateResultDTO(int updated, List<OrderUpdateOutcomeDTO> outcomes) {
+        this.updated = updated;
+        this.outcomes = outcomes;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(int updated) {
+        this.updated = updated;
+    }
+
+    public List<OrderUpdateOutcomeDTO> getOutcomes() {
+        return outcomes;
+    }
+
+    public void setOutcomes(List<OrderUpdateOutcomeDTO> outcomes) {
+        this.outcomes = outcomes;
+    }
+}
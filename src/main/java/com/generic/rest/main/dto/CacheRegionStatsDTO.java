@@ -0,0 +1,61 @@
+package com.generic.rest.main.dto;
+
+public class CacheRegionStatsDTO {
+
+    private String region;
+    private long hits;
+    private long misses;
+    private long puts;
+    private double hitRatio;
+
+    public CacheRegionStatsDTO() {
+    }
+
+    public CacheRegionStatsDTO(String region, long hits, long misses, long puts, double hitRatio) {
+        this.region = region;
+        this.hits = hits;
+        this.misses = misses;
+        this.puts = puts;
+        this.hitRatio = hitRatio;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public void setRegion(String region) {
+        this.region = region;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public void setHits(long hits) {
+        this.hits = hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public void setMisses(long misses) {
+        this.misses = misses;
+    }
+
+    public long getPuts() {
+        return puts;
+    }
+
+    public void setPuts(long puts) {
+        this.puts = puts;
+    }
+
+    public double getHitRatio() {
+        return hitRatio;
+    }
+
+    public void setHitRatio(double hitRatio) {
+        this.hitRatio = hitRatio;
+    }
+}
@@ -0,0 +1,74 @@
+package com.generic.rest.main.dto;
+
+import java.util.List;
+
+public class CatalogChangesDTO {
+
+    private long version;
+    private boolean hasMore;
+    private List<ProductDTO> products;
+    private List<CollectionDTO> collections;
+    private List<Long> deletedProductIds;
+    private List<Long> deletedCollectionIds;
+
+    public CatalogChangesDTO() {
+    }
+
+    public CatalogChangesDTO(long version, boolean hasMore, List<ProductDTO> products, List<CollectionDTO> collections,
+                             List<Long> deletedProductIds, List<Long> deletedCollectionIds) {
+        this.version = version;
+        this.hasMore = hasMore;
+        this.products = products;
+        this.collections = collections;
+        this.deletedProductIds = deletedProductIds;
+        this.deletedCollectionIds = deletedCollectionIds;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public List<ProductDTO> getProducts() {
+        return products;
+    }
+
+    public void setProducts(List<ProductDTO> products) {
+        this.products = products;
+    }
+
+    public List<CollectionDTO> getCollections() {
+        return collections;
+    }
+
+    public void setCollections(List<CollectionDTO> collections) {
+        this.collections = collections;
+    }
+
+    public List<Long> getDeletedProductIds() {
+        return deletedProductIds;
+    }
+
+    public void setDeletedProductIds(List<Long> deletedProductIds) {
+        this.deletedProductIds = deletedProductIds;
+    }
+
+    public List<Long> getDeletedCollectionIds() {
+        return deletedCollectionIds;
+    }
+
+    public void setDeletedCollectionIds(List<Long> deletedCollectionIds) {
+        this.deletedCollectionIds = deletedCollectionIds;
+    }
+}
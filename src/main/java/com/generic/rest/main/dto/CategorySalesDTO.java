@@ -0,0 +1,54 @@
+package com.generic.rest.main.dto;
+
+import com.generic.rest.main.model.enums.Gender;
+import com.generic.rest.main.model.enums.ProductType;
+
+public class CategorySalesDTO {
+
+    private Gender gender;
+    private ProductType type;
+    private long units;
+    private double revenue;
+
+    public CategorySalesDTO() {
+    }
+
+    public CategorySalesDTO(Gender gender, ProductType type, long units, double revenue) {
+        this.gender = gender;
+        this.type = type;
+        this.units = units;
+        this.revenue = revenue;
+    }
+
+    public Gender getGender() {
+        return gender;
+    }
+
+    public void setGender(Gender gender) {
+        this.gender = gender;
+    }
+
+    public ProductType getType() {
+        return type;
+    }
+
+    public void setType(ProductType type) {
+        this.type = type;
+    }
+
+    public long getUnits() {
+        return units;
+    }
+
+    public void setUnits(long units) {
+        this.units = units;
+    }
+
+    public double getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(double revenue) {
+        this.revenue = revenue;
+    }
+}
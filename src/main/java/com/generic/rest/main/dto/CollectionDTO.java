@@ -1,7 +1,9 @@
 package com.generic.rest.main.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import java.util.List;
 
+@JsonFilter("collection")
 public class CollectionDTO {
 
     private Long id;
@@ -22,6 +24,11 @@ public class CollectionDTO {
         this.parentCollectionId = parentCollectionId;
     }
 
+    // For projection queries; the associations are filled in afterwards
+    public CollectionDTO(Long id, String name, Long parentCollectionId) {
+        this(id, name, null, null, parentCollectionId);
+    }
+
     public Long getId() {
         return id;
     }
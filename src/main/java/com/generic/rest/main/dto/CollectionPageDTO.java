@@ -0,0 +1,74 @@
+package com.generic.rest.main.dto;
+
+import java.util.List;
+
+public class CollectionPageDTO {
+
+    private Long id;
+    private String name;
+    private Long parentCollectionId;
+    private int productCount;
+    private List<ProductDTO> products;
+    private List<CollectionPageDTO> subcollections;
+
+    public CollectionPageDTO() {
+    }
+
+    public CollectionPageDTO(Long id, String name, Long parentCollectionId, int productCount,
+                             List<ProductDTO> products, List<CollectionPageDTO> subcollections) {
+        this.id = id;
+        this.name = name;
+        this.parentCollectionId = parentCollectionId;
+        this.productCount = productCount;
+        this.products = products;
+        this.subcollections = subcollections;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Long getParentCollectionId() {
+        return parentCollectionId;
+    }
+
+    public void setParentCollectionId(Long parentCollectionId) {
+        this.parentCollectionId = parentCollectionId;
+    }
+
+    public int getProductCount() {
+        return productCount;
+    }
+
+    public void setProductCount(int productCount) {
+        this.productCount = productCount;
+    }
+
+    public List<ProductDTO> getProducts() {
+        return products;
+    }
+
+    public void setProducts(List<ProductDTO> products) {
+        this.products = products;
+    }
+
+    public List<CollectionPageDTO> getSubcollections() {
+        return subcollections;
+    }
+
+    public void setSubcollections(List<CollectionPageDTO> subcollections) {
+        this.subcollections = subcollections;
+    }
+}
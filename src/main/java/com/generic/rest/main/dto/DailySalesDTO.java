@@ -0,0 +1,53 @@
+package com.generic.rest.main.dto;
+
+import java.time.LocalDate;
+
+public class DailySalesDTO {
+
+    private LocalDate day;
+    private long orders;
+    private long units;
+    private double revenue;
+
+    public DailySalesDTO() {
+    }
+
+    public DailySalesDTO(LocalDate day, long orders, long units, double revenue) {
+        this.day = day;
+        this.orders = orders;
+        this.units = units;
+        this.revenue = revenue;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+
+    public long getOrders() {
+        return orders;
+    }
+
+    public void setOrders(long orders) {
+        this.orders = orders;
+    }
+
+    public long getUnits() {
+        return units;
+    }
+
+    public void setUnits(long units) {
+        this.units = units;
+    }
+
+    public double getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(double revenue) {
+        this.revenue = revenue;
+    }
+}
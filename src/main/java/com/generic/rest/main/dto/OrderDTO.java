@@ -1,10 +1,12 @@
 package com.generic.rest.main.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.generic.rest.main.model.enums.OrderStatus;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
+@JsonFilter("order")
 public class OrderDTO {
 
     private Long id;
@@ -31,6 +33,12 @@ public class OrderDTO {
         this.status = status;
     }
 
+    // For projection queries; the address and lines are filled in afterwards
+    public OrderDTO(Long id, LocalDateTime createdAt, LocalDateTime shippedAt, LocalDateTime deliveredAt,
+                    OrderStatus status) {
+        this(id, createdAt, shippedAt, deliveredAt, null, null, null, status);
+    }
+
     public Long getId() {
         return id;
     }
@@ -1,9 +1,13 @@
 package com.generic.rest.main.dto;
 
+import com.generic.rest.main.model.enums.Size;
+
 public class OrderProductDTO {
 
     private Long productId;
     private String productName;
+    private String productImageUrl;
+    private Size size;
     private Integer quantity;
     private Float priceAtPurchase;
     private Float subtotal;
@@ -11,9 +15,12 @@ public class OrderProductDTO {
     public OrderProductDTO() {
     }
 
-    public OrderProductDTO(Long productId, String productName, Integer quantity, Float priceAtPurchase) {
+    public OrderProductDTO(Long productId, String productName, String productImageUrl, Size size, Integer quantity,
+                           Float priceAtPurchase) {
         this.productId = productId;
         this.productName = productName;
+        this.productImageUrl = productImageUrl;
+        this.size = size;
         this.quantity = quantity;
         this.priceAtPurchase = priceAtPurchase;
         this.subtotal = priceAtPurchase * quantity;
@@ -35,6 +42,22 @@ public class OrderProductDTO {
         this.productName = productName;
     }
 
+    public String getProductImageUrl() {
+        return productImageUrl;
+    }
+
+    public void setProductImageUrl(String productImageUrl) {
+        this.productImageUrl = productImageUrl;
+    }
+
+    public Size getSize() {
+        return size;
+    }
+
+    public void setSize(Size size) {
+        this.size = size;
+    }
+
     public Integer getQuantity() {
         return quantity;
     }
@@ -0,0 +1,55 @@
+package com.generic.rest.main.dto;
+
+import com.generic.rest.main.model.enums.OrderStatus;
+
+import java.time.LocalDateTime;
+
+public class OrderStatusEventDTO {
+
+    private Long orderId;
+    private OrderStatus status;
+    private LocalDateTime shippedAt;
+    private LocalDateTime deliveredAt;
+
+    public OrderStatusEventDTO() {
+    }
+
+    public OrderStatusEventDTO(Long orderId, OrderStatus status, LocalDateTime shippedAt, LocalDateTime deliveredAt) {
+        this.orderId = orderId;
+        this.status = status;
+        this.shippedAt = shippedAt;
+        this.deliveredAt = deliveredAt;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(OrderStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getShippedAt() {
+        return shippedAt;
+    }
+
+    public void setShippedAt(LocalDateTime shippedAt) {
+        this.shippedAt = shippedAt;
+    }
+
+    public LocalDateTime getDeliveredAt() {
+        return deliveredAt;
+    }
+
+    public void setDeliveredAt(LocalDateTime deliveredAt) {
+        this.deliveredAt = deliveredAt;
+    }
+}
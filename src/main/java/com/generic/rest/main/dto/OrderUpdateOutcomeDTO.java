@@ -0,0 +1,33 @@
+package com.generic.rest.main.dto;
+
+import com.generic.rest.main.model.enums.OrderUpdateOutcome;
+
+public class OrderUpdateOutcomeDTO {
+
+    private Long orderId;
+    private OrderUpdateOutcome outcome;
+
+    public OrderUpdateOutcomeDTO() {
+    }
+
+    public OrderUpdateOutcomeDTO(Long orderId, OrderUpdateOutcome outcome) {
+        this.orderId = orderId;
+        this.outcome = outcome;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    public OrderUpdateOutcome getOutcome() {
+        return outcome;
+    }
+
+    public void setOutcome(OrderUpdateOutcome outcome) {
+        this.outcome = outcome;
+    }
+}
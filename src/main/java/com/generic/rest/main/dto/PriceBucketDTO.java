@@ -0,0 +1,41 @@
+package com.generic.rest.main.dto;
+
+public class PriceBucketDTO {
+
+    private Float minPrice;
+    private Float maxPrice;
+    private long count;
+
+    public PriceBucketDTO() {
+    }
+
+    public PriceBucketDTO(Float minPrice, Float maxPrice, long count) {
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.count = count;
+    }
+
+    public Float getMinPrice() {
+        return minPrice;
+    }
+
+    public void setMinPrice(Float minPrice) {
+        this.minPrice = minPrice;
+    }
+
+    public Float getMaxPrice() {
+        return maxPrice;
+    }
+
+    public void setMaxPrice(Float maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+}
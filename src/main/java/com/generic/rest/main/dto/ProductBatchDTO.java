@@ -0,0 +1,33 @@
+package com.generic.rest.main.dto;
+
+import java.util.List;
+
+public class ProductBatchDTO {
+
+    private List<ProductDTO> products;
+    private List<Long> missingIds;
+
+    public ProductBatchDTO() {
+    }
+
+    public ProductBatchDTO(List<ProductDTO> products, List<Long> missingIds) {
+        this.products = products;
+        this.missingIds = missingIds;
+    }
+
+    public List<ProductDTO> getProducts() {
+        return products;
+    }
+
+    public void setProducts(List<ProductDTO> products) {
+        this.products = products;
+    }
+
+    public List<Long> getMissingIds() {
+        return missingIds;
+    }
+
+    public void setMissingIds(List<Long> missingIds) {
+        this.missingIds = missingIds;
+    }
+}
@@ -1,11 +1,13 @@
 package com.generic.rest.main.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.generic.rest.main.model.enums.Gender;
 import com.generic.rest.main.model.enums.ProductType;
 import com.generic.rest.main.model.enums.Size;
 
 import java.util.List;
 
+@JsonFilter("product")
 public class ProductDTO {
 
     private Long id;
@@ -38,6 +40,12 @@ public class ProductDTO {
         this.collectionIds = collectionIds;
     }
 
+    // For projection queries, which select the sizes column as stored
+    public ProductDTO(Long id, String name, String description, String note, String fabricDetails,
+                      ProductType type, Gender gender, Float price, String sizes) {
+        this(id, name, description, note, fabricDetails, type, gender, price, Size.parseList(sizes), null, null);
+    }
+
     public Long getId() {
         return id;
     }
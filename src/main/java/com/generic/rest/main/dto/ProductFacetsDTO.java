@@ -0,0 +1,69 @@
+package com.generic.rest.main.dto;
+
+import com.generic.rest.main.model.enums.Gender;
+import com.generic.rest.main.model.enums.ProductType;
+import com.generic.rest.main.model.enums.Size;
+
+import java.util.List;
+import java.util.Map;
+
+public class ProductFacetsDTO {
+
+    private long total;
+    private Map<ProductType, Long> types;
+    private Map<Gender, Long> genders;
+    private Map<Size, Long> sizes;
+    private List<PriceBucketDTO> prices;
+
+    public ProductFacetsDTO() {
+    }
+
+    public ProductFacetsDTO(long total, Map<ProductType, Long> types, Map<Gender, Long> genders,
+                            Map<Size, Long> sizes, List<PriceBucketDTO> prices) {
+        this.total = total;
+        this.types = types;
+        this.genders = genders;
+        this.sizes = sizes;
+        this.prices = prices;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public Map<ProductType, Long> getTypes() {
+        return types;
+    }
+
+    public void setTypes(Map<ProductType, Long> types) {
+        this.types = types;
+    }
+
+    public Map<Gender, Long> getGenders() {
+        return genders;
+    }
+
+    public void setGenders(Map<Gender, Long> genders) {
+        this.genders = genders;
+    }
+
+    public Map<Size, Long> getSizes() {
+        return sizes;
+    }
+
+    public void setSizes(Map<Size, Long> sizes) {
+        this.sizes = sizes;
+    }
+
+    public List<PriceBucketDTO> getPrices() {
+        return prices;
+    }
+
+    public void setPrices(List<PriceBucketDTO> prices) {
+        this.prices = prices;
+    }
+}
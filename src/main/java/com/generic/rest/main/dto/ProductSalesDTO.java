@@ -0,0 +1,41 @@
+package com.generic.rest.main.dto;
+
+public class ProductSalesDTO {
+
+    private Long productId;
+    private long units;
+    private double revenue;
+
+    public ProductSalesDTO() {
+    }
+
+    public ProductSalesDTO(Long productId, long units, double revenue) {
+        this.productId = productId;
+        this.units = units;
+        this.revenue = revenue;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public long getUnits() {
+        return units;
+    }
+
+    public void setUnits(long units) {
+        this.units = units;
+    }
+
+    public double getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(double revenue) {
+        this.revenue = revenue;
+    }
+}
@@ -0,0 +1,38 @@
+package com.generic.rest.main.dto;
+
+import com.generic.rest.main.model.enums.Size;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.Map;
+
+public class ProductStockDTO {
+
+    private Long productId;
+
+    @NotNull(message = "Stock is required")
+    private Map<Size, Integer> stock;
+
+    public ProductStockDTO() {
+    }
+
+    public ProductStockDTO(Long productId, Map<Size, Integer> stock) {
+        this.productId = productId;
+        this.stock = stock;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public Map<Size, Integer> getStock() {
+        return stock;
+    }
+
+    public void setStock(Map<Size, Integer> stock) {
+        this.stock = stock;
+    }
+}
@@ -0,0 +1,71 @@
+package com.generic.rest.main.dto;
+
+public class SearchCacheStatsDTO {
+
+    private boolean enabled;
+    private int entries;
+    private long hits;
+    private long misses;
+    private long coalesced;
+    private double hitRatio;
+
+    public SearchCacheStatsDTO() {
+    }
+
+    public SearchCacheStatsDTO(boolean enabled, int entries, long hits, long misses, long coalesced, double hitRatio) {
+        this.enabled = enabled;
+        this.entries = entries;
+        this.hits = hits;
+        this.misses = misses;
+        this.coalesced = coalesced;
+        this.hitRatio = hitRatio;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getEntries() {
+        return entries;
+    }
+
+    public void setEntries(int entries) {
+        this.entries = entries;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public void setHits(long hits) {
+        this.hits = hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public void setMisses(long misses) {
+        this.misses = misses;
+    }
+
+    public long getCoalesced() {
+        return coalesced;
+    }
+
+    public void setCoalesced(long coalesced) {
+        this.coalesced = coalesced;
+    }
+
+    public double getHitRatio() {
+        return hitRatio;
+    }
+
+    public void setHitRatio(double hitRatio) {
+        this.hitRatio = hitRatio;
+    }
+}
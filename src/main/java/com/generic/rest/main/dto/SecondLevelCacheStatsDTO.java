@@ -0,0 +1,84 @@
+package com.generic.rest.main.dto;
+
+import java.util.List;
+
+public class SecondLevelCacheStatsDTO {
+
+    private boolean enabled;
+    private long hits;
+    private long misses;
+    private long puts;
+    private long queryHits;
+    private long queryMisses;
+    private List<CacheRegionStatsDTO> regions;
+
+    public SecondLevelCacheStatsDTO() {
+    }
+
+    public SecondLevelCacheStatsDTO(boolean enabled, long hits, long misses, long puts, long queryHits,
+                                    long queryMisses, List<CacheRegionStatsDTO> regions) {
+        this.enabled = enabled;
+        this.hits = hits;
+        this.misses = misses;
+        this.puts = puts;
+        this.queryHits = queryHits;
+        this.queryMisses = queryMisses;
+        this.regions = regions;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public void setHits(long hits) {
+        this.hits = hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public void setMisses(long misses) {
+        this.misses = misses;
+    }
+
+    public long getPuts() {
+        return puts;
+    }
+
+    public void setPuts(long puts) {
+        this.puts = puts;
+    }
+
+    public long getQueryHits() {
+        return queryHits;
+    }
+
+    public void setQueryHits(long queryHits) {
+        this.queryHits = queryHits;
+    }
+
+    public long getQueryMisses() {
+        return queryMisses;
+    }
+
+    public void setQueryMisses(long queryMisses) {
+        this.queryMisses = queryMisses;
+    }
+
+    public List<CacheRegionStatsDTO> getRegions() {
+        return regions;
+    }
+
+    public void setRegions(List<CacheRegionStatsDTO> regions) {
+        this.regions = regions;
+    }
+}
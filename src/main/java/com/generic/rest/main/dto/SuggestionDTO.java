@@ -0,0 +1,43 @@
+package com.generic.rest.main.dto;
+
+import com.generic.rest.main.model.enums.CatalogEntityType;
+
+public class SuggestionDTO {
+
+    private CatalogEntityType type;
+    private Long id;
+    private String name;
+
+    public SuggestionDTO() {
+    }
+
+    public SuggestionDTO(CatalogEntityType type, Long id, String name) {
+        this.type = type;
+        this.id = id;
+        this.name = name;
+    }
+
+    public CatalogEntityType getType() {
+        return type;
+    }
+
+    public void setType(CatalogEntityType type) {
+        this.type = type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
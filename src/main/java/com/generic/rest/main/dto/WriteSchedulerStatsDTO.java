@@ -0,0 +1,102 @@
+package com.generic.rest.main.dto;
+
+public class WriteSchedulerStatsDTO {
+
+    private boolean enabled;
+    private long batches;
+    private long units;
+    private long failedUnits;
+    private long batchFallbacks;
+    private int maxBatchSize;
+    private double averageBatchSize;
+    private double averageWaitMillis;
+    private double maxWaitMillis;
+
+    public WriteSchedulerStatsDTO() {
+    }
+
+    public WriteSchedulerStatsDTO(boolean enabled, long batches, long units, long failedUnits, long batchFallbacks,
+                                  int maxBatchSize, double averageBatchSize, double averageWaitMillis, double maxWaitMillis) {
+        this.enabled = enabled;
+        this.batches = batches;
+        this.units = units;
+        this.failedUnits = failedUnits;
+        this.batchFallbacks = batchFallbacks;
+        this.maxBatchSize = maxBatchSize;
+        this.averageBatchSize = averageBatchSize;
+        this.averageWaitMillis = averageWaitMillis;
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getBatches() {
+        return batches;
+    }
+
+    public void setBatches(long batches) {
+        this.batches = batches;
+    }
+
+    public long getUnits() {
+        return units;
+    }
+
+    public void setUnits(long units) {
+        this.units = units;
+    }
+
+    public long getFailedUnits() {
+        return failedUnits;
+    }
+
+    public void setFailedUnits(long failedUnits) {
+        this.failedUnits = failedUnits;
+    }
+
+    public long getBatchFallbacks() {
+        return batchFallbacks;
+    }
+
+    public void setBatchFallbacks(long batchFallbacks) {
+        this.batchFallbacks = batchFallbacks;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public double getAverageBatchSize() {
+        return averageBatchSize;
+    }
+
+    public void setAverageBatchSize(double averageBatchSize) {
+        this.averageBatchSize = averageBatchSize;
+    }
+
+    public double getAverageWaitMillis() {
+        return averageWaitMillis;
+    }
+
+    public void setAverageWaitMillis(double averageWaitMillis) {
+        this.averageWaitMillis = averageWaitMillis;
+    }
+
+    public double getMaxWaitMillis() {
+        return maxWaitMillis;
+    }
+
+    public void setMaxWaitMillis(double maxWaitMillis) {
+        this.maxWaitMillis = maxWaitMillis;
+    }
+}
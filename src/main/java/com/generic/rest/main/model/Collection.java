@@ -1,11 +1,14 @@
 package com.generic.rest.main.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "collections")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Collection {
 
     @Id
@@ -16,6 +19,7 @@ public class Collection {
     private String name;
 
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JoinTable(
         name = "collection_products",
         joinColumns = @JoinColumn(name = "collection_id"),
@@ -24,6 +28,7 @@ public class Collection {
     private List<Product> products = new ArrayList<>();
 
     @OneToMany(mappedBy = "parentCollection", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private List<Collection> subcollections = new ArrayList<>();
 
     @ManyToOne
@@ -23,7 +23,12 @@ public class Order {
     @Column(name = "delivered_at", columnDefinition = "NUMERIC")
     private LocalDateTime deliveredAt;
 
-    @ManyToOne
+    // Persisted so orders can be filtered by status; kept in sync with the dates by updateStatus()
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OrderStatus status;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "address_id", nullable = false)
     private Address address;
 
@@ -36,6 +41,7 @@ public class Order {
     public Order(LocalDateTime createdAt, Address address) {
         this.createdAt = createdAt;
         this.address = address;
+        updateStatus();
     }
 
     public Long getId() {
@@ -103,6 +109,14 @@ public class Order {
     }
 
     public OrderStatus getStatus() {
+        return status;
+    }
+
+    public void updateStatus() {
+        status = statusFor(createdAt, shippedAt, deliveredAt);
+    }
+
+    public static OrderStatus statusFor(LocalDateTime createdAt, LocalDateTime shippedAt, LocalDateTime deliveredAt) {
         if (deliveredAt != null) {
             return OrderStatus.COMPLETED;
         } else if (shippedAt != null) {
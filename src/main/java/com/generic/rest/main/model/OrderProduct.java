@@ -1,5 +1,8 @@
 package com.generic.rest.main.model;
 
+import com.generic.rest.main.model.enums.Gender;
+import com.generic.rest.main.model.enums.ProductType;
+import com.generic.rest.main.model.enums.Size;
 import jakarta.persistence.*;
 
 @Entity
@@ -14,22 +17,44 @@ public class OrderProduct {
     @JoinColumn(name = "order_id", nullable = false)
     private Order order;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "product_id", nullable = false)
     private Product product;
 
+    // Snapshot of the product at purchase time, so rendering an order never loads the product
+    @Column(name = "product_name", nullable = false)
+    private String productName;
+
+    @Column(name = "product_image_url")
+    private String productImageUrl;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "product_gender")
+    private Gender productGender;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "product_type")
+    private ProductType productType;
+
     @Column(nullable = false)
     private Integer quantity;
 
     @Column(name = "price_at_purchase", nullable = false)
     private Float priceAtPurchase;
 
+    @Enumerated(EnumType.STRING)
+    @Column
+    private Size size;
+
     public OrderProduct() {
     }
 
     public OrderProduct(Order order, Product product, Integer quantity, Float priceAtPurchase) {
         this.order = order;
         this.product = product;
+        this.productName = product.getName();
+        this.productGender = product.getGender();
+        this.productType = product.getType();
         this.quantity = quantity;
         this.priceAtPurchase = priceAtPurchase;
     }
@@ -58,6 +83,38 @@ public class OrderProduct {
         this.product = product;
     }
 
+    public String getProductName() {
+        return productName;
+    }
+
+    public void setProductName(String productName) {
+        this.productName = productName;
+    }
+
+    public String getProductImageUrl() {
+        return productImageUrl;
+    }
+
+    public void setProductImageUrl(String productImageUrl) {
+        this.productImageUrl = productImageUrl;
+    }
+
+    public Gender getProductGender() {
+        return productGender;
+    }
+
+    public void setProductGender(Gender productGender) {
+        this.productGender = productGender;
+    }
+
+    public ProductType getProductType() {
+        return productType;
+    }
+
+    public void setProductType(ProductType productType) {
+        this.productType = productType;
+    }
+
     public Integer getQuantity() {
         return quantity;
     }
@@ -73,4 +130,12 @@ public class OrderProduct {
     public void setPriceAtPurchase(Float priceAtPurchase) {
         this.priceAtPurchase = priceAtPurchase;
     }
+
+    public Size getSize() {
+        return size;
+    }
+
+    public void setSize(Size size) {
+        this.size = size;
+    }
 }
@@ -1,9 +1,11 @@
 package com.generic.rest.main.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -13,6 +15,7 @@ import com.generic.rest.main.model.enums.Size;
 
 @Entity
 @Table(name = "products")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Product {
 
     @Id
@@ -46,9 +49,11 @@ public class Product {
     private String sizes; // Comma-separated Size enum values
 
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private List<ProductImage> images = new ArrayList<>();
 
     @ManyToMany(mappedBy = "products")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private List<Collection> collections = new ArrayList<>();
 
     @Column(columnDefinition = "NUMERIC")
@@ -142,13 +147,7 @@ public class Product {
     }
 
     public List<Size> getSizesList() {
-        if (sizes == null || sizes.isEmpty()) {
-            return new ArrayList<>();
-        }
-        return Arrays.stream(sizes.split(","))
-                .map(String::trim)
-                .map(Size::valueOf)
-                .collect(Collectors.toList());
+        return Size.parseList(sizes);
     }
 
     public void setSizesList(List<Size> sizesList) {
@@ -1,9 +1,12 @@
 package com.generic.rest.main.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "product_images")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class ProductImage {
 
     @Id
@@ -0,0 +1,6 @@
+package com.generic.rest.main.model.enums;
+
+public enum CatalogEntityType {
+    PRODUCT,
+    COLLECTION
+}
@@ -1,10 +1,26 @@
 package com.generic.rest.main.model.enums;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
 public enum Size {
     XS,
     S,
     M,
     L,
     XL,
-    XXL
+    XXL;
+
+    // Products store their sizes as comma-separated names
+    public static List<Size> parseList(String sizes) {
+        if (sizes == null || sizes.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return Arrays.stream(sizes.split(","))
+                .map(String::trim)
+                .map(Size::valueOf)
+                .collect(Collectors.toList());
+    }
 }
@@ -1,19 +1,76 @@
 package com.generic.rest.main.repository;
 
+import com.generic.rest.main.dto.CollectionDTO;
 import com.generic.rest.main.model.Collection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
-public interface CollectionRepository extends JpaRepository<Collection, Long> {
+public interface CollectionRepository extends JpaRepository<Collection, Long>, CollectionRepositoryCustom {
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "collection-queries")
+    })
     @Query("SELECT c FROM Collection c WHERE c.parentCollection IS NULL")
     List<Collection> findAllRootCollections();
 
     @Query("SELECT c FROM Collection c WHERE c.parentCollection.id = :parentId")
     List<Collection> findSubcollectionsByParentId(@Param("parentId") Long parentId);
+
+    // Projections: scalar columns straight into DTOs, so nothing is hydrated, managed or dirty-checked.
+    // The collection tree is small and rarely written, so listing it is served from the query cache.
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "collection-queries")
+    })
+    @Query("SELECT new com.generic.rest.main.dto.CollectionDTO(c.id, c.name, p.id) " +
+           "FROM Collection c LEFT JOIN c.parentCollection p ORDER BY c.id")
+    List<CollectionDTO> findAllViews();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "collection-queries")
+    })
+    @Query("SELECT new com.generic.rest.main.dto.CollectionDTO(c.id, c.name, p.id) " +
+           "FROM Collection c LEFT JOIN c.parentCollection p WHERE p IS NULL ORDER BY c.id")
+    List<CollectionDTO> findRootViews();
+
+    @Query("SELECT new com.generic.rest.main.dto.CollectionDTO(c.id, c.name, p.id) " +
+           "FROM Collection c LEFT JOIN c.parentCollection p WHERE c.id IN :ids ORDER BY c.id")
+    List<CollectionDTO> findViewsByIdIn(@Param("ids") List<Long> ids);
+
+    // The collection followed by its subcollections
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "collection-queries")
+    })
+    @Query("SELECT new com.generic.rest.main.dto.CollectionDTO(c.id, c.name, p.id) " +
+           "FROM Collection c LEFT JOIN c.parentCollection p WHERE c.id = :id OR p.id = :id " +
+           "ORDER BY CASE WHEN c.id = :id THEN 0 ELSE 1 END, c.id")
+    List<CollectionDTO> findViewWithSubcollections(@Param("id") Long id);
+
+    // Pairs of (collection id, product id)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "collection-queries")
+    })
+    @Query("SELECT c.id, p.id FROM Collection c JOIN c.products p WHERE c.id IN :ids")
+    List<Object[]> findProductIdsByCollectionIdIn(@Param("ids") List<Long> ids);
+
+    // Triples of (parent id, subcollection id, subcollection name)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "collection-queries")
+    })
+    @Query("SELECT s.parentCollection.id, s.id, s.name FROM Collection s WHERE s.parentCollection.id IN :ids ORDER BY s.id")
+    List<Object[]> findSubcollectionsByParentIdIn(@Param("ids") List<Long> ids);
 }
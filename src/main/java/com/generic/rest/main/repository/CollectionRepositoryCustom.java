@@ -0,0 +1,19 @@
+package com.generic.rest.main.repository;
+
+import com.generic.rest.main.model.enums.ProductSort;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface CollectionRepositoryCustom {
+
+    record ProductSlot(Long collectionId, Long productId, int total) {
+    }
+
+    /**
+     * The first {@code limit} active products of each given collection, in {@code sort} order or by
+     * id, with the number of active products the collection holds in total. Collections without
+     * active products have no slots.
+     */
+    List<ProductSlot> findFirstActiveProducts(Collection<Long> collectionIds, int limit, ProductSort sort);
+}
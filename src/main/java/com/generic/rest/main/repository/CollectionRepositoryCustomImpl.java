@@ -0,0 +1,59 @@
+package com.generic.rest.main.repository;
+
+import com.generic.rest.main.model.enums.ProductSort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+class CollectionRepositoryCustomImpl implements CollectionRepositoryCustom {
+
+    // Stays well below SQLite's bound parameter limit
+    private static final int CHUNK_SIZE = 500;
+
+    // Numbers the products of every collection at once, so each gets its own first page
+    private static final String FIRST_PRODUCTS_SQL =
+            "SELECT collection_id, product_id, total FROM (" +
+            "SELECT cp.collection_id, p.id AS product_id, " +
+            "ROW_NUMBER() OVER (PARTITION BY cp.collection_id ORDER BY %s) AS position, " +
+            "COUNT(*) OVER (PARTITION BY cp.collection_id) AS total " +
+            "FROM collection_products cp JOIN products p ON p.id = cp.product_id " +
+            "WHERE cp.collection_id IN (%s) AND p.deleted_at IS NULL) " +
+            "WHERE position <= ? ORDER BY collection_id, position";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    CollectionRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<ProductSlot> findFirstActiveProducts(Collection<Long> collectionIds, int limit, ProductSort sort) {
+        List<Long> ids = new ArrayList<>(collectionIds);
+        List<ProductSlot> slots = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + CHUNK_SIZE));
+            List<Object> args = new ArrayList<>(chunk);
+            args.add(limit);
+            slots.addAll(jdbcTemplate.query(
+                    String.format(FIRST_PRODUCTS_SQL, orderBy(sort), placeholders(chunk.size())),
+                    (rs, rowNum) -> new ProductSlot(rs.getLong("collection_id"), rs.getLong("product_id"),
+                            rs.getInt("total")),
+                    args.toArray()));
+        }
+        return slots;
+    }
+
+    private static String orderBy(ProductSort sort) {
+        if (sort == null) {
+            return "p.id";
+        }
+        return sort == ProductSort.PRICE_ASC ? "p.price, p.id" : "p.price DESC, p.id";
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -2,8 +2,17 @@ package com.generic.rest.main.repository;
 
 import com.generic.rest.main.model.OrderProduct;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
-public interface OrderProductRepository extends JpaRepository<OrderProduct, Long> {
+public interface OrderProductRepository extends JpaRepository<OrderProduct, Long>, OrderProductRepositoryCustom {
+
+    // The order id followed by the line columns in OrderProductDTO constructor order
+    @Query("SELECT op.order.id, op.product.id, op.productName, op.productImageUrl, op.size, op.quantity, " +
+           "op.priceAtPurchase FROM OrderProduct op WHERE op.order.id IN :ids ORDER BY op.id")
+    List<Object[]> findLinesByOrderIdIn(@Param("ids") List<Long> ids);
 }
@@ -0,0 +1,14 @@
+package com.generic.rest.main.repository;
+
+import com.generic.rest.main.model.OrderProduct;
+
+import java.util.List;
+
+public interface OrderProductRepositoryCustom {
+
+    /**
+     * Inserts the lines of an already persisted order using JDBC batching. The lines are not
+     * attached to the persistence context.
+     */
+    void insertAll(Long orderId, List<OrderProduct> orderProducts);
+}
@@ -0,0 +1,36 @@
+package com.generic.rest.main.repository;
+
+import com.generic.rest.main.model.OrderProduct;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+class OrderProductRepositoryCustomImpl implements OrderProductRepositoryCustom {
+
+    private static final int BATCH_SIZE = 50;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO order_products (order_id, product_id, product_name, product_image_url, product_gender, " +
+            "product_type, quantity, price_at_purchase, size) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    OrderProductRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertAll(Long orderId, List<OrderProduct> orderProducts) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, orderProducts, BATCH_SIZE, (ps, op) -> {
+            ps.setLong(1, orderId);
+            ps.setLong(2, op.getProduct().getId());
+            ps.setString(3, op.getProductName());
+            ps.setString(4, op.getProductImageUrl());
+            ps.setString(5, op.getProductGender() != null ? op.getProductGender().name() : null);
+            ps.setString(6, op.getProductType() != null ? op.getProductType().name() : null);
+            ps.setInt(7, op.getQuantity());
+            ps.setFloat(8, op.getPriceAtPurchase());
+            ps.setString(9, op.getSize() != null ? op.getSize().name() : null);
+        });
+    }
+}
@@ -1,20 +1,37 @@
 package com.generic.rest.main.repository;
 
+import com.generic.rest.main.dto.OrderDTO;
 import com.generic.rest.main.model.Order;
-import com.generic.rest.main.model.User;
-import org.springframework.data.domain.Page;
+import com.generic.rest.main.model.enums.OrderStatus;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderRepositoryCustom {
+
+    // Projections: scalar columns straight into DTOs, so nothing is hydrated, managed or dirty-checked.
+    // Pages are returned as lists, which skips the count query nobody reads.
+
+    @Query("SELECT new com.generic.rest.main.dto.OrderDTO(o.id, o.createdAt, o.shippedAt, o.deliveredAt, o.status) " +
+           "FROM Order o WHERE o.address.user.id = :userId")
+    List<OrderDTO> findViewsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT new com.generic.rest.main.dto.OrderDTO(o.id, o.createdAt, o.shippedAt, o.deliveredAt, o.status) " +
+           "FROM Order o WHERE o.address.user.id = :userId AND o.status = :status")
+    List<OrderDTO> findViewsByUserIdAndStatus(@Param("userId") Long userId, @Param("status") OrderStatus status,
+                                              Pageable pageable);
 
-    @Query("SELECT o FROM Order o WHERE o.address.user = :user")
-    Page<Order> findByUser(@Param("user") User user, Pageable pageable);
+    @Query("SELECT new com.generic.rest.main.dto.OrderDTO(o.id, o.createdAt, o.shippedAt, o.deliveredAt, o.status) " +
+           "FROM Order o WHERE o.status = :status")
+    List<OrderDTO> findViewsByStatus(@Param("status") OrderStatus status, Pageable pageable);
 
-    @Query("SELECT o FROM Order o WHERE o.address.user.id = :userId")
-    Page<Order> findByUserId(@Param("userId") Long userId, Pageable pageable);
+    // The order id followed by the address columns in AddressDTO constructor order
+    @Query("SELECT o.id, a.id, a.firstName, a.lastName, a.address, a.address2, a.area, a.state, a.country, " +
+           "a.zipCode, a.phoneNumber, a.isDefault FROM Order o JOIN o.address a WHERE o.id IN :ids")
+    List<Object[]> findAddressesByOrderIdIn(@Param("ids") List<Long> ids);
 }
@@ -0,0 +1,39 @@
+package com.generic.rest.main.repository;
+
+import com.generic.rest.main.model.enums.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+public interface OrderRepositoryCustom {
+
+    record StatusSnapshot(Long orderId, Long userId, OrderStatus status, LocalDateTime shippedAt,
+                          LocalDateTime deliveredAt) {
+    }
+
+    /**
+     * Returns which of the given order ids exist.
+     */
+    Set<Long> findExistingIds(Collection<Long> ids);
+
+    /**
+     * Ids of at most {@code limit} orders in the given status, oldest first, optionally only those
+     * created before {@code createdBefore}.
+     */
+    List<Long> findIdsByStatus(OrderStatus status, LocalDateTime createdBefore, int limit);
+
+    /**
+     * Current status and fulfilment dates of the given orders, with the id of the user owning each.
+     */
+    List<StatusSnapshot> findStatusSnapshots(Collection<Long> ids);
+
+    /**
+     * Sets shipment and/or delivery dates of the given orders with set-based UPDATE statements and
+     * recomputes their status. Null dates are left unchanged. Bypasses the persistence context.
+     *
+     * @return the number of updated orders
+     */
+    int updateFulfilmentDates(List<Long> ids, LocalDateTime shippedAt, LocalDateTime deliveredAt);
+}
@@ -0,0 +1,102 @@
+package com.generic.rest.main.repository;
+
+import com.generic.rest.main.model.enums.OrderStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+class OrderRepositoryCustomImpl implements OrderRepositoryCustom {
+
+    // Stays well below SQLite's bound parameter limit
+    private static final int CHUNK_SIZE = 500;
+
+    // SET expressions see the column values from before the update, hence the repeated COALESCE
+    private static final String UPDATE_SQL =
+            "UPDATE orders SET shipped_at = COALESCE(?, shipped_at), delivered_at = COALESCE(?, delivered_at), " +
+            "status = CASE WHEN COALESCE(?, delivered_at) IS NOT NULL THEN 'COMPLETED' " +
+            "WHEN COALESCE(?, shipped_at) IS NOT NULL THEN 'IN_SHIPMENT' ELSE status END " +
+            "WHERE id IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    OrderRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        Set<Long> existing = new HashSet<>();
+        for (List<Long> chunk : chunks(new ArrayList<>(ids))) {
+            existing.addAll(jdbcTemplate.queryForList(
+                    "SELECT id FROM orders WHERE id IN (" + placeholders(chunk.size()) + ")", Long.class, chunk.toArray()));
+        }
+        return existing;
+    }
+
+    @Override
+    public List<Long> findIdsByStatus(OrderStatus status, LocalDateTime createdBefore, int limit) {
+        if (createdBefore == null) {
+            return jdbcTemplate.queryForList(
+                    "SELECT id FROM orders WHERE status = ? ORDER BY created_at LIMIT ?", Long.class, status.name(), limit);
+        }
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM orders WHERE status = ? AND created_at < ? ORDER BY created_at LIMIT ?", Long.class,
+                status.name(), Timestamp.valueOf(createdBefore), limit);
+    }
+
+    @Override
+    public List<StatusSnapshot> findStatusSnapshots(Collection<Long> ids) {
+        List<StatusSnapshot> snapshots = new ArrayList<>();
+        for (List<Long> chunk : chunks(new ArrayList<>(ids))) {
+            snapshots.addAll(jdbcTemplate.query(
+                    "SELECT o.id, a.user_id, o.status, o.shipped_at, o.delivered_at FROM orders o " +
+                    "JOIN addresses a ON a.id = o.address_id WHERE o.id IN (" + placeholders(chunk.size()) + ")",
+                    (rs, rowNum) -> new StatusSnapshot(rs.getLong("id"), rs.getLong("user_id"),
+                            OrderStatus.valueOf(rs.getString("status")),
+                            toLocalDateTime(rs.getTimestamp("shipped_at")),
+                            toLocalDateTime(rs.getTimestamp("delivered_at"))),
+                    chunk.toArray()));
+        }
+        return snapshots;
+    }
+
+    @Override
+    public int updateFulfilmentDates(List<Long> ids, LocalDateTime shippedAt, LocalDateTime deliveredAt) {
+        Timestamp shipped = shippedAt != null ? Timestamp.valueOf(shippedAt) : null;
+        Timestamp delivered = deliveredAt != null ? Timestamp.valueOf(deliveredAt) : null;
+        int updated = 0;
+        for (List<Long> chunk : chunks(ids)) {
+            List<Object> args = new ArrayList<>(Arrays.asList(shipped, delivered, delivered, shipped));
+            args.addAll(chunk);
+            updated += jdbcTemplate.update(String.format(UPDATE_SQL, placeholders(chunk.size())), args.toArray());
+        }
+        return updated;
+    }
+
+    private static List<List<Long>> chunks(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            chunks.add(ids.subList(from, Math.min(ids.size(), from + CHUNK_SIZE)));
+        }
+        return chunks;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -2,8 +2,15 @@ package com.generic.rest.main.repository;
 
 import com.generic.rest.main.model.ProductImage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface ProductImageRepository extends JpaRepository<ProductImage, Long> {
+
+    @Query("SELECT i FROM ProductImage i WHERE i.product.id IN :productIds AND i.isMain = true")
+    List<ProductImage> findMainByProductIdIn(@Param("productIds") List<Long> productIds);
 }
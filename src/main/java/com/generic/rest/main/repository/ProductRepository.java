@@ -1,18 +1,21 @@
 package com.generic.rest.main.repository;
 
+import com.generic.rest.main.dto.ProductDTO;
 import com.generic.rest.main.model.Product;
-import com.generic.rest.main.model.enums.ProductType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>,
+        ProductRepositoryCustom {
 
     @Query("SELECT p FROM Product p WHERE p.deletedAt IS NULL")
     Page<Product> findAllActive(Pageable pageable);
@@ -20,14 +23,24 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     @Query("SELECT p FROM Product p WHERE p.id = :id AND p.deletedAt IS NULL")
     Optional<Product> findByIdActive(@Param("id") Long id);
 
-    @Query("SELECT p FROM Product p WHERE p.deletedAt IS NULL " +
-           "AND (:name IS NULL OR LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%'))) " +
-           "AND (:type IS NULL OR p.type = :type) " +
-           "AND (:minPrice IS NULL OR p.price >= :minPrice) " +
-           "AND (:maxPrice IS NULL OR p.price <= :maxPrice)")
-    Page<Product> findActiveWithFilters(@Param("name") String name,
-                                        @Param("type") ProductType type,
-                                        @Param("minPrice") Float minPrice,
-                                        @Param("maxPrice") Float maxPrice,
-                                        Pageable pageable);
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids AND p.deletedAt IS NULL")
+    List<Product> findAllActiveByIdIn(@Param("ids") List<Long> ids);
+
+    // Pairs of (product id, collection id), without loading the collections themselves
+    @Query("SELECT p.id, c.id FROM Product p JOIN p.collections c WHERE p.id IN :ids")
+    List<Object[]> findCollectionIdsByProductIdIn(@Param("ids") List<Long> ids);
+
+    // Projections: scalar columns straight into DTOs, so nothing is hydrated, managed or dirty-checked
+
+    @Query("SELECT new com.generic.rest.main.dto.ProductDTO(p.id, p.name, p.description, p.note, p.fabricDetails, " +
+           "p.type, p.gender, p.price, p.sizes) FROM Product p WHERE p.id IN :ids AND p.deletedAt IS NULL")
+    List<ProductDTO> findActiveViewsByIdIn(@Param("ids") List<Long> ids);
+
+    @Query("SELECT new com.generic.rest.main.dto.ProductDTO(p.id, p.name, p.description, p.note, p.fabricDetails, " +
+           "p.type, p.gender, p.price, p.sizes) FROM Collection c JOIN c.products p WHERE c.id = :collectionId")
+    List<ProductDTO> findViewsByCollectionId(@Param("collectionId") Long collectionId);
+
+    // Triples of (product id, url, is main)
+    @Query("SELECT i.product.id, i.url, i.isMain FROM ProductImage i WHERE i.product.id IN :ids ORDER BY i.id")
+    List<Object[]> findImagesByProductIdIn(@Param("ids") List<Long> ids);
 }
@@ -0,0 +1,16 @@
+package com.generic.rest.main.repository;
+
+import com.generic.rest.main.model.Product;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface ProductRepositoryCustom {
+
+    /**
+     * Ids of the products matching {@code spec}, in the order and page of {@code pageable}. Only the
+     * id column is selected, so no product is loaded, and no count query is run.
+     */
+    List<Long> findIds(Specification<Product> spec, Pageable pageable);
+}
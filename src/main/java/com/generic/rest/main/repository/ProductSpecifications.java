@@ -0,0 +1,59 @@
+package com.generic.rest.main.repository;
+
+import com.generic.rest.main.model.Product;
+import com.generic.rest.main.model.enums.Gender;
+import com.generic.rest.main.model.enums.ProductType;
+import com.generic.rest.main.model.enums.Size;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * Predicates for filtering products. Callers combine only the filters actually supplied, so every
+ * combination yields its own statement and SQLite can pick the matching index for it, instead of
+ * one generic plan for {@code (:param IS NULL OR ...)}.
+ */
+public final class ProductSpecifications {
+
+    private ProductSpecifications() {
+    }
+
+    public static Specification<Product> active() {
+        return (root, query, cb) -> cb.isNull(root.get("deletedAt"));
+    }
+
+    public static Specification<Product> nameContains(String name) {
+        return (root, query, cb) -> cb.like(cb.lower(root.get("name")), "%" + name.toLowerCase(Locale.ROOT) + "%");
+    }
+
+    public static Specification<Product> hasType(ProductType type) {
+        return (root, query, cb) -> cb.equal(root.get("type"), type);
+    }
+
+    public static Specification<Product> hasGender(Gender gender) {
+        return (root, query, cb) -> cb.equal(root.get("gender"), gender);
+    }
+
+    // Sizes are stored comma-separated; the delimiters keep S from matching XS
+    public static Specification<Product> hasSize(Size size) {
+        return (root, query, cb) -> cb.like(
+                cb.concat(cb.concat(",", root.get("sizes")), ","), "%," + size.name() + ",%");
+    }
+
+    public static Specification<Product> priceAtLeast(Float minPrice) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("price"), minPrice);
+    }
+
+    public static Specification<Product> priceAtMost(Float maxPrice) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("price"), maxPrice);
+    }
+
+    public static Specification<Product> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    public static Specification<Product> inCollection(Long collectionId) {
+        return (root, query, cb) -> cb.equal(root.join("collections").get("id"), collectionId);
+    }
+}
@@ -0,0 +1,85 @@
+package com.generic.rest.main.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Token bucket rate limiting per route group. Requests carrying a valid bearer token are
+ * limited per user, everything else per client IP. Runs ahead of
+ * {@link TokenAuthenticationFilter} so rejected requests never reach the database.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final JwtService jwtService;
+    private final boolean enabled;
+    private final List<RouteGroup> groups = new ArrayList<>();
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public RateLimitFilter(JwtService jwtService, RateLimitProperties properties) {
+        this.jwtService = jwtService;
+        this.enabled = properties.isEnabled();
+        long idleNanos = TimeUnit.MINUTES.toNanos(properties.getIdleTimeoutMinutes());
+        for (RateLimitProperties.Group group : properties.getGroups()) {
+            TokenBucketTable table = new TokenBucketTable(group.getCapacity(), group.getRefillPerMinute(),
+                    properties.getMaxClients(), idleNanos, System::nanoTime);
+            groups.add(new RouteGroup(group.getPaths(), table));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        RouteGroup group = match(request.getRequestURI().substring(request.getContextPath().length()));
+        if (group != null) {
+            long waitNanos = group.table().tryAcquire(clientKey(request));
+            if (waitNanos > 0) {
+                long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private RouteGroup match(String path) {
+        for (RouteGroup group : groups) {
+            for (String pattern : group.paths()) {
+                if (pathMatcher.match(pattern, path)) {
+                    return group;
+                }
+            }
+        }
+        return null;
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            try {
+                return "user:" + jwtService.extractSubject(authHeader.substring(7));
+            } catch (Exception ignored) {
+                // Fall back to the client address for invalid or expired tokens
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private record RouteGroup(List<String> paths, TokenBucketTable table) {
+    }
+}
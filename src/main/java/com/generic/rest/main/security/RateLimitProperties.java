@@ -0,0 +1,107 @@
+package com.generic.rest.main.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rate limiting configuration. Route groups are matched in order, first match wins.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.security.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    private int maxClients = 100_000;
+    private int idleTimeoutMinutes = 10;
+    private List<Group> groups = new ArrayList<>(List.of(
+            new Group("auth", List.of("/auth/login", "/auth/signup", "/auth/google-login"), 10, 10),
+            new Group("catalog", List.of("/product/list", "/product/show/**", "/product/bestsellers",
+                    "/product/facets", "/product/suggest", "/product/batch", "/catalog/changes",
+                    "/collection/page/*"), 60, 600),
+            new Group("default", List.of("/**"), 120, 1200)
+    ));
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxClients() {
+        return maxClients;
+    }
+
+    public void setMaxClients(int maxClients) {
+        this.maxClients = maxClients;
+    }
+
+    public int getIdleTimeoutMinutes() {
+        return idleTimeoutMinutes;
+    }
+
+    public void setIdleTimeoutMinutes(int idleTimeoutMinutes) {
+        this.idleTimeoutMinutes = idleTimeoutMinutes;
+    }
+
+    public List<Group> getGroups() {
+        return groups;
+    }
+
+    public void setGroups(List<Group> groups) {
+        this.groups = groups;
+    }
+
+    public static class Group {
+        private String name;
+        private List<String> paths = new ArrayList<>();
+        private int capacity;
+        private int refillPerMinute;
+
+        public Group() {
+        }
+
+        public Group(String name, List<String> paths, int capacity, int refillPerMinute) {
+            this.name = name;
+            this.paths = new ArrayList<>(paths);
+            this.capacity = capacity;
+            this.refillPerMinute = refillPerMinute;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public List<String> getPaths() {
+            return paths;
+        }
+
+        public void setPaths(List<String> paths) {
+            this.paths = paths;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public int getRefillPerMinute() {
+            return refillPerMinute;
+        }
+
+        public void setRefillPerMinute(int refillPerMinute) {
+            this.refillPerMinute = refillPerMinute;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.generic.rest.main.security;
 
+import jakarta.servlet.DispatcherType;
 import java.util.List;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -20,15 +21,21 @@ import com.generic.rest.main.repository.UserRepository;
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http, TokenAuthenticationFilter tokenAuthenticationFilter) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, TokenAuthenticationFilter tokenAuthenticationFilter,
+                                                   RateLimitFilter rateLimitFilter) throws Exception {
         http
             .csrf(csrf -> csrf.disable())
             .cors(Customizer.withDefaults())
             .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                // Async dispatches of streamed responses (/order/events) were authorized on the original request
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                 // Public endpoints
                 .requestMatchers(HttpMethod.POST, "/auth/signup", "/auth/login", "/auth/google-login").permitAll()
-                .requestMatchers(HttpMethod.GET, "/product/list", "/product/show/**").permitAll()
+                .requestMatchers(HttpMethod.GET, "/product/list", "/product/show/**", "/product/bestsellers",
+                        "/product/facets", "/product/suggest", "/product/batch", "/catalog/changes",
+                        "/collection/page/*").permitAll()
                 .requestMatchers(HttpMethod.GET, "/auth/role", "/auth/account-menu").authenticated()
 
                 // Product management - ADMIN only
@@ -43,11 +50,17 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.POST, "/order/create").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.GET, "/order/list/*").hasRole("ADMIN") // /order/list/{userId}
                 .requestMatchers(HttpMethod.GET, "/order/list").authenticated() // User's own orders
+                .requestMatchers(HttpMethod.GET, "/order/queue").hasRole("ADMIN") // Fulfilment queue across users
+                .requestMatchers(HttpMethod.PUT, "/order/bulk-edit").hasRole("ADMIN")
+
+                // Operations - ADMIN only
+                .requestMatchers("/admin/**").hasRole("ADMIN")
 
                 // All other authenticated requests
                 .anyRequest().authenticated()
             );
         http.addFilterBefore(tokenAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+        http.addFilterBefore(rateLimitFilter, TokenAuthenticationFilter.class);
         return http.build();
     }
 
@@ -67,6 +80,11 @@ public class SecurityConfig {
     public TokenAuthenticationFilter tokenAuthenticationFilter(JwtService jwtService, UserRepository userRepository) {
         return new TokenAuthenticationFilter(jwtService, userRepository);
     }
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(JwtService jwtService, RateLimitProperties rateLimitProperties) {
+        return new RateLimitFilter(jwtService, rateLimitProperties);
+    }
 }
 
 
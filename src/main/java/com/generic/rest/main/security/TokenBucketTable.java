@@ -0,0 +1,115 @@
+package com.generic.rest.main.security;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Striped table of token buckets keyed by client.
+ * <p>
+ * Each bucket is a single {@link AtomicLong} holding its theoretical arrival time (the GCRA
+ * form of a token bucket), so taking a token for a known client is a CAS loop with no locks.
+ * Memory is bounded: each stripe holds at most {@code maxEntries / stripes} buckets, idle
+ * buckets are swept lazily, and clients that arrive while a stripe is full share that
+ * stripe's overflow bucket instead of allocating a new one.
+ */
+class TokenBucketTable {
+
+    private static final int STRIPES = 16;
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final long idleNanos;
+    private final int maxPerStripe;
+    private final LongSupplier clock;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    TokenBucketTable(int capacity, int refillPerMinute, int maxEntries, long idleNanos, LongSupplier clock) {
+        if (capacity < 1 || refillPerMinute < 1) {
+            throw new IllegalArgumentException("Rate limit capacity and refill must be positive");
+        }
+        this.emissionIntervalNanos = 60_000_000_000L / refillPerMinute;
+        this.burstToleranceNanos = emissionIntervalNanos * (capacity - 1);
+        this.idleNanos = idleNanos;
+        this.maxPerStripe = Math.max(1, maxEntries / STRIPES);
+        this.clock = clock;
+        long now = clock.getAsLong();
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(now);
+        }
+    }
+
+    /**
+     * Takes one token for the given client.
+     *
+     * @return 0 if the request is allowed, otherwise the nanoseconds until a token is available
+     */
+    long tryAcquire(String key) {
+        long now = clock.getAsLong();
+        Stripe stripe = stripes[spread(key.hashCode()) & (STRIPES - 1)];
+        stripe.maybeSweep(now);
+
+        AtomicLong bucket = stripe.buckets.get(key);
+        if (bucket == null) {
+            bucket = stripe.admit(key, now);
+        }
+
+        while (true) {
+            long tat = bucket.get();
+            long allowAt = tat - burstToleranceNanos;
+            if (now < allowAt) {
+                return allowAt - now;
+            }
+            long next = Math.max(tat, now) + emissionIntervalNanos;
+            if (bucket.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.buckets.size();
+        }
+        return size;
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    private final class Stripe {
+        private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+        private final AtomicLong overflow;
+        private final AtomicLong lastSweep;
+
+        private Stripe(long now) {
+            this.overflow = new AtomicLong(now);
+            this.lastSweep = new AtomicLong(now);
+        }
+
+        private AtomicLong admit(String key, long now) {
+            if (buckets.size() >= maxPerStripe) {
+                sweep(now);
+                if (buckets.size() >= maxPerStripe) {
+                    return overflow;
+                }
+            }
+            return buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+
+        private void maybeSweep(long now) {
+            long last = lastSweep.get();
+            if (now - last >= idleNanos && lastSweep.compareAndSet(last, now)) {
+                sweep(now);
+            }
+        }
+
+        // A bucket whose arrival time is in the past is full, so dropping it loses no state
+        private void sweep(long now) {
+            long cutoff = now - idleNanos;
+            buckets.values().removeIf(bucket -> bucket.get() <= cutoff);
+        }
+    }
+}
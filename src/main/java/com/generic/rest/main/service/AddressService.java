@@ -4,7 +4,6 @@ import com.generic.rest.main.dto.AddressDTO;
 import com.generic.rest.main.model.Address;
 import com.generic.rest.main.model.User;
 import com.generic.rest.main.repository.AddressRepository;
-import jakarta.transaction.Transactional;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 import java.util.List;
@@ -18,9 +17,11 @@ public class AddressService {
     private static final int MAX_ADDRESSES_PER_USER = 5;
 
     private final AddressRepository addressRepository;
+    private final WriteScheduler writeScheduler;
 
-    public AddressService(AddressRepository addressRepository) {
+    public AddressService(AddressRepository addressRepository, WriteScheduler writeScheduler) {
         this.addressRepository = addressRepository;
+        this.writeScheduler = writeScheduler;
     }
 
     public List<AddressDTO> listAddresses(User user) {
@@ -30,49 +31,52 @@ public class AddressService {
             .collect(Collectors.toList());
     }
 
-    @Transactional
     public AddressDTO createAddress(User user, AddressDTO req) {
-        long count = addressRepository.countByUser(user);
-        if (count >= MAX_ADDRESSES_PER_USER) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "User has reached the maximum number of addresses (" + MAX_ADDRESSES_PER_USER + ")");
-        }
-
-        Address address = new Address();
-        address.setUser(user);
-        applyCreate(req, address);
-
-        if (req.isDefault()) {
-            unsetExistingDefault(user);
-            address.setDefault(true);
-        }
-
-        Address saved = addressRepository.save(address);
-        return toResponse(saved);
+        return writeScheduler.execute(() -> {
+            long count = addressRepository.countByUser(user);
+            if (count >= MAX_ADDRESSES_PER_USER) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "User has reached the maximum number of addresses (" + MAX_ADDRESSES_PER_USER + ")");
+            }
+
+            Address address = new Address();
+            address.setUser(user);
+            applyCreate(req, address);
+
+            if (req.isDefault()) {
+                unsetExistingDefault(user);
+                address.setDefault(true);
+            }
+
+            Address saved = addressRepository.save(address);
+            return toResponse(saved);
+        });
     }
 
-    @Transactional
     public AddressDTO editAddress(User user, Long id, AddressDTO req) {
-        Address address = addressRepository.findByIdAndUser(id, user)
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Address not found"));
-
-        applyEdit(req, address);
-
-        if (Boolean.TRUE.equals(req.isDefault())) {
-            unsetExistingDefault(user);
-            address.setDefault(true);
-        } else if (Boolean.FALSE.equals(req.isDefault())) {
-            address.setDefault(false);
-        }
-
-        Address saved = addressRepository.save(address);
-        return toResponse(saved);
+        return writeScheduler.execute(() -> {
+            Address address = addressRepository.findByIdAndUser(id, user)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Address not found"));
+
+            applyEdit(req, address);
+
+            if (Boolean.TRUE.equals(req.isDefault())) {
+                unsetExistingDefault(user);
+                address.setDefault(true);
+            } else if (Boolean.FALSE.equals(req.isDefault())) {
+                address.setDefault(false);
+            }
+
+            Address saved = addressRepository.save(address);
+            return toResponse(saved);
+        });
     }
 
-    @Transactional
     public void deleteAddress(User user, Long id) {
-        Address address = addressRepository.findByIdAndUser(id, user)
-                .orElseThrow(() -> new RuntimeException("Address not found or has been deleted"));
-        addressRepository.delete(address);
+        writeScheduler.run(() -> {
+            Address address = addressRepository.findByIdAndUser(id, user)
+                    .orElseThrow(() -> new RuntimeException("Address not found or has been deleted"));
+            addressRepository.delete(address);
+        });
     }
 
     private void unsetExistingDefault(User user) {
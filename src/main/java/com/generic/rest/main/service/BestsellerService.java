@@ -0,0 +1,286 @@
+package com.generic.rest.main.service;
+
+import com.generic.rest.main.dto.BestsellerDTO;
+import com.generic.rest.main.model.enums.Gender;
+import com.generic.rest.main.model.enums.ProductType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Best-selling products per product type and gender, kept in memory.
+ * <p>
+ * Units sold are counted per product and every (type, gender) combination, including "any type"
+ * and "any gender", keeps a sorted top-K list. A sale only touches the lists of its product's
+ * combinations and is merged in place; a list is recomputed from the counters only when one of
+ * its products loses sales. Lists are immutable once published, so reads are a map lookup.
+ * Counters are checkpointed to {@code product_sales_counters} and reloaded at startup, seeded
+ * from the sales rollups on first start.
+ */
+@Service
+public class BestsellerService implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(BestsellerService.class);
+
+    private static final Comparator<BestsellerDTO> BY_UNITS =
+            Comparator.comparingLong(BestsellerDTO::getUnitsSold).reversed().thenComparing(BestsellerDTO::getProductId);
+
+    private final BestsellerProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Object lock = new Object();
+    private final Map<Long, BestsellerDTO> counters = new HashMap<>();
+    private final Set<Long> dirty = new HashSet<>();
+    private final Set<Long> removed = new HashSet<>();
+    private final ConcurrentHashMap<Key, List<BestsellerDTO>> tops = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+
+    public BestsellerService(BestsellerProperties properties, JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public record UnitsSold(Long productId, ProductType type, Gender gender, long units) {
+    }
+
+    // A null type or gender stands for "any"
+    private record Key(ProductType type, Gender gender) {
+    }
+
+    public List<BestsellerDTO> getBestsellers(ProductType type, Gender gender, int limit) {
+        List<BestsellerDTO> top = tops.getOrDefault(new Key(type, gender), List.of());
+        return top.size() <= limit ? top : top.subList(0, limit);
+    }
+
+    /**
+     * Counts units sold (negative for deleted orders) once the current transaction commits.
+     */
+    public void record(List<UnitsSold> sales) {
+        if (sales.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(sales);
+                }
+            });
+        } else {
+            apply(sales);
+        }
+    }
+
+    /**
+     * Drops deleted or archived products from every list once the current transaction commits.
+     * Sales of those products that are still in flight are ignored afterwards.
+     */
+    public void forget(Collection<Long> productIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(productIds);
+                }
+            });
+        } else {
+            remove(productIds);
+        }
+    }
+
+    /**
+     * Writes counters changed since the last checkpoint.
+     */
+    @Scheduled(fixedDelayString = "${app.bestsellers.checkpoint-interval-ms:60000}")
+    public void checkpoint() {
+        List<BestsellerDTO> changed = new ArrayList<>();
+        synchronized (lock) {
+            for (Long productId : dirty) {
+                changed.add(counters.get(productId));
+            }
+            dirty.clear();
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                    "INSERT INTO product_sales_counters (product_id, type, gender, units) VALUES (?, ?, ?, ?) " +
+                    "ON CONFLICT (product_id) DO UPDATE SET type = excluded.type, gender = excluded.gender, " +
+                    "units = excluded.units",
+                    changed, 100, (ps, counter) -> {
+                        ps.setLong(1, counter.getProductId());
+                        ps.setString(2, counter.getType().name());
+                        ps.setString(3, counter.getGender().name());
+                        ps.setLong(4, counter.getUnitsSold());
+                    }));
+        } catch (RuntimeException e) {
+            log.warn("Failed to checkpoint {} bestseller counters, retrying on next run", changed.size(), e);
+            synchronized (lock) {
+                for (BestsellerDTO counter : changed) {
+                    dirty.add(counter.getProductId());
+                }
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        // Counters of deleted products stay in the table but are not loaded
+        List<BestsellerDTO> loaded = jdbcTemplate.query(
+                "SELECT c.product_id, c.type, c.gender, c.units FROM product_sales_counters c " +
+                "JOIN products p ON p.id = c.product_id WHERE p.deleted_at IS NULL",
+                (rs, rowNum) -> new BestsellerDTO(rs.getLong("product_id"), ProductType.valueOf(rs.getString("type")),
+                        Gender.valueOf(rs.getString("gender")), rs.getLong("units")));
+        boolean seeded = loaded.isEmpty();
+        if (seeded) {
+            loaded = jdbcTemplate.query(
+                    "SELECT s.product_id, p.type, p.gender, SUM(s.units) AS units FROM sales_product_daily s " +
+                    "JOIN products p ON p.id = s.product_id WHERE p.deleted_at IS NULL " +
+                    "GROUP BY s.product_id, p.type, p.gender",
+                    (rs, rowNum) -> new BestsellerDTO(rs.getLong("product_id"), ProductType.valueOf(rs.getString("type")),
+                            Gender.valueOf(rs.getString("gender")), rs.getLong("units")));
+        }
+
+        synchronized (lock) {
+            counters.clear();
+            dirty.clear();
+            removed.clear();
+            for (BestsellerDTO counter : loaded) {
+                counters.put(counter.getProductId(), counter);
+                if (seeded) {
+                    dirty.add(counter.getProductId());
+                }
+            }
+            tops.clear();
+            Set<Key> keys = new HashSet<>();
+            for (BestsellerDTO counter : counters.values()) {
+                keys.addAll(keysFor(counter.getType(), counter.getGender()));
+            }
+            for (Key key : keys) {
+                recompute(key);
+            }
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        checkpoint();
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Loaded before the order journal replays into it
+    @Override
+    public int getPhase() {
+        return -1;
+    }
+
+    private void apply(List<UnitsSold> sales) {
+        synchronized (lock) {
+            for (UnitsSold sale : sales) {
+                if (removed.contains(sale.productId())) {
+                    continue;
+                }
+                BestsellerDTO previous = counters.get(sale.productId());
+                long units = (previous != null ? previous.getUnitsSold() : 0) + sale.units();
+                BestsellerDTO counter = new BestsellerDTO(sale.productId(), sale.type(), sale.gender(), Math.max(0, units));
+                counters.put(sale.productId(), counter);
+                dirty.add(sale.productId());
+
+                if (previous != null && (previous.getType() != sale.type() || previous.getGender() != sale.gender())) {
+                    // Recategorised product: drop it from the lists of its old combinations
+                    for (Key key : keysFor(previous.getType(), previous.getGender())) {
+                        recompute(key);
+                    }
+                }
+                for (Key key : keysFor(sale.type(), sale.gender())) {
+                    if (sale.units() >= 0) {
+                        merge(key, counter);
+                    } else {
+                        recompute(key);
+                    }
+                }
+            }
+        }
+    }
+
+    private void remove(Collection<Long> productIds) {
+        synchronized (lock) {
+            Set<Key> keys = new HashSet<>();
+            for (Long productId : productIds) {
+                removed.add(productId);
+                dirty.remove(productId);
+                BestsellerDTO previous = counters.remove(productId);
+                if (previous != null) {
+                    keys.addAll(keysFor(previous.getType(), previous.getGender()));
+                }
+            }
+            for (Key key : keys) {
+                recompute(key);
+            }
+        }
+    }
+
+    private void merge(Key key, BestsellerDTO counter) {
+        List<BestsellerDTO> current = tops.getOrDefault(key, List.of());
+        boolean present = current.stream().anyMatch(entry -> entry.getProductId().equals(counter.getProductId()));
+        if (!present && current.size() >= properties.getTopK()
+                && BY_UNITS.compare(counter, current.get(current.size() - 1)) > 0) {
+            return;
+        }
+        List<BestsellerDTO> updated = new ArrayList<>(current.size() + 1);
+        for (BestsellerDTO entry : current) {
+            if (!entry.getProductId().equals(counter.getProductId())) {
+                updated.add(entry);
+            }
+        }
+        updated.add(counter);
+        updated.sort(BY_UNITS);
+        tops.put(key, List.copyOf(updated.subList(0, Math.min(updated.size(), properties.getTopK()))));
+    }
+
+    private void recompute(Key key) {
+        List<BestsellerDTO> matching = new ArrayList<>();
+        for (BestsellerDTO counter : counters.values()) {
+            if (counter.getUnitsSold() > 0
+                    && (key.type() == null || key.type() == counter.getType())
+                    && (key.gender() == null || key.gender() == counter.getGender())) {
+                matching.add(counter);
+            }
+        }
+        matching.sort(BY_UNITS);
+        tops.put(key, List.copyOf(matching.subList(0, Math.min(matching.size(), properties.getTopK()))));
+    }
+
+    private static List<Key> keysFor(ProductType type, Gender gender) {
+        return List.of(new Key(type, gender), new Key(type, null), new Key(null, gender), new Key(null, null));
+    }
+}
@@ -0,0 +1,97 @@
+package com.generic.rest.main.service;
+
+import com.generic.rest.main.model.enums.CatalogEntityType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versioned log of catalog entities that changed, backing {@code /catalog/changes}.
+ * <p>
+ * {@code catalog_changes} keeps one row per product or collection; recording a change replaces
+ * the row, which moves the entity to the next version. Reading the rows after a version therefore
+ * yields every entity that changed since, each once, however often it changed. Changes must be
+ * recorded in the transaction that makes them. Writes are serialized on the single SQLite
+ * connection, so versions become visible in commit order and a client never skips one.
+ * <p>
+ * In-memory views of the catalog compare {@link #commitCount()} with the count they last caught
+ * up at, and only read the log when a transaction recording changes has committed since.
+ */
+@Service
+public class CatalogChangeLog {
+
+    private static final int BATCH_SIZE = 100;
+
+    public record Change(long version, CatalogEntityType type, Long entityId) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AtomicLong commits = new AtomicLong();
+
+    public CatalogChangeLog(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void productsChanged(Collection<Long> productIds) {
+        record(CatalogEntityType.PRODUCT, productIds);
+    }
+
+    public void collectionsChanged(Collection<Long> collectionIds) {
+        record(CatalogEntityType.COLLECTION, collectionIds);
+    }
+
+    /**
+     * Changes after {@code since}, oldest first.
+     */
+    public List<Change> findSince(long since, int limit) {
+        return jdbcTemplate.query(
+                "SELECT version, entity_type, entity_id FROM catalog_changes WHERE version > ? ORDER BY version LIMIT ?",
+                (rs, rowNum) -> new Change(rs.getLong("version"), CatalogEntityType.valueOf(rs.getString("entity_type")),
+                        rs.getLong("entity_id")),
+                since, limit);
+    }
+
+    /**
+     * Number of committed transactions that recorded changes since startup.
+     */
+    public long commitCount() {
+        return commits.get();
+    }
+
+    public long currentVersion() {
+        Long version = jdbcTemplate.queryForObject("SELECT MAX(version) FROM catalog_changes", Long.class);
+        return version != null ? version : 0;
+    }
+
+    private void record(CatalogEntityType type, Collection<Long> ids) {
+        Set<Long> distinct = new LinkedHashSet<>(ids);
+        distinct.remove(null);
+        if (distinct.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("REPLACE INTO catalog_changes (entity_type, entity_id) VALUES (?, ?)",
+                new ArrayList<>(distinct), BATCH_SIZE, (ps, id) -> {
+                    ps.setString(1, type.name());
+                    ps.setLong(2, id);
+                });
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    commits.incrementAndGet();
+                }
+            });
+        } else {
+            commits.incrementAndGet();
+        }
+    }
+}
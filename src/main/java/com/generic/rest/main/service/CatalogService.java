@@ -0,0 +1,72 @@
+package com.generic.rest.main.service;
+
+import com.generic.rest.main.dto.CatalogChangesDTO;
+import com.generic.rest.main.dto.CollectionDTO;
+import com.generic.rest.main.dto.ProductDTO;
+import com.generic.rest.main.model.enums.CatalogEntityType;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class CatalogService {
+
+    private static final int MAX_CHANGES = 1000;
+
+    private final CatalogChangeLog catalogChangeLog;
+    private final ProductService productService;
+    private final CollectionService collectionService;
+
+    public CatalogService(CatalogChangeLog catalogChangeLog, ProductService productService,
+                          CollectionService collectionService) {
+        this.catalogChangeLog = catalogChangeLog;
+        this.productService = productService;
+        this.collectionService = collectionService;
+    }
+
+    /**
+     * Current state of every product and collection changed after {@code since}. Entities that no
+     * longer exist, or products that were deleted, are returned as tombstones.
+     */
+    @Transactional(readOnly = true)
+    public CatalogChangesDTO getChanges(long since, int limit) {
+        if (since < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Version must not be negative");
+        }
+        if (limit < 1 || limit > MAX_CHANGES) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + MAX_CHANGES);
+        }
+
+        List<CatalogChangeLog.Change> changes = catalogChangeLog.findSince(since, limit + 1);
+        boolean hasMore = changes.size() > limit;
+        if (hasMore) {
+            changes = changes.subList(0, limit);
+        }
+        long version = changes.isEmpty() ? since : changes.get(changes.size() - 1).version();
+
+        List<Long> productIds = new ArrayList<>();
+        List<Long> collectionIds = new ArrayList<>();
+        for (CatalogChangeLog.Change change : changes) {
+            (change.type() == CatalogEntityType.PRODUCT ? productIds : collectionIds).add(change.entityId());
+        }
+
+        List<ProductDTO> products = productIds.isEmpty() ? List.of() : productService.getProducts(productIds);
+        List<CollectionDTO> collections = collectionIds.isEmpty() ? List.of() : collectionService.getCollections(collectionIds);
+
+        return new CatalogChangesDTO(version, hasMore, products, collections,
+                missing(productIds, products.stream().map(ProductDTO::getId).collect(Collectors.toSet())),
+                missing(collectionIds, collections.stream().map(CollectionDTO::getId).collect(Collectors.toSet())));
+    }
+
+    private static List<Long> missing(List<Long> ids, Set<Long> found) {
+        Set<Long> present = new HashSet<>(found);
+        return ids.stream().filter(id -> !present.contains(id)).collect(Collectors.toList());
+    }
+}
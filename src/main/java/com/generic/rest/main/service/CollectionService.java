@@ -1,265 +1,374 @@
 package com.generic.rest.main.service;
 
 import com.generic.rest.main.dto.CollectionDTO;
+import com.generic.rest.main.dto.CollectionPageDTO;
 import com.generic.rest.main.dto.ProductDTO;
-import com.generic.rest.main.dto.ProductImageDTO;
 import com.generic.rest.main.dto.SubcollectionDTO;
 import com.generic.rest.main.model.Collection;
 import com.generic.rest.main.model.Product;
+import com.generic.rest.main.model.enums.ProductSort;
 import com.generic.rest.main.repository.CollectionRepository;
+import com.generic.rest.main.repository.CollectionRepositoryCustom;
 import com.generic.rest.main.repository.ProductRepository;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class CollectionService {
 
+    private static final int CHUNK_SIZE = 500;
+    private static final int MAX_PAGE_PRODUCTS = 50;
+
     private final CollectionRepository collectionRepository;
     private final ProductRepository productRepository;
+    private final WriteScheduler writeScheduler;
+    private final CatalogChangeLog catalogChangeLog;
+    private final ProductViews productViews;
 
-    public CollectionService(CollectionRepository collectionRepository, ProductRepository productRepository) {
+    public CollectionService(CollectionRepository collectionRepository, ProductRepository productRepository,
+                             WriteScheduler writeScheduler, CatalogChangeLog catalogChangeLog,
+                             ProductViews productViews) {
         this.collectionRepository = collectionRepository;
         this.productRepository = productRepository;
+        this.writeScheduler = writeScheduler;
+        this.catalogChangeLog = catalogChangeLog;
+        this.productViews = productViews;
     }
 
     @Transactional(readOnly = true)
-    public List<CollectionDTO> listAllCollections() {
-        return collectionRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public List<CollectionDTO> listAllCollections(FieldSelection fields) {
+        return withAssociations(collectionRepository.findAllViews(), fields);
     }
 
     @Transactional(readOnly = true)
-    public List<CollectionDTO> listRootCollections() {
-        return collectionRepository.findAllRootCollections().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public List<CollectionDTO> listRootCollections(FieldSelection fields) {
+        return withAssociations(collectionRepository.findRootViews(), fields);
     }
 
     @Transactional(readOnly = true)
-    public CollectionDTO getCollection(Long id) {
+    public CollectionDTO getCollection(Long id, FieldSelection fields) {
         Collection collection = collectionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Collection not found"));
-        return mapToResponse(collection);
+        return mapToResponse(collection, fields);
     }
 
-    @Transactional
     public CollectionDTO createCollection(CollectionDTO request) {
-        Collection collection = new Collection(request.getName());
+        return writeScheduler.execute(() -> {
+            Collection collection = new Collection(request.getName());
 
-        // If parentCollectionId is provided, create as a subcollection
-        if (request.getParentCollectionId() != null) {
-            Collection parent = collectionRepository.findById(request.getParentCollectionId())
-                    .orElseThrow(() -> new RuntimeException("Parent collection not found"));
+            // If parentCollectionId is provided, create as a subcollection
+            if (request.getParentCollectionId() != null) {
+                Collection parent = collectionRepository.findById(request.getParentCollectionId())
+                        .orElseThrow(() -> new RuntimeException("Parent collection not found"));
 
-            // Validate that parent is not itself a subcollection (max depth = 2)
-            if (parent.hasParent()) {
-                throw new RuntimeException("A subcollection cannot have its own subcollections");
-            }
+                // Validate that parent is not itself a subcollection (max depth = 2)
+                if (parent.hasParent()) {
+                    throw new RuntimeException("A subcollection cannot have its own subcollections");
+                }
 
-            // Remove all products from parent collection when adding a subcollection
-            // Products should only exist in subcollections, not in parent collections
-            List<Product> parentProducts = new java.util.ArrayList<>(parent.getProducts());
-            for (Product product : parentProducts) {
-                parent.removeProduct(product);
-            }
+                // Remove all products from parent collection when adding a subcollection
+                // Products should only exist in subcollections, not in parent collections
+                List<Product> parentProducts = new java.util.ArrayList<>(parent.getProducts());
+                for (Product product : parentProducts) {
+                    parent.removeProduct(product);
+                }
 
-            // Save the new collection first
-            Collection savedCollection = collectionRepository.save(collection);
+                // Save the new collection first
+                Collection savedCollection = collectionRepository.save(collection);
 
-            // Add it as a subcollection to the parent
-            parent.addSubcollection(savedCollection);
-            collectionRepository.save(parent);
+                // Add it as a subcollection to the parent
+                parent.addSubcollection(savedCollection);
+                collectionRepository.save(parent);
 
-            return mapToResponse(savedCollection);
-        }
+                catalogChangeLog.collectionsChanged(List.of(savedCollection.getId(), parent.getId()));
+                catalogChangeLog.productsChanged(productIds(parentProducts));
+
+                return mapToResponse(savedCollection);
+            }
 
-        // If no parentId, create as a root collection
-        Collection savedCollection = collectionRepository.save(collection);
-        return mapToResponse(savedCollection);
+            // If no parentId, create as a root collection
+            Collection savedCollection = collectionRepository.save(collection);
+            catalogChangeLog.collectionsChanged(List.of(savedCollection.getId()));
+            return mapToResponse(savedCollection);
+        });
     }
 
-    @Transactional
     public CollectionDTO editCollection(Long id, CollectionDTO request) {
-        Collection collection = collectionRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Collection not found"));
-
-        if (request.getName() != null) {
-            collection.setName(request.getName());
-        }
-
-        // Handle parent collection changes
-        if (request.getParentCollectionId() != null) {
-            Long currentParentId = collection.hasParent() ? collection.getParentCollection().getId() : null;
-
-            // If the parent is changing or being set for the first time
-            if (!request.getParentCollectionId().equals(currentParentId)) {
-                Collection newParent = collectionRepository.findById(request.getParentCollectionId())
-                        .orElseThrow(() -> new RuntimeException("Parent collection not found"));
-
-                // Validate that new parent is not itself a subcollection
-                if (newParent.hasParent()) {
-                    throw new RuntimeException("A subcollection cannot have its own subcollections");
-                }
-
-                // Validate that collection doesn't have subcollections (max depth = 2)
-                if (collection.hasSubcollections()) {
-                    throw new RuntimeException("Cannot set a collection with subcollections as a subcollection");
-                }
+        return writeScheduler.execute(() -> {
+            Collection collection = collectionRepository.findById(id)
+                    .orElseThrow(() -> new RuntimeException("Collection not found"));
 
-                // Remove all products from new parent collection
-                // Products should only exist in subcollections, not in parent collections
-                List<Product> parentProducts = new java.util.ArrayList<>(newParent.getProducts());
-                for (Product product : parentProducts) {
-                    newParent.removeProduct(product);
-                }
+            if (request.getName() != null) {
+                collection.setName(request.getName());
+            }
 
-                // Remove from old parent if exists
-                if (collection.hasParent()) {
-                    Collection oldParent = collection.getParentCollection();
-                    oldParent.removeSubcollection(collection);
-                    collectionRepository.save(oldParent);
+            // Handle parent collection changes
+            if (request.getParentCollectionId() != null) {
+                Long currentParentId = collection.hasParent() ? collection.getParentCollection().getId() : null;
+
+                // If the parent is changing or being set for the first time
+                if (!request.getParentCollectionId().equals(currentParentId)) {
+                    Collection newParent = collectionRepository.findById(request.getParentCollectionId())
+                            .orElseThrow(() -> new RuntimeException("Parent collection not found"));
+
+                    // Validate that new parent is not itself a subcollection
+                    if (newParent.hasParent()) {
+                        throw new RuntimeException("A subcollection cannot have its own subcollections");
+                    }
+
+                    // Validate that collection doesn't have subcollections (max depth = 2)
+                    if (collection.hasSubcollections()) {
+                        throw new RuntimeException("Cannot set a collection with subcollections as a subcollection");
+                    }
+
+                    // Remove all products from new parent collection
+                    // Products should only exist in subcollections, not in parent collections
+                    List<Product> parentProducts = new java.util.ArrayList<>(newParent.getProducts());
+                    for (Product product : parentProducts) {
+                        newParent.removeProduct(product);
+                    }
+                    catalogChangeLog.collectionsChanged(List.of(newParent.getId()));
+                    catalogChangeLog.productsChanged(productIds(parentProducts));
+
+                    // Remove from old parent if exists
+                    if (collection.hasParent()) {
+                        Collection oldParent = collection.getParentCollection();
+                        oldParent.removeSubcollection(collection);
+                        collectionRepository.save(oldParent);
+                        catalogChangeLog.collectionsChanged(List.of(oldParent.getId()));
+                    }
+
+                    // Add to new parent
+                    newParent.addSubcollection(collection);
+                    collectionRepository.save(newParent);
                 }
-
-                // Add to new parent
-                newParent.addSubcollection(collection);
-                collectionRepository.save(newParent);
             }
-        }
 
-        Collection updatedCollection = collectionRepository.save(collection);
-        return mapToResponse(updatedCollection);
+            Collection updatedCollection = collectionRepository.save(collection);
+            catalogChangeLog.collectionsChanged(List.of(id));
+            return mapToResponse(updatedCollection);
+        });
     }
 
-    @Transactional
     public void deleteCollection(Long id) {
-        Collection collection = collectionRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Collection not found"));
+        writeScheduler.run(() -> {
+            Collection collection = collectionRepository.findById(id)
+                    .orElseThrow(() -> new RuntimeException("Collection not found"));
 
-        // Remove collection from all products (unlink)
-        for (Product product : collection.getProducts()) {
-            product.getCollections().remove(collection);
-        }
-        collection.getProducts().clear();
+            // Subcollections are deleted with it, so they and every product they hold change too
+            List<Long> changedCollections = new java.util.ArrayList<>(List.of(id));
+            List<Product> changedProducts = new java.util.ArrayList<>(collection.getProducts());
+            for (Collection subcollection : collection.getSubcollections()) {
+                changedCollections.add(subcollection.getId());
+                changedProducts.addAll(subcollection.getProducts());
+            }
+            if (collection.hasParent()) {
+                changedCollections.add(collection.getParentCollection().getId());
+            }
+            catalogChangeLog.collectionsChanged(changedCollections);
+            catalogChangeLog.productsChanged(productIds(changedProducts));
+
+            // Remove collection from all products (unlink)
+            for (Product product : collection.getProducts()) {
+                product.getCollections().remove(collection);
+            }
+            collection.getProducts().clear();
+            // Also from the products of its subcollections, so their cached collection ids drop them
+            for (Collection subcollection : collection.getSubcollections()) {
+                for (Product product : subcollection.getProducts()) {
+                    product.getCollections().remove(subcollection);
+                }
+            }
 
-        // Subcollection will be deleted by cascade
-        collectionRepository.delete(collection);
+            // Subcollection will be deleted by cascade
+            collectionRepository.delete(collection);
+        });
     }
 
-    @Transactional
     public void addProductToCollection(Long collectionId, Long productId) {
-        Collection collection = collectionRepository.findById(collectionId)
-                .orElseThrow(() -> new RuntimeException("Collection not found"));
-
-        Product product = productRepository.findByIdActive(productId)
-                .orElseThrow(() -> new RuntimeException("Product not found or has been deleted"));
-
-        // Validate that product is not in a subcollection of this collection
-        if (collection.hasSubcollections()) {
-            for (Collection subcollection : collection.getSubcollections()) {
-                if (subcollection.getProducts().contains(product)) {
-                    throw new RuntimeException("Product is already in a subcollection of this collection");
+        writeScheduler.run(() -> {
+            Collection collection = collectionRepository.findById(collectionId)
+                    .orElseThrow(() -> new RuntimeException("Collection not found"));
+
+            Product product = productRepository.findByIdActive(productId)
+                    .orElseThrow(() -> new RuntimeException("Product not found or has been deleted"));
+
+            // Validate that product is not in a subcollection of this collection
+            if (collection.hasSubcollections()) {
+                for (Collection subcollection : collection.getSubcollections()) {
+                    if (subcollection.getProducts().contains(product)) {
+                        throw new RuntimeException("Product is already in a subcollection of this collection");
+                    }
                 }
             }
-        }
 
-        // Validate that product is not in parent collection if this is a subcollection
-        if (collection.hasParent()) {
-            Collection parent = collection.getParentCollection();
-            if (parent.getProducts().contains(product)) {
-                throw new RuntimeException("Product is already in the parent collection");
+            // Validate that product is not in parent collection if this is a subcollection
+            if (collection.hasParent()) {
+                Collection parent = collection.getParentCollection();
+                if (parent.getProducts().contains(product)) {
+                    throw new RuntimeException("Product is already in the parent collection");
+                }
             }
-        }
 
-        collection.addProduct(product);
-        collectionRepository.save(collection);
+            collection.addProduct(product);
+            collectionRepository.save(collection);
+            catalogChangeLog.collectionsChanged(List.of(collectionId));
+            catalogChangeLog.productsChanged(List.of(productId));
+        });
     }
 
-    @Transactional
     public void removeProductFromCollection(Long collectionId, Long productId) {
-        Collection collection = collectionRepository.findById(collectionId)
-                .orElseThrow(() -> new RuntimeException("Collection not found"));
-
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new RuntimeException("Product not found"));
-
-        collection.removeProduct(product);
-        collectionRepository.save(collection);
+        writeScheduler.run(() -> {
+            Collection collection = collectionRepository.findById(collectionId)
+                    .orElseThrow(() -> new RuntimeException("Collection not found"));
+
+            Product product = productRepository.findById(productId)
+                    .orElseThrow(() -> new RuntimeException("Product not found"));
+
+            collection.removeProduct(product);
+            collectionRepository.save(collection);
+            catalogChangeLog.collectionsChanged(List.of(collectionId));
+            catalogChangeLog.productsChanged(List.of(productId));
+        });
     }
 
-    @Transactional
     public CollectionDTO addSubcollection(Long parentId, Long subcollectionId) {
-        Collection parent = collectionRepository.findById(parentId)
-                .orElseThrow(() -> new RuntimeException("Parent collection not found"));
+        return writeScheduler.execute(() -> {
+            Collection parent = collectionRepository.findById(parentId)
+                    .orElseThrow(() -> new RuntimeException("Parent collection not found"));
 
-        Collection subcollection = collectionRepository.findById(subcollectionId)
-                .orElseThrow(() -> new RuntimeException("Subcollection not found"));
+            Collection subcollection = collectionRepository.findById(subcollectionId)
+                    .orElseThrow(() -> new RuntimeException("Subcollection not found"));
 
-        // Validate that parent is not itself a subcollection
-        if (parent.hasParent()) {
-            throw new RuntimeException("A subcollection cannot have its own subcollections");
-        }
+            // Validate that parent is not itself a subcollection
+            if (parent.hasParent()) {
+                throw new RuntimeException("A subcollection cannot have its own subcollections");
+            }
 
-        // Validate that subcollection doesn't have a parent already
-        if (subcollection.hasParent()) {
-            throw new RuntimeException("Subcollection already has a parent. Remove it first.");
-        }
+            // Validate that subcollection doesn't have a parent already
+            if (subcollection.hasParent()) {
+                throw new RuntimeException("Subcollection already has a parent. Remove it first.");
+            }
 
-        // Validate that subcollection doesn't have subcollections (max depth = 2)
-        if (subcollection.hasSubcollections()) {
-            throw new RuntimeException("Cannot set a collection with subcollections as a subcollection");
-        }
+            // Validate that subcollection doesn't have subcollections (max depth = 2)
+            if (subcollection.hasSubcollections()) {
+                throw new RuntimeException("Cannot set a collection with subcollections as a subcollection");
+            }
 
-        // Validate that products don't conflict between parent and subcollection
-        for (Product product : subcollection.getProducts()) {
-            if (parent.getProducts().contains(product)) {
-                throw new RuntimeException("Cannot add subcollection: product '" + product.getName() + "' is already in parent collection");
+            // Validate that products don't conflict between parent and subcollection
+            for (Product product : subcollection.getProducts()) {
+                if (parent.getProducts().contains(product)) {
+                    throw new RuntimeException("Cannot add subcollection: product '" + product.getName() + "' is already in parent collection");
+                }
             }
-        }
 
-        // Remove all products from parent collection when adding a subcollection
-        // Products should only exist in subcollections, not in parent collections
-        List<Product> parentProducts = new java.util.ArrayList<>(parent.getProducts());
-        for (Product product : parentProducts) {
-            parent.removeProduct(product);
-        }
+            // Remove all products from parent collection when adding a subcollection
+            // Products should only exist in subcollections, not in parent collections
+            List<Product> parentProducts = new java.util.ArrayList<>(parent.getProducts());
+            for (Product product : parentProducts) {
+                parent.removeProduct(product);
+            }
 
-        parent.addSubcollection(subcollection);
-        Collection savedParent = collectionRepository.save(parent);
-        return mapToResponse(savedParent);
+            parent.addSubcollection(subcollection);
+            Collection savedParent = collectionRepository.save(parent);
+            catalogChangeLog.collectionsChanged(List.of(parentId, subcollectionId));
+            catalogChangeLog.productsChanged(productIds(parentProducts));
+            return mapToResponse(savedParent);
+        });
     }
 
-    @Transactional
     public void removeSubcollection(Long parentId, Long subcollectionId) {
-        Collection parent = collectionRepository.findById(parentId)
-                .orElseThrow(() -> new RuntimeException("Parent collection not found"));
+        writeScheduler.run(() -> {
+            Collection parent = collectionRepository.findById(parentId)
+                    .orElseThrow(() -> new RuntimeException("Parent collection not found"));
 
-        Collection subcollection = collectionRepository.findById(subcollectionId)
-                .orElseThrow(() -> new RuntimeException("Subcollection not found"));
+            Collection subcollection = collectionRepository.findById(subcollectionId)
+                    .orElseThrow(() -> new RuntimeException("Subcollection not found"));
 
-        if (!parent.hasSubcollections()) {
-            throw new RuntimeException("Parent collection doesn't have subcollections");
-        }
+            if (!parent.hasSubcollections()) {
+                throw new RuntimeException("Parent collection doesn't have subcollections");
+            }
+
+            if (!parent.getSubcollections().contains(subcollection)) {
+                throw new RuntimeException("Subcollection does not belong to this parent collection");
+            }
+
+            // The subcollection may be removed as an orphan, taking its product links with it
+            catalogChangeLog.collectionsChanged(List.of(parentId, subcollectionId));
+            catalogChangeLog.productsChanged(productIds(subcollection.getProducts()));
+
+            parent.removeSubcollection(subcollection);
+            collectionRepository.save(parent);
+        });
+    }
 
-        if (!parent.getSubcollections().contains(subcollection)) {
-            throw new RuntimeException("Subcollection does not belong to this parent collection");
+    /**
+     * Collections among the given ids; ids of missing collections are skipped.
+     */
+    @Transactional(readOnly = true)
+    public List<CollectionDTO> getCollections(List<Long> ids) {
+        List<CollectionDTO> collections = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            collections.addAll(collectionRepository.findViewsByIdIn(ids.subList(from, Math.min(ids.size(), from + CHUNK_SIZE))));
         }
+        return withAssociations(collections, FieldSelection.all());
+    }
 
-        parent.removeSubcollection(subcollection);
-        collectionRepository.save(parent);
+    @Transactional(readOnly = true)
+    public List<ProductDTO> getCollectionProducts(Long collectionId, FieldSelection fields) {
+        if (!collectionRepository.existsById(collectionId)) {
+            throw new RuntimeException("Collection not found");
+        }
+        return productViews.findInCollection(collectionId, fields);
     }
 
+    /**
+     * A collection with its subcollections, and the first {@code size} active products of each, for
+     * rendering a storefront category page. Takes the same handful of queries however many
+     * subcollections there are.
+     */
     @Transactional(readOnly = true)
-    public List<ProductDTO> getCollectionProducts(Long collectionId) {
-        Collection collection = collectionRepository.findById(collectionId)
-                .orElseThrow(() -> new RuntimeException("Collection not found"));
+    public CollectionPageDTO getCollectionPage(Long id, int size, ProductSort sort, FieldSelection fields) {
+        if (size < 1 || size > MAX_PAGE_PRODUCTS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Size must be between 1 and " + MAX_PAGE_PRODUCTS);
+        }
+        List<CollectionDTO> collections = collectionRepository.findViewWithSubcollections(id);
+        if (collections.isEmpty() || !collections.get(0).getId().equals(id)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Collection not found");
+        }
 
-        return collection.getProducts().stream()
-                .map(this::mapProductToResponse)
-                .collect(Collectors.toList());
+        List<Long> collectionIds = collections.stream().map(CollectionDTO::getId).toList();
+        List<CollectionRepositoryCustom.ProductSlot> slots =
+                collectionRepository.findFirstActiveProducts(collectionIds, size, sort);
+        Map<Long, ProductDTO> products = productViews.findActive(
+                        slots.stream().map(CollectionRepositoryCustom.ProductSlot::productId).distinct().toList(), fields)
+                .stream()
+                .collect(Collectors.toMap(ProductDTO::getId, Function.identity()));
+
+        Map<Long, CollectionPageDTO> pages = new HashMap<>();
+        for (CollectionDTO collection : collections) {
+            pages.put(collection.getId(), new CollectionPageDTO(collection.getId(), collection.getName(),
+                    collection.getParentCollectionId(), 0, new ArrayList<>(), new ArrayList<>()));
+        }
+        for (CollectionRepositoryCustom.ProductSlot slot : slots) {
+            CollectionPageDTO page = pages.get(slot.collectionId());
+            page.setProductCount(slot.total());
+            page.getProducts().add(products.get(slot.productId()));
+        }
+        CollectionPageDTO page = pages.get(id);
+        for (CollectionDTO subcollection : collections.subList(1, collections.size())) {
+            page.getSubcollections().add(pages.get(subcollection.getId()));
+        }
+        return page;
     }
 
     @Transactional(readOnly = true)
@@ -276,14 +385,27 @@ public class CollectionService {
                 .collect(Collectors.toList());
     }
 
+    private static List<Long> productIds(List<Product> products) {
+        return products.stream().map(Product::getId).collect(Collectors.toList());
+    }
+
     private CollectionDTO mapToResponse(Collection collection) {
-        List<Long> productIds = collection.getProducts().stream()
-                .map(Product::getId)
-                .collect(Collectors.toList());
+        return mapToResponse(collection, FieldSelection.all());
+    }
 
-        List<SubcollectionDTO> subcollections = collection.getSubcollections().stream()
-                .map(sub -> new SubcollectionDTO(sub.getId(), sub.getName()))
-                .collect(Collectors.toList());
+    // Associations that are not selected stay unloaded
+    private CollectionDTO mapToResponse(Collection collection, FieldSelection fields) {
+        List<Long> productIds = fields.includes("productIds")
+                ? collection.getProducts().stream()
+                        .map(Product::getId)
+                        .collect(Collectors.toList())
+                : null;
+
+        List<SubcollectionDTO> subcollections = fields.includes("subcollections")
+                ? collection.getSubcollections().stream()
+                        .map(sub -> new SubcollectionDTO(sub.getId(), sub.getName()))
+                        .collect(Collectors.toList())
+                : null;
 
         Long parentCollectionId = collection.hasParent() ? collection.getParentCollection().getId() : null;
 
@@ -296,24 +418,29 @@ public class CollectionService {
         );
     }
 
-
-    private ProductDTO mapProductToResponse(Product product) {
-        List<ProductImageDTO> imageDtos = product.getImages().stream()
-                .map(img -> new ProductImageDTO(img.getUrl(), img.getIsMain()))
-                .collect(Collectors.toList());
-
-        return new ProductDTO(
-                product.getId(),
-                product.getName(),
-                product.getDescription(),
-                product.getNote(),
-                product.getFabricDetails(),
-                product.getType(),
-                product.getGender(),
-                product.getPrice(),
-                product.getSizesList(),
-                imageDtos,
-                product.getCollectionIds()
-        );
+    // Fills the selected associations of projected collections, one query each per chunk
+    private List<CollectionDTO> withAssociations(List<CollectionDTO> collections, FieldSelection fields) {
+        boolean productIds = fields.includes("productIds");
+        boolean subcollections = fields.includes("subcollections");
+        for (int from = 0; from < collections.size() && (productIds || subcollections); from += CHUNK_SIZE) {
+            Map<Long, CollectionDTO> chunk = new HashMap<>();
+            for (CollectionDTO collection : collections.subList(from, Math.min(collections.size(), from + CHUNK_SIZE))) {
+                chunk.put(collection.getId(), collection);
+                collection.setProductIds(productIds ? new ArrayList<>() : null);
+                collection.setSubcollections(subcollections ? new ArrayList<>() : null);
+            }
+            List<Long> ids = new ArrayList<>(chunk.keySet());
+            if (productIds) {
+                for (Object[] row : collectionRepository.findProductIdsByCollectionIdIn(ids)) {
+                    chunk.get((Long) row[0]).getProductIds().add((Long) row[1]);
+                }
+            }
+            if (subcollections) {
+                for (Object[] row : collectionRepository.findSubcollectionsByParentIdIn(ids)) {
+                    chunk.get((Long) row[0]).getSubcollections().add(new SubcollectionDTO((Long) row[1], (String) row[2]));
+                }
+            }
+        }
+        return collections;
     }
 }
@@ -0,0 +1,95 @@
+package com.generic.rest.main.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serialized responses of delivered orders, which no longer change once delivered.
+ * <p>
+ * Entries hold the JSON body together with the id of the order's owner, so a hit can be
+ * authorized and served without touching the database. The cache is bounded by the total size
+ * of the bodies and evicts the least recently used entries first. Entries are only removed when
+ * their order is deleted or its fulfilment dates are rewritten; {@link #stamp()} lets a reader
+ * that loaded an order before such a change avoid caching the stale body afterwards.
+ */
+@Service
+public class DeliveredOrderCache {
+
+    public record Entry(Long ownerId, byte[] body) {
+    }
+
+    private final DeliveredOrderCacheProperties properties;
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long sizeBytes;
+    private long evictions;
+
+    public DeliveredOrderCache(DeliveredOrderCacheProperties properties) {
+        this.properties = properties;
+    }
+
+    public synchronized Entry get(Long orderId) {
+        return entries.get(orderId);
+    }
+
+    /**
+     * @return a stamp to pass to {@link #put(Long, Long, byte[], long)} for a body loaded after this call
+     */
+    public synchronized long stamp() {
+        return evictions;
+    }
+
+    public synchronized void put(Long orderId, Long ownerId, byte[] body, long stamp) {
+        long maxBytes = (long) properties.getMaxSizeMb() * 1024 * 1024;
+        if (!properties.isEnabled() || stamp != evictions || body.length > maxBytes) {
+            return;
+        }
+        Entry previous = entries.put(orderId, new Entry(ownerId, body));
+        if (previous != null) {
+            sizeBytes -= previous.body().length;
+        }
+        sizeBytes += body.length;
+
+        Iterator<Map.Entry<Long, Entry>> eldest = entries.entrySet().iterator();
+        while (sizeBytes > maxBytes) {
+            sizeBytes -= eldest.next().getValue().body().length;
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Evicts the given orders once the current transaction commits, or right away outside a transaction.
+     */
+    public void evict(Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<Long> ids = List.copyOf(orderIds);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(ids);
+                }
+            });
+        } else {
+            remove(orderIds);
+        }
+    }
+
+    private synchronized void remove(Collection<Long> orderIds) {
+        for (Long orderId : orderIds) {
+            Entry removed = entries.remove(orderId);
+            if (removed != null) {
+                sizeBytes -= removed.body().length;
+            }
+        }
+        evictions++;
+    }
+}
@@ -0,0 +1,28 @@
+package com.generic.rest.main.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.orders.delivered-cache")
+public class DeliveredOrderCacheProperties {
+
+    private boolean enabled = true;
+    private int maxSizeMb = 16;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxSizeMb() {
+        return maxSizeMb;
+    }
+
+    public void setMaxSizeMb(int maxSizeMb) {
+        this.maxSizeMb = maxSizeMb;
+    }
+}
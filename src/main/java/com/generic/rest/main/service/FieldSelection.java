@@ -0,0 +1,84 @@
+package com.generic.rest.main.service;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * The fields of a DTO requested with {@code fields=}, for example {@code fields=name,price,images}.
+ * <p>
+ * Services check {@link #includes(String)} before mapping an association, so one that is not
+ * requested is never loaded, and controllers wrap the response with {@link #apply(Object)} so
+ * only the requested fields are written. The DTO carries a {@link JsonFilter} naming the filter
+ * to apply; {@code id} is always included.
+ */
+public final class FieldSelection {
+
+    private static final FieldSelection ALL = new FieldSelection(null, null);
+
+    private final String filterId;
+    private final Set<String> fields;
+
+    private FieldSelection(String filterId, Set<String> fields) {
+        this.filterId = filterId;
+        this.fields = fields;
+    }
+
+    public static FieldSelection all() {
+        return ALL;
+    }
+
+    /**
+     * @param fields comma-separated field names of {@code type}; all fields when null or blank
+     */
+    public static FieldSelection parse(String fields, Class<?> type) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<String> known = new LinkedHashSet<>();
+        for (Field field : type.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                known.add(field.getName());
+            }
+        }
+
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add("id");
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!known.contains(name)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown field: " + name);
+            }
+            selected.add(name);
+        }
+        return new FieldSelection(type.getAnnotation(JsonFilter.class).value(), Set.copyOf(selected));
+    }
+
+    public boolean includes(String field) {
+        return fields == null || fields.contains(field);
+    }
+
+    /**
+     * The response body, limited to the selected fields when serialized.
+     */
+    public MappingJacksonValue apply(Object body) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        if (fields != null) {
+            value.setFilters(new SimpleFilterProvider()
+                    .setDefaultFilter(SimpleBeanPropertyFilter.serializeAll())
+                    .addFilter(filterId, SimpleBeanPropertyFilter.filterOutAllExcept(fields)));
+        }
+        return value;
+    }
+}
@@ -0,0 +1,18 @@
+package com.generic.rest.main.service;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class FieldSelectionConfig {
+
+    // DTOs with a @JsonFilter serialize every field unless a FieldSelection says otherwise
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer defaultFieldFilter() {
+        return builder -> builder.filters(new SimpleFilterProvider()
+                .setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+    }
+}
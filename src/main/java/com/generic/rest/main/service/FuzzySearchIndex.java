@@ -0,0 +1,134 @@
+package com.generic.rest.main.service;
+
+import com.generic.rest.main.model.enums.CatalogEntityType;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * {@link TrigramIndex} over the names and descriptions of active products, used when a name
+ * search finds too little. After catalog writes commit, the next search catches up by re-reading
+ * the products changed since its last {@code catalog_changes} version.
+ */
+@Service
+public class FuzzySearchIndex implements SmartLifecycle {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final FuzzySearchProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CatalogChangeLog catalogChangeLog;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private TrigramIndex index = new TrigramIndex();
+    private long version;
+    private volatile long caughtUpAt;
+    private volatile boolean running;
+
+    public FuzzySearchIndex(FuzzySearchProperties properties, JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager, CatalogChangeLog catalogChangeLog) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.catalogChangeLog = catalogChangeLog;
+    }
+
+    /**
+     * Ids of products close to {@code query}, best first.
+     */
+    public List<Long> search(String query) {
+        long commits = catalogChangeLog.commitCount();
+        if (commits != caughtUpAt) {
+            // Joins the caller's transaction if there is one, so the connection is taken before the lock
+            transactionTemplate.executeWithoutResult(status -> catchUp());
+            caughtUpAt = commits;
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Long> ids = new ArrayList<>();
+            for (TrigramIndex.Hit hit : index.search(query, properties.getMaxCandidates(), properties.getMaxResults())) {
+                ids.add(hit.id());
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void start() {
+        long commits = catalogChangeLog.commitCount();
+        transactionTemplate.executeWithoutResult(status -> {
+            long current = catalogChangeLog.currentVersion();
+            TrigramIndex loaded = new TrigramIndex();
+            jdbcTemplate.query("SELECT id, name, description FROM products WHERE deleted_at IS NULL",
+                    rs -> {
+                        loaded.put(rs.getLong("id"), rs.getString("name"), rs.getString("description"));
+                    });
+            lock.writeLock().lock();
+            try {
+                index = loaded;
+                version = current;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+        caughtUpAt = commits;
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void catchUp() {
+        lock.writeLock().lock();
+        try {
+            Set<Long> changed = new HashSet<>();
+            long latest = version;
+            for (CatalogChangeLog.Change change : catalogChangeLog.findSince(version, Integer.MAX_VALUE)) {
+                if (change.type() == CatalogEntityType.PRODUCT) {
+                    changed.add(change.entityId());
+                }
+                latest = Math.max(latest, change.version());
+            }
+
+            List<Long> ids = new ArrayList<>(changed);
+            for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + CHUNK_SIZE));
+                for (Long id : chunk) {
+                    index.remove(id);
+                }
+                // Deleted products are not returned and stay removed
+                jdbcTemplate.query(
+                        "SELECT id, name, description FROM products WHERE deleted_at IS NULL AND id IN (" +
+                        String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")",
+                        rs -> {
+                            index.put(rs.getLong("id"), rs.getString("name"), rs.getString("description"));
+                        },
+                        chunk.toArray());
+            }
+            version = latest;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.generic.rest.main.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.products.fuzzy")
+public class FuzzySearchProperties {
+
+    private boolean enabled = true;
+    private int minExactHits = 3;
+    private int maxCandidates = 200;
+    private int maxResults = 100;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMinExactHits() {
+        return minExactHits;
+    }
+
+    public void setMinExactHits(int minExactHits) {
+        this.minExactHits = minExactHits;
+    }
+
+    public int getMaxCandidates() {
+        return maxCandidates;
+    }
+
+    public void setMaxCandidates(int maxCandidates) {
+        this.maxCandidates = maxCandidates;
+    }
+
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    public void setMaxResults(int maxResults) {
+        this.maxResults = maxResults;
+    }
+}
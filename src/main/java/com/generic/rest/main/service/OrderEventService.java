@@ -0,0 +1,177 @@
+package com.generic.rest.main.service;
+
+import com.generic.rest.main.dto.OrderStatusEventDTO;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-process bus pushing order status transitions to their owners over Server-Sent Events.
+ * <p>
+ * Every subscriber has a bounded buffer drained by its own sender task, so a slow client never
+ * blocks the publisher or other subscribers. A subscriber whose buffer overflows is disconnected
+ * rather than silently missing transitions; clients resynchronize with {@code /order/list} once
+ * after (re)connecting. Events are published after the transaction that changed the order commits.
+ */
+@Service
+public class OrderEventService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderEventService.class);
+
+    private static final String EVENT_NAME = "order-status";
+    private static final Object HEARTBEAT = new Object();
+
+    private final OrderEventProperties properties;
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    // Sending blocks on the client's socket, which virtual threads make cheap to wait on
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    public OrderEventService(OrderEventProperties properties) {
+        this.properties = properties;
+    }
+
+    private final class Subscriber {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Object> buffer = new ArrayBlockingQueue<>(properties.getBufferSize());
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        private void offer(Object event) {
+            if (closed) {
+                return;
+            }
+            if (!buffer.offer(event)) {
+                log.debug("Order event buffer of user {} overflowed, disconnecting subscriber", userId);
+                closed = true;
+                remove(this);
+                emitter.complete();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                Object event;
+                while ((event = buffer.poll()) != null) {
+                    try {
+                        if (event == HEARTBEAT) {
+                            emitter.send(SseEmitter.event().comment("heartbeat"));
+                        } else {
+                            OrderStatusEventDTO statusEvent = (OrderStatusEventDTO) event;
+                            emitter.send(SseEmitter.event().name(EVENT_NAME)
+                                    .data(statusEvent, MediaType.APPLICATION_JSON));
+                        }
+                    } catch (IOException | IllegalStateException e) {
+                        // Client went away; the emitter callbacks may not have fired yet
+                        remove(this);
+                        return;
+                    }
+                }
+                draining.set(false);
+                // An event offered after the last poll but before the reset would otherwise wait
+            } while (!buffer.isEmpty() && draining.compareAndSet(false, true));
+        }
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(properties.getTimeoutMs());
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        subscribers.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        // Flushes the response headers, so the client knows it is subscribed
+        subscriber.offer(HEARTBEAT);
+        return emitter;
+    }
+
+    public boolean hasSubscribers() {
+        return !subscribers.isEmpty();
+    }
+
+    /**
+     * Publishes the events to the user's subscribers once the current transaction commits, or right away
+     * outside a transaction.
+     */
+    public void publish(Long userId, List<OrderStatusEventDTO> events) {
+        if (events.isEmpty() || !subscribers.containsKey(userId)) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deliver(userId, events);
+                }
+            });
+        } else {
+            deliver(userId, events);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.orders.events.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        // Keeps idle connections open through proxies and detects clients that went away
+        for (Set<Subscriber> userSubscribers : subscribers.values()) {
+            for (Subscriber subscriber : userSubscribers) {
+                subscriber.offer(HEARTBEAT);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Set<Subscriber> userSubscribers : subscribers.values()) {
+            for (Subscriber subscriber : userSubscribers) {
+                subscriber.emitter.complete();
+            }
+        }
+        subscribers.clear();
+        senders.shutdown();
+    }
+
+    private void deliver(Long userId, List<OrderStatusEventDTO> events) {
+        Set<Subscriber> userSubscribers = subscribers.get(userId);
+        if (userSubscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : userSubscribers) {
+            for (OrderStatusEventDTO event : events) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId, (id, userSubscribers) -> {
+            userSubscribers.remove(subscriber);
+            return userSubscribers.isEmpty() ? null : userSubscribers;
+        });
+    }
+}
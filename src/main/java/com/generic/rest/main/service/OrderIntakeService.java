@@ -0,0 +1,385 @@
+package com.generic.rest.main.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.generic.rest.main.model.Order;
+import com.generic.rest.main.model.OrderProduct;
+import com.generic.rest.main.model.enums.Gender;
+import com.generic.rest.main.model.enums.ProductType;
+import com.generic.rest.main.model.enums.Size;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Order intake through a write-ahead {@link OrderJournal}.
+ * <p>
+ * Validated orders get their id here and are appended to the journal. A single writer thread
+ * inserts them into SQLite in grouped transactions once the journal is durable, recording the
+ * last applied journal sequence in {@code order_journal_state} in the same transaction. Orders
+ * are acknowledged once applied, so they are readable as soon as the client gets their id. On startup, journal records past that sequence are replayed before
+ * the application accepts requests.
+ */
+@Service
+public class OrderIntakeService implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderIntakeService.class);
+
+    private final OrderJournalProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final SalesRollupService salesRollupService;
+    private final StockService stockService;
+
+    private final Set<Long> deadLettered = ConcurrentHashMap.newKeySet();
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+    private final ReentrantLock intakeLock = new ReentrantLock();
+    private final AtomicLong lastOrderId = new AtomicLong();
+    private final Object appliedMonitor = new Object();
+
+    private volatile OrderJournal journal;
+    private volatile long appliedSequence;
+    private volatile boolean running;
+    private Thread writer;
+
+    public OrderIntakeService(OrderJournalProperties properties, JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                              SalesRollupService salesRollupService, StockService stockService) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.salesRollupService = salesRollupService;
+        this.stockService = stockService;
+    }
+
+    public record Line(Long productId, String productName, String productImageUrl, Gender productGender,
+                       ProductType productType, Size size, Integer quantity, Float priceAtPurchase) {
+    }
+
+    public record JournaledOrder(Long orderId, Long addressId, LocalDateTime createdAt, List<Line> lines) {
+    }
+
+    private record Entry(long sequence, JournaledOrder order) {
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Waits for the writer to catch up and rewinds the journal if it is more than half full. Must be
+     * called outside any transaction, so that the writer can get the connection.
+     */
+    public void awaitRoom() {
+        if (!running || !journal.isMostlyFull()) {
+            return;
+        }
+        waitForApplied(journal.lastAppended());
+        journal.resetIfApplied(appliedSequence);
+    }
+
+    /**
+     * Assigns the order its id and appends it to the journal. The caller must
+     * {@link #awaitApplied(long)} the returned sequence before acknowledging the order.
+     *
+     * @return the journal sequence of the order
+     * @throws ResponseStatusException with 503 if the journal is full
+     */
+    public long submit(Order order, List<OrderProduct> orderProducts) {
+        if (!running) {
+            throw new IllegalStateException("Order journal is not running");
+        }
+        List<Line> lines = new ArrayList<>();
+        for (OrderProduct op : orderProducts) {
+            lines.add(new Line(op.getProduct().getId(), op.getProductName(), op.getProductImageUrl(),
+                    op.getProductGender(), op.getProductType(), op.getSize(), op.getQuantity(), op.getPriceAtPurchase()));
+        }
+
+        intakeLock.lock();
+        try {
+            long orderId = lastOrderId.incrementAndGet();
+            JournaledOrder journaled = new JournaledOrder(orderId, order.getAddress().getId(), order.getCreatedAt(), lines);
+            byte[] payload = serialize(journaled);
+            long sequence = journal.tryAppend(payload);
+            if (sequence < 0 && journal.resetIfApplied(appliedSequence)) {
+                sequence = journal.tryAppend(payload);
+            }
+            if (sequence < 0) {
+                // Never wait for the writer here: the caller's transaction holds the connection it needs
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Order journal is full, try again shortly");
+            }
+            queue.add(new Entry(sequence, journaled));
+            order.setId(orderId);
+            return sequence;
+        } finally {
+            intakeLock.unlock();
+        }
+    }
+
+    /**
+     * Blocks until the journal record with the given sequence has been written to the database.
+     *
+     * @return false if the order could not be applied and was moved to the dead letters instead
+     */
+    public boolean awaitApplied(long sequence) {
+        waitForApplied(sequence);
+        return !deadLettered.remove(sequence);
+    }
+
+    private void waitForApplied(long sequence) {
+        synchronized (appliedMonitor) {
+            while (appliedSequence < sequence) {
+                try {
+                    appliedMonitor.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for journaled orders", e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long size = properties.getSizeMb() * 1024L * 1024;
+        if (size <= 0 || size > Integer.MAX_VALUE) {
+            // A single mapped buffer holds at most Integer.MAX_VALUE bytes
+            throw new IllegalStateException("app.orders.journal.size-mb must be between 1 and "
+                    + Integer.MAX_VALUE / (1024 * 1024) + ", got " + properties.getSizeMb());
+        }
+        try {
+            journal = new OrderJournal(Path.of(properties.getPath()), (int) size);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open order journal " + properties.getPath(), e);
+        }
+
+        long applied = jdbcTemplate.queryForObject(
+                "SELECT applied_seq FROM order_journal_state WHERE id = 1", Long.class);
+        long maxOrderId = jdbcTemplate.queryForObject(
+                "SELECT MAX(COALESCE((SELECT seq FROM sqlite_sequence WHERE name = 'orders'), 0), " +
+                "COALESCE((SELECT MAX(id) FROM orders), 0))", Long.class);
+
+        List<Entry> unapplied = new ArrayList<>();
+        for (OrderJournal.Record record : journal.recover()) {
+            if (record.sequence() > applied) {
+                JournaledOrder order = deserialize(record.payload());
+                unapplied.add(new Entry(record.sequence(), order));
+                maxOrderId = Math.max(maxOrderId, order.orderId());
+            }
+        }
+        journal.advanceSequence(applied);
+        lastOrderId.set(maxOrderId);
+        appliedSequence = applied;
+
+        if (!unapplied.isEmpty()) {
+            log.info("Replaying {} journaled orders after sequence {}", unapplied.size(), applied);
+            for (int from = 0; from < unapplied.size(); from += properties.getMaxBatchSize()) {
+                List<Entry> batch = unapplied.subList(from, Math.min(unapplied.size(), from + properties.getMaxBatchSize()));
+                try {
+                    apply(batch);
+                } catch (RuntimeException e) {
+                    log.warn("Failed to replay {} journaled orders, replaying them one by one", batch.size(), e);
+                    applyEach(batch);
+                }
+            }
+        }
+        journal.resetIfApplied(appliedSequence);
+
+        running = true;
+        writer = new Thread(this::runWriter, "order-journal-writer");
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join();
+            journal.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.warn("Failed to close order journal", e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Start before the web server so recovery completes before requests arrive
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private void runWriter() {
+        List<Entry> batch = new ArrayList<>();
+        while (running || !queue.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    Entry first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, properties.getMaxBatchSize() - 1);
+                }
+                journal.awaitDurable(batch.get(batch.size() - 1).sequence());
+                apply(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Failed to apply {} journaled orders, applying them one by one", batch.size(), e);
+                try {
+                    applyEach(batch);
+                    batch.clear();
+                } catch (RuntimeException deadLetterFailed) {
+                    // Not even the dead letter could be written: retry the rest of the batch later
+                    log.error("Failed to apply journaled orders, retrying", deadLetterFailed);
+                    try {
+                        Thread.sleep(1000);
+                    } catch (InterruptedException interrupted) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies each order in its own transaction, moving orders that fail to the dead letters.
+     * Orders already applied by an earlier attempt are skipped.
+     */
+    private void applyEach(List<Entry> batch) {
+        for (Entry entry : batch) {
+            if (entry.sequence() <= appliedSequence) {
+                continue;
+            }
+            try {
+                apply(List.of(entry));
+            } catch (RuntimeException e) {
+                deadLetter(entry, e);
+            }
+        }
+    }
+
+    private void deadLetter(Entry entry, RuntimeException cause) {
+        JournaledOrder order = entry.order();
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("INSERT INTO order_journal_dead_letters (sequence, order_id, payload, error, failed_at) " +
+                            "VALUES (?, ?, ?, ?, ?)", entry.sequence(), order.orderId(),
+                    new String(serialize(order), StandardCharsets.UTF_8), String.valueOf(cause),
+                    Timestamp.valueOf(LocalDateTime.now()));
+            jdbcTemplate.update("UPDATE order_journal_state SET applied_seq = ? WHERE id = 1", entry.sequence());
+        });
+        log.error("Moved journaled order {} (sequence {}) to the dead letters", order.orderId(), entry.sequence(), cause);
+        if (running) {
+            // Only live orders have a caller waiting to learn the outcome
+            deadLettered.add(entry.sequence());
+        }
+        markApplied(entry.sequence());
+
+        List<StockService.Reservation> reservations = new ArrayList<>();
+        for (Line line : order.lines()) {
+            if (line.size() != null && line.quantity() != null) {
+                reservations.add(new StockService.Reservation(line.productId(), line.size(), line.quantity()));
+            }
+        }
+        stockService.restock(reservations);
+    }
+
+    private void apply(List<Entry> batch) {
+        List<Object[]> orders = new ArrayList<>();
+        List<Object[]> lines = new ArrayList<>();
+        List<SalesRollupService.Sale> sales = new ArrayList<>();
+        for (Entry entry : batch) {
+            JournaledOrder order = entry.order();
+            List<SalesRollupService.SaleLine> saleLines = new ArrayList<>();
+            for (Line line : order.lines()) {
+                saleLines.add(new SalesRollupService.SaleLine(line.productId(), line.productGender(), line.productType(),
+                        line.quantity(), line.priceAtPurchase()));
+            }
+            sales.add(new SalesRollupService.Sale(order.createdAt(), saleLines));
+            orders.add(new Object[]{order.orderId(), Timestamp.valueOf(order.createdAt()),
+                    Order.statusFor(order.createdAt(), null, null).name(), order.addressId()});
+            for (Line line : order.lines()) {
+                // Records journaled before the snapshot columns existed carry no product name or category
+                lines.add(new Object[]{order.orderId(), line.productId(), line.productName() != null ? line.productName() : "",
+                        line.productImageUrl(), line.productGender() != null ? line.productGender().name() : null,
+                        line.productType() != null ? line.productType().name() : null, line.quantity(),
+                        line.priceAtPurchase(), line.size() != null ? line.size().name() : null});
+            }
+        }
+        long lastSequence = batch.get(batch.size() - 1).sequence();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate("INSERT INTO orders (id, created_at, status, address_id) VALUES (?, ?, ?, ?)", orders);
+            jdbcTemplate.batchUpdate("INSERT INTO order_products (order_id, product_id, product_name, " +
+                    "product_image_url, product_gender, product_type, quantity, price_at_purchase, size) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", lines);
+            salesRollupService.recordOrders(sales);
+            jdbcTemplate.update("UPDATE order_journal_state SET applied_seq = ? WHERE id = 1", lastSequence);
+        });
+
+        markApplied(lastSequence);
+    }
+
+    private void markApplied(long sequence) {
+        synchronized (appliedMonitor) {
+            appliedSequence = sequence;
+            appliedMonitor.notifyAll();
+        }
+        journal.resetIfApplied(sequence);
+    }
+
+    private byte[] serialize(JournaledOrder order) {
+        try {
+            return objectMapper.writeValueAsBytes(order);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize order for the journal", e);
+        }
+    }
+
+    private JournaledOrder deserialize(byte[] payload) {
+        try {
+            return objectMapper.readValue(payload, JournaledOrder.class);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read journaled order", e);
+        }
+    }
+}
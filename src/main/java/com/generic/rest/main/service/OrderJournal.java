@@ -0,0 +1,212 @@
+package com.generic.rest.main.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, memory-mapped journal of sequenced records.
+ * <p>
+ * Layout: a 16 byte file header followed by records of {@code [int length][int crc][long sequence][payload]},
+ * terminated by a zero length. Durability is group committed: {@link #awaitDurable(long)} forces the
+ * mapping once for every record appended before the force started, so concurrent writers share one
+ * fsync. Once every record has been applied the journal is rewound to the start of the file;
+ * recovery stops at the first torn, corrupt or out-of-sequence record, which also ignores leftovers
+ * from before a rewind.
+ */
+public class OrderJournal implements Closeable {
+
+    private static final int MAGIC = 0x4F4A524E;
+    private static final int HEADER_SIZE = 16;
+    private static final int RECORD_HEADER_SIZE = 16;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock forceLock = new ReentrantLock();
+
+    private int position = HEADER_SIZE;
+    private long lastSequence;
+    private volatile long durableSequence;
+
+    public record Record(long sequence, byte[] payload) {
+    }
+
+    public OrderJournal(Path path, int capacity) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        this.capacity = capacity;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        if (buffer.getInt(0) != MAGIC) {
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(HEADER_SIZE, 0);
+            buffer.force();
+        }
+    }
+
+    /**
+     * Scans the journal and positions it after the last valid record.
+     *
+     * @return every valid record, in sequence order
+     */
+    public List<Record> recover() {
+        appendLock.lock();
+        try {
+            List<Record> records = new ArrayList<>();
+            int pos = HEADER_SIZE;
+            long previous = -1;
+            while (pos + RECORD_HEADER_SIZE <= capacity) {
+                int length = buffer.getInt(pos);
+                if (length <= 0 || pos + RECORD_HEADER_SIZE + length > capacity) {
+                    break;
+                }
+                int crc = buffer.getInt(pos + 4);
+                long sequence = buffer.getLong(pos + 8);
+                if (previous >= 0 && sequence != previous + 1) {
+                    break;
+                }
+                byte[] payload = new byte[length];
+                buffer.get(pos + RECORD_HEADER_SIZE, payload);
+                if (checksum(sequence, payload) != crc) {
+                    break;
+                }
+                records.add(new Record(sequence, payload));
+                previous = sequence;
+                pos += RECORD_HEADER_SIZE + length;
+            }
+            position = pos;
+            lastSequence = Math.max(lastSequence, previous);
+            durableSequence = lastSequence;
+            return records;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Makes the next appended record follow {@code sequence}, if the journal is behind it.
+     */
+    public void advanceSequence(long sequence) {
+        appendLock.lock();
+        try {
+            if (sequence > lastSequence) {
+                lastSequence = sequence;
+                durableSequence = sequence;
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Appends a record without waiting for it to be durable.
+     *
+     * @return the sequence of the record, or -1 if the journal has no room left
+     */
+    public long tryAppend(byte[] payload) {
+        appendLock.lock();
+        try {
+            int end = position + RECORD_HEADER_SIZE + payload.length;
+            if (end > capacity) {
+                return -1;
+            }
+            long sequence = lastSequence + 1;
+            if (end + 4 <= capacity) {
+                buffer.putInt(end, 0);
+            }
+            buffer.put(position + RECORD_HEADER_SIZE, payload);
+            buffer.putLong(position + 8, sequence);
+            buffer.putInt(position + 4, checksum(sequence, payload));
+            buffer.putInt(position, payload.length);
+            position = end;
+            lastSequence = sequence;
+            return sequence;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Blocks until the record with the given sequence has been forced to disk.
+     */
+    public void awaitDurable(long sequence) {
+        if (durableSequence >= sequence) {
+            return;
+        }
+        forceLock.lock();
+        try {
+            if (durableSequence >= sequence) {
+                return;
+            }
+            long upTo = lastAppended();
+            buffer.force();
+            durableSequence = upTo;
+        } finally {
+            forceLock.unlock();
+        }
+    }
+
+    /**
+     * Rewinds the journal to the start of the file if every appended record has been applied.
+     */
+    public boolean resetIfApplied(long appliedSequence) {
+        appendLock.lock();
+        try {
+            if (appliedSequence < lastSequence || position == HEADER_SIZE) {
+                return false;
+            }
+            buffer.putInt(HEADER_SIZE, 0);
+            position = HEADER_SIZE;
+            return true;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Whether more than half of the journal is taken by records that have not been rewound yet.
+     */
+    public boolean isMostlyFull() {
+        appendLock.lock();
+        try {
+            return position - HEADER_SIZE > (capacity - HEADER_SIZE) / 2;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    public long lastAppended() {
+        appendLock.lock();
+        try {
+            return lastSequence;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    private static int checksum(long sequence, byte[] payload) {
+        CRC32 crc = new CRC32();
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            crc.update((int) (sequence >>> shift));
+        }
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
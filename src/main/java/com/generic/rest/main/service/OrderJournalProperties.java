@@ -0,0 +1,46 @@
+package com.generic.rest.main.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.orders.journal")
+public class OrderJournalProperties {
+
+    private boolean enabled = false;
+    private String path = "src/main/resources/db/orders.journal";
+    private int sizeMb = 64;
+    private int maxBatchSize = 256;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public int getSizeMb() {
+        return sizeMb;
+    }
+
+    public void setSizeMb(int sizeMb) {
+        this.sizeMb = sizeMb;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+}
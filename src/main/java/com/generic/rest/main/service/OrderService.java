@@ -1,41 +1,111 @@
 package com.generic.rest.main.service;
 
 import com.generic.rest.main.dto.AddressDTO;
+import com.generic.rest.main.dto.BulkOrderUpdateDTO;
+import com.generic.rest.main.dto.BulkOrderUpdateResultDTO;
 import com.generic.rest.main.dto.OrderDTO;
 import com.generic.rest.main.dto.OrderProductDTO;
+import com.generic.rest.main.dto.OrderStatusEventDTO;
+import com.generic.rest.main.dto.OrderUpdateOutcomeDTO;
 import com.generic.rest.main.model.*;
+import com.generic.rest.main.model.enums.OrderStatus;
+import com.generic.rest.main.model.enums.Size;
+import com.generic.rest.main.model.enums.OrderUpdateOutcome;
 import com.generic.rest.main.repository.AddressRepository;
+import com.generic.rest.main.repository.OrderProductRepository;
+import com.generic.rest.main.repository.OrderRepositoryCustom;
 import com.generic.rest.main.repository.OrderRepository;
+import com.generic.rest.main.repository.ProductImageRepository;
 import com.generic.rest.main.repository.ProductRepository;
-import org.springframework.data.domain.Page;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class OrderService {
 
+    private static final int MAX_BULK_UPDATE_SIZE = 10000;
+    private static final int CHUNK_SIZE = 500;
+
     private final OrderRepository orderRepository;
     private final AddressRepository addressRepository;
     private final ProductRepository productRepository;
+    private final OrderProductRepository orderProductRepository;
+    private final ProductImageRepository productImageRepository;
+    private final StockService stockService;
+    private final OrderIntakeService orderIntakeService;
+    private final WriteScheduler writeScheduler;
+    private final SalesRollupService salesRollupService;
+    private final DeliveredOrderCache deliveredOrderCache;
+    private final OrderEventService orderEventService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    private record PlacedOrder(OrderDTO response, long journalSequence) {
+    }
 
     public OrderService(OrderRepository orderRepository, AddressRepository addressRepository,
-                       ProductRepository productRepository) {
+                       ProductRepository productRepository, OrderProductRepository orderProductRepository,
+                       ProductImageRepository productImageRepository, StockService stockService, OrderIntakeService orderIntakeService,
+                       WriteScheduler writeScheduler, SalesRollupService salesRollupService,
+                       DeliveredOrderCache deliveredOrderCache, OrderEventService orderEventService,
+                       ObjectMapper objectMapper,
+                       PlatformTransactionManager transactionManager) {
         this.orderRepository = orderRepository;
         this.addressRepository = addressRepository;
         this.productRepository = productRepository;
+        this.orderProductRepository = orderProductRepository;
+        this.productImageRepository = productImageRepository;
+        this.stockService = stockService;
+        this.orderIntakeService = orderIntakeService;
+        this.writeScheduler = writeScheduler;
+        this.salesRollupService = salesRollupService;
+        this.deliveredOrderCache = deliveredOrderCache;
+        this.orderEventService = orderEventService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
     }
 
-    @Transactional
     public OrderDTO createOrder(User user, OrderDTO request) {
+        // Not routed through the write scheduler: stock reservations follow this transaction's outcome,
+        // and journaled orders already share fsyncs
+        if (orderIntakeService.isEnabled()) {
+            // Make room in the journal before the transaction takes the connection the writer needs
+            orderIntakeService.awaitRoom();
+        }
+        PlacedOrder placed = transactionTemplate.execute(status -> placeOrder(user, request));
+        if (placed.journalSequence() > 0) {
+            // Waiting outside the transaction frees the connection, so concurrent orders share one journal fsync
+            // and one writer transaction. Acknowledging only once applied keeps the order readable right away.
+            if (!orderIntakeService.awaitApplied(placed.journalSequence())) {
+                throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Order could not be stored");
+            }
+        }
+        return placed.response();
+    }
+
+    private PlacedOrder placeOrder(User user, OrderDTO request) {
         // Validate address belongs to user
         Address address = addressRepository.findById(request.getAddress().getId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Address not found"));
@@ -44,47 +114,118 @@ public class OrderService {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Address does not belong to user");
         }
 
-        // Create order
-        Order order = new Order(LocalDateTime.now(), address);
+        // Resolve every product of the order with a single query
+        List<Long> productIds = request.getProducts().stream()
+                .map(OrderProductDTO::getProductId)
+                .distinct()
+                .collect(Collectors.toList());
+        Map<Long, Product> products = productRepository.findAllActiveByIdIn(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
 
-        // Add products to order
+        // Validate order lines and reserve stock before writing anything
+        List<StockService.Reservation> reservations = new ArrayList<>();
         for (OrderProductDTO productDto : request.getProducts()) {
-            Product product = productRepository.findById(productDto.getProductId())
-                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
-                            "Product not found: " + productDto.getProductId()));
+            Product product = products.get(productDto.getProductId());
+            if (product == null) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Product not found: " + productDto.getProductId());
+            }
+            if (productDto.getQuantity() == null || productDto.getQuantity() < 1) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Quantity must be positive for product: " + product.getId());
+            }
+            if (productDto.getSize() == null) {
+                if (stockService.isTracked(product.getId())) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                            "Size is required for product: " + product.getId());
+                }
+            } else if (!product.getSizesList().contains(productDto.getSize())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Size " + productDto.getSize() + " is not available for product: " + product.getId());
+            }
+            reservations.add(new StockService.Reservation(product.getId(), productDto.getSize(), productDto.getQuantity()));
+        }
+        stockService.reserve(reservations);
 
+        // Build order lines, snapshotting each product's main image with a single query
+        Map<Long, String> mainImages = productImageRepository.findMainByProductIdIn(productIds).stream()
+                .collect(Collectors.toMap(image -> image.getProduct().getId(), ProductImage::getUrl, (a, b) -> a));
+        Order order = new Order(LocalDateTime.now(), address);
+        List<OrderProduct> orderProducts = new ArrayList<>();
+        for (OrderProductDTO productDto : request.getProducts()) {
+            Product product = products.get(productDto.getProductId());
             OrderProduct orderProduct = new OrderProduct(order, product, productDto.getQuantity(), product.getPrice());
-            order.addOrderProduct(orderProduct);
+            orderProduct.setProductImageUrl(mainImages.get(product.getId()));
+            orderProduct.setSize(productDto.getSize());
+            orderProducts.add(orderProduct);
         }
 
-        Order savedOrder = orderRepository.save(order);
-        return mapToResponse(savedOrder);
+        long journalSequence = 0;
+        if (orderIntakeService.isEnabled()) {
+            // Written to the database later by the journal writer
+            journalSequence = orderIntakeService.submit(order, orderProducts);
+        } else {
+            // Order lines are inserted in JDBC batches rather than cascaded one by one
+            orderRepository.save(order);
+            orderProductRepository.insertAll(order.getId(), orderProducts);
+            salesRollupService.recordOrders(List.of(toSale(order, orderProducts)));
+        }
+
+        return new PlacedOrder(mapToResponse(order, orderProducts), journalSequence);
     }
 
     @Transactional(readOnly = true)
-    public List<OrderDTO> listOrders(User user, int page, int size) {
+    public List<OrderDTO> listOrders(User user, OrderStatus status, int page, int size, FieldSelection fields) {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
-        Page<Order> orderPage = orderRepository.findByUser(user, pageable);
-
-        List<OrderDTO> orderResponses = new ArrayList<>();
-        for (Order order : orderPage.getContent()) {
-            orderResponses.add(mapToResponse(order));
-        }
-
-        return orderResponses;
+        List<OrderDTO> orders = status == null
+                ? orderRepository.findViewsByUserId(user.getId(), pageable)
+                : orderRepository.findViewsByUserIdAndStatus(user.getId(), status, pageable);
+        return withAssociations(orders, fields);
     }
 
     @Transactional(readOnly = true)
-    public List<OrderDTO> listOrdersByUserId(Long userId, int page, int size) {
+    public List<OrderDTO> listOrdersByUserId(Long userId, OrderStatus status, int page, int size, FieldSelection fields) {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
-        Page<Order> orderPage = orderRepository.findByUserId(userId, pageable);
+        List<OrderDTO> orders = status == null
+                ? orderRepository.findViewsByUserId(userId, pageable)
+                : orderRepository.findViewsByUserIdAndStatus(userId, status, pageable);
+        return withAssociations(orders, fields);
+    }
 
-        List<OrderDTO> orderResponses = new ArrayList<>();
-        for (Order order : orderPage.getContent()) {
-            orderResponses.add(mapToResponse(order));
+    /**
+     * Orders of every user in the given status, oldest first, read from the (status, created_at) index.
+     */
+    @Transactional(readOnly = true)
+    public List<OrderDTO> listFulfilmentQueue(OrderStatus status, int page, int size, FieldSelection fields) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.ASC, "createdAt"));
+        return withAssociations(orderRepository.findViewsByStatus(status, pageable), fields);
+    }
+
+    /**
+     * Returns the serialized order. Delivered orders are served from {@link DeliveredOrderCache}
+     * without opening a transaction.
+     */
+    public byte[] getOrderBody(User user, Long orderId) {
+        DeliveredOrderCache.Entry cached = deliveredOrderCache.get(orderId);
+        if (cached != null) {
+            if (!cached.ownerId().equals(user.getId())) {
+                throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Order does not belong to user");
+            }
+            return cached.body();
         }
 
-        return orderResponses;
+        long stamp = deliveredOrderCache.stamp();
+        OrderDTO order = readOnlyTransactionTemplate.execute(status -> getOrder(user, orderId));
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(order);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize order " + orderId, e);
+        }
+        if (order.getDeliveredAt() != null) {
+            deliveredOrderCache.put(orderId, user.getId(), body, stamp);
+        }
+        return body;
     }
 
     @Transactional(readOnly = true)
@@ -100,69 +241,223 @@ public class OrderService {
         return mapToResponse(order);
     }
 
-    @Transactional
     public OrderDTO editOrder(User user, Long orderId, OrderDTO request) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Order not found"));
+        return writeScheduler.execute(() -> {
+            Order order = orderRepository.findById(orderId)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Order not found"));
 
-        // Verify order belongs to user
-        if (!order.getAddress().getUser().getId().equals(user.getId())) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Order does not belong to user");
-        }
+            // Verify order belongs to user
+            if (!order.getAddress().getUser().getId().equals(user.getId())) {
+                throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Order does not belong to user");
+            }
+
+            OrderStatus previousStatus = order.getStatus();
+
+            // Update order dates
+            if (request.getShippedAt() != null) {
+                order.setShippedAt(request.getShippedAt());
+            }
+            if (request.getDeliveredAt() != null) {
+                order.setDeliveredAt(request.getDeliveredAt());
+            }
+
+            // Status is derived from shippedAt and deliveredAt, and persisted for filtering
+            order.updateStatus();
+            deliveredOrderCache.evict(List.of(orderId));
+            if (order.getStatus() != previousStatus) {
+                orderEventService.publish(user.getId(), List.of(new OrderStatusEventDTO(
+                        order.getId(), order.getStatus(), order.getShippedAt(), order.getDeliveredAt())));
+            }
 
-        // Update order dates
-        if (request.getShippedAt() != null) {
-            order.setShippedAt(request.getShippedAt());
+            Order updatedOrder = orderRepository.save(order);
+            return mapToResponse(updatedOrder);
+        });
+    }
+
+    /**
+     * Sets shipment and/or delivery dates on many orders at once, selected by id or by status.
+     * Runs as set-based UPDATEs in one transaction, without loading the orders.
+     */
+    public BulkOrderUpdateResultDTO bulkUpdateOrders(BulkOrderUpdateDTO request) {
+        boolean byIds = request.getOrderIds() != null && !request.getOrderIds().isEmpty();
+        if (byIds == (request.getStatus() != null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Provide either orderIds or a status filter");
+        }
+        if (request.getShippedAt() == null && request.getDeliveredAt() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Provide shippedAt and/or deliveredAt");
         }
-        if (request.getDeliveredAt() != null) {
-            order.setDeliveredAt(request.getDeliveredAt());
+        if (byIds && request.getOrderIds().size() > MAX_BULK_UPDATE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + MAX_BULK_UPDATE_SIZE + " orders can be updated at once");
         }
 
-        // Note: status is derived from shippedAt and deliveredAt, so no need to set it explicitly
+        return writeScheduler.execute(() -> {
+            List<Long> requestedIds;
+            Set<Long> existingIds;
+            if (byIds) {
+                requestedIds = request.getOrderIds().stream().distinct().collect(Collectors.toList());
+                existingIds = orderRepository.findExistingIds(requestedIds);
+            } else {
+                // One more than the cap tells an oversized filter apart from one that is exactly full
+                requestedIds = orderRepository.findIdsByStatus(request.getStatus(), request.getCreatedBefore(),
+                        MAX_BULK_UPDATE_SIZE + 1);
+                if (requestedIds.size() > MAX_BULK_UPDATE_SIZE) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The status filter matches more than "
+                            + MAX_BULK_UPDATE_SIZE + " orders; narrow it with createdBefore");
+                }
+                existingIds = new HashSet<>(requestedIds);
+            }
 
-        Order updatedOrder = orderRepository.save(order);
-        return mapToResponse(updatedOrder);
+            List<Long> toUpdate = requestedIds.stream().filter(existingIds::contains).collect(Collectors.toList());
+            // Statuses are only read when someone is listening for their transitions
+            boolean publish = orderEventService.hasSubscribers();
+            Map<Long, OrderStatus> previousStatuses = publish
+                    ? orderRepository.findStatusSnapshots(toUpdate).stream()
+                        .collect(Collectors.toMap(OrderRepositoryCustom.StatusSnapshot::orderId,
+                                OrderRepositoryCustom.StatusSnapshot::status))
+                    : Map.of();
+            int updated = orderRepository.updateFulfilmentDates(toUpdate, request.getShippedAt(), request.getDeliveredAt());
+            deliveredOrderCache.evict(toUpdate);
+            if (publish) {
+                publishTransitions(toUpdate, previousStatuses);
+            }
+
+            List<OrderUpdateOutcomeDTO> outcomes = new ArrayList<>();
+            for (Long id : requestedIds) {
+                outcomes.add(new OrderUpdateOutcomeDTO(id,
+                        existingIds.contains(id) ? OrderUpdateOutcome.UPDATED : OrderUpdateOutcome.NOT_FOUND));
+            }
+            return new BulkOrderUpdateResultDTO(updated, outcomes);
+        });
     }
 
-    @Transactional
     public void deleteOrder(User user, Long orderId) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Order not found"));
+        writeScheduler.run(() -> {
+            Order order = orderRepository.findById(orderId)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Order not found"));
 
-        // Verify order belongs to user
-        if (!order.getAddress().getUser().getId().equals(user.getId())) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Order does not belong to user");
+            // Verify order belongs to user
+            if (!order.getAddress().getUser().getId().equals(user.getId())) {
+                throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Order does not belong to user");
+            }
+
+            salesRollupService.removeOrders(List.of(toSale(order, order.getOrderProducts())));
+            orderRepository.delete(order);
+            deliveredOrderCache.evict(List.of(orderId));
+        });
+    }
+
+    private void publishTransitions(List<Long> orderIds, Map<Long, OrderStatus> previousStatuses) {
+        Map<Long, List<OrderStatusEventDTO>> eventsByUser = new HashMap<>();
+        for (OrderRepositoryCustom.StatusSnapshot snapshot : orderRepository.findStatusSnapshots(orderIds)) {
+            if (snapshot.status() != previousStatuses.get(snapshot.orderId())) {
+                eventsByUser.computeIfAbsent(snapshot.userId(), id -> new ArrayList<>()).add(new OrderStatusEventDTO(
+                        snapshot.orderId(), snapshot.status(), snapshot.shippedAt(), snapshot.deliveredAt()));
+            }
         }
+        eventsByUser.forEach(orderEventService::publish);
+    }
 
-        orderRepository.delete(order);
+    private static SalesRollupService.Sale toSale(Order order, List<OrderProduct> orderProducts) {
+        List<SalesRollupService.SaleLine> lines = new ArrayList<>();
+        for (OrderProduct op : orderProducts) {
+            lines.add(new SalesRollupService.SaleLine(op.getProduct().getId(), op.getProductGender(), op.getProductType(),
+                    op.getQuantity(), op.getPriceAtPurchase()));
+        }
+        return new SalesRollupService.Sale(order.getCreatedAt(), lines);
     }
 
     private OrderDTO mapToResponse(Order order) {
+        return mapToResponse(order, order.getOrderProducts(), FieldSelection.all());
+    }
+
+    private OrderDTO mapToResponse(Order order, List<OrderProduct> orderProducts) {
+        return mapToResponse(order, orderProducts, FieldSelection.all());
+    }
+
+    // Fills projected orders with their addresses and lines, one query each per chunk. Either is
+    // only read when selected; the total needs the lines.
+    private List<OrderDTO> withAssociations(List<OrderDTO> orders, FieldSelection fields) {
+        boolean address = fields.includes("address");
+        boolean lines = fields.includes("products") || fields.includes("total");
+        for (int from = 0; from < orders.size(); from += CHUNK_SIZE) {
+            Map<Long, OrderDTO> chunk = new HashMap<>();
+            for (OrderDTO order : orders.subList(from, Math.min(orders.size(), from + CHUNK_SIZE))) {
+                chunk.put(order.getId(), order);
+                order.setProducts(new ArrayList<>());
+                order.setTotal(0f);
+            }
+            List<Long> ids = new ArrayList<>(chunk.keySet());
+            if (address) {
+                for (Object[] row : orderRepository.findAddressesByOrderIdIn(ids)) {
+                    chunk.get((Long) row[0]).setAddress(new AddressDTO(
+                            (Long) row[1],
+                            (String) row[2],
+                            (String) row[3],
+                            (String) row[4],
+                            (String) row[5],
+                            (String) row[6],
+                            (String) row[7],
+                            (String) row[8],
+                            (String) row[9],
+                            (String) row[10],
+                            (Boolean) row[11]
+                    ));
+                }
+            }
+            if (lines) {
+                for (Object[] row : orderProductRepository.findLinesByOrderIdIn(ids)) {
+                    OrderDTO order = chunk.get((Long) row[0]);
+                    OrderProductDTO line = new OrderProductDTO(
+                            (Long) row[1],
+                            (String) row[2],
+                            (String) row[3],
+                            (Size) row[4],
+                            (Integer) row[5],
+                            (Float) row[6]
+                    );
+                    order.getProducts().add(line);
+                    order.setTotal(order.getTotal() + line.getPriceAtPurchase() * line.getQuantity());
+                }
+            }
+        }
+        return orders;
+    }
+
+    private OrderDTO mapToResponse(Order order, List<OrderProduct> orderProducts, FieldSelection fields) {
         // Map address
-        Address addr = order.getAddress();
-        AddressDTO addressResponse = new AddressDTO(
-                addr.getId(),
-                addr.getFirstName(),
-                addr.getLastName(),
-                addr.getAddress(),
-                addr.getAddress2(),
-                addr.getArea(),
-                addr.getState(),
-                addr.getCountry(),
-                addr.getZipCode(),
-                addr.getPhoneNumber(),
-                addr.isDefault()
-        );
+        AddressDTO addressResponse = null;
+        if (fields.includes("address")) {
+            Address addr = order.getAddress();
+            addressResponse = new AddressDTO(
+                    addr.getId(),
+                    addr.getFirstName(),
+                    addr.getLastName(),
+                    addr.getAddress(),
+                    addr.getAddress2(),
+                    addr.getArea(),
+                    addr.getState(),
+                    addr.getCountry(),
+                    addr.getZipCode(),
+                    addr.getPhoneNumber(),
+                    addr.isDefault()
+            );
+        }
 
         // Map order products
         List<OrderProductDTO> productResponses = new ArrayList<>();
-        for (OrderProduct op : order.getOrderProducts()) {
+        Float total = 0f;
+        for (OrderProduct op : orderProducts) {
+            // The product is a lazy proxy here: reading its id does not load it
             productResponses.add(new OrderProductDTO(
                     op.getProduct().getId(),
-                    op.getProduct().getName(),
+                    op.getProductName(),
+                    op.getProductImageUrl(),
+                    op.getSize(),
                     op.getQuantity(),
                     op.getPriceAtPurchase()
             ));
+            total += op.getPriceAtPurchase() * op.getQuantity();
         }
 
         return new OrderDTO(
@@ -172,7 +467,7 @@ public class OrderService {
                 order.getDeliveredAt(),
                 addressResponse,
                 productResponses,
-                order.getTotal(),
+                total,
                 order.getStatus()
         );
     }
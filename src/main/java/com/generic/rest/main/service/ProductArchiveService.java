@@ -0,0 +1,125 @@
+package com.generic.rest.main.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Moves long soft-deleted products out of the hot tables.
+ * <p>
+ * Products deleted more than {@code app.products.archive.retention-days} ago are copied with their
+ * images to {@code products_archive} and {@code product_images_archive}, then removed from
+ * {@code products} together with their images, stock, sales counters and collection memberships. Products on any
+ * order line stay soft-deleted in {@code products}, since {@code order_products.product_id}
+ * references them and order lines load their product. Each batch is archived in its own transaction.
+ */
+@Service
+public class ProductArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductArchiveService.class);
+
+    private static final String PRODUCT_COLUMNS =
+            "id, name, description, note, fabric_details, type, gender, price, sizes, deleted_at";
+
+    private final ProductArchiveProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CatalogChangeLog catalogChangeLog;
+    private final StockService stockService;
+    private final SecondLevelCacheService secondLevelCacheService;
+    private final BestsellerService bestsellerService;
+
+    public ProductArchiveService(ProductArchiveProperties properties, JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager, CatalogChangeLog catalogChangeLog,
+                                 StockService stockService, SecondLevelCacheService secondLevelCacheService,
+                                 BestsellerService bestsellerService) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.catalogChangeLog = catalogChangeLog;
+        this.stockService = stockService;
+        this.secondLevelCacheService = secondLevelCacheService;
+        this.bestsellerService = bestsellerService;
+    }
+
+    @Scheduled(fixedDelayString = "${app.products.archive.interval-ms:3600000}",
+            initialDelayString = "${app.products.archive.interval-ms:3600000}")
+    public void scheduledArchive() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            int archived = archive();
+            if (archived > 0) {
+                log.info("Archived {} soft-deleted products", archived);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to archive soft-deleted products, retrying on next run", e);
+        }
+    }
+
+    /**
+     * Archives every product past the retention window.
+     *
+     * @return the number of products that were archived
+     */
+    public int archive() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusDays(properties.getRetentionDays()));
+        int total = 0;
+        while (true) {
+            Integer archived = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            total += archived;
+            if (archived < properties.getBatchSize()) {
+                return total;
+            }
+        }
+    }
+
+    private int archiveBatch(Timestamp cutoff) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT p.id FROM products p WHERE p.deleted_at IS NOT NULL AND p.deleted_at < ? " +
+                "AND NOT EXISTS (SELECT 1 FROM order_products op WHERE op.product_id = p.id) " +
+                "ORDER BY p.deleted_at LIMIT ?",
+                Long.class, cutoff, properties.getBatchSize());
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        String in = " IN (" + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")";
+        Object[] args = ids.toArray();
+        List<Long> collectionIds = jdbcTemplate.queryForList(
+                "SELECT DISTINCT collection_id FROM collection_products WHERE product_id" + in, Long.class, args);
+
+        Object[] archiveArgs = new Object[ids.size() + 1];
+        archiveArgs[0] = Timestamp.valueOf(LocalDateTime.now());
+        System.arraycopy(args, 0, archiveArgs, 1, ids.size());
+        jdbcTemplate.update(
+                "INSERT INTO products_archive (" + PRODUCT_COLUMNS + ", archived_at) " +
+                "SELECT " + PRODUCT_COLUMNS + ", ? FROM products WHERE id" + in, archiveArgs);
+        jdbcTemplate.update(
+                "INSERT INTO product_images_archive (id, product_id, url, is_main) " +
+                "SELECT id, product_id, url, is_main FROM product_images WHERE product_id" + in, args);
+
+        jdbcTemplate.update("DELETE FROM product_images WHERE product_id" + in, args);
+        jdbcTemplate.update("DELETE FROM product_stock WHERE product_id" + in, args);
+        jdbcTemplate.update("DELETE FROM collection_products WHERE product_id" + in, args);
+        jdbcTemplate.update("DELETE FROM product_sales_counters WHERE product_id" + in, args);
+        jdbcTemplate.update("DELETE FROM products WHERE id" + in, args);
+
+        // The products themselves were recorded as deleted when they were soft-deleted
+        catalogChangeLog.collectionsChanged(collectionIds);
+        stockService.forget(ids);
+        bestsellerService.forget(ids);
+        secondLevelCacheService.evictRemovedProducts(ids, collectionIds);
+        return ids.size();
+    }
+}
@@ -0,0 +1,19 @@
+package com.generic.rest.main.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.products.batch")
+public class ProductBatchProperties {
+
+    private int maxIds = 100;
+
+    public int getMaxIds() {
+        return maxIds;
+    }
+
+    public void setMaxIds(int maxIds) {
+        this.maxIds = maxIds;
+    }
+}
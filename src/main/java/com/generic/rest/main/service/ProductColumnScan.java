@@ -0,0 +1,63 @@
+package com.generic.rest.main.service;
+
+/**
+ * Filter evaluation over the columns of a {@link ProductColumnStore}.
+ * <p>
+ * When the JVM runs with {@code --add-modules jdk.incubator.vector}, filters are evaluated with SIMD
+ * compares by {@link ProductColumnVectorScan}. Without the module that class is never loaded and
+ * the scalar loop is used instead.
+ */
+public final class ProductColumnScan {
+
+    public static final byte ANY = -1;
+
+    public static final boolean VECTORIZED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    /**
+     * Predicates on the encoded columns: {@link #ANY} for an unfiltered ordinal, 0 for an unfiltered
+     * size mask and infinite bounds for an unfiltered price.
+     */
+    public record Criteria(byte type, byte gender, int sizeMask, float minPrice, float maxPrice) {
+    }
+
+    private ProductColumnScan() {
+    }
+
+    /**
+     * Writes the slots below {@code count} that match to the start of {@code matches}, in slot order.
+     *
+     * @return the number of matching slots
+     */
+    public static int scan(float[] prices, byte[] types, byte[] genders, int[] sizeMasks, int count,
+                           Criteria criteria, int[] matches) {
+        if (VECTORIZED) {
+            return ProductColumnVectorScan.scan(prices, types, genders, sizeMasks, count, criteria, matches);
+        }
+        return scanScalar(prices, types, genders, sizeMasks, 0, count, criteria, matches, 0);
+    }
+
+    /**
+     * Scalar scan of the slots from {@code from} to {@code to}, appending to {@code matches} after
+     * the first {@code matched} entries.
+     *
+     * @return the number of matches including the first {@code matched}
+     */
+    public static int scanScalar(float[] prices, byte[] types, byte[] genders, int[] sizeMasks, int from, int to,
+                                 Criteria criteria, int[] matches, int matched) {
+        byte type = criteria.type();
+        byte gender = criteria.gender();
+        int sizeMask = criteria.sizeMask();
+        float min = criteria.minPrice();
+        float max = criteria.maxPrice();
+        for (int i = from; i < to; i++) {
+            float price = prices[i];
+            if ((type == ANY || types[i] == type)
+                    && (gender == ANY || genders[i] == gender)
+                    && (sizeMasks[i] & sizeMask) == sizeMask
+                    && price >= min && price <= max) {
+                matches[matched++] = i;
+            }
+        }
+        return matched;
+    }
+}
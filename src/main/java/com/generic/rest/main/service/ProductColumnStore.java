@@ -0,0 +1,263 @@
+package com.generic.rest.main.service;
+
+import com.generic.rest.main.model.enums.CatalogEntityType;
+import com.generic.rest.main.model.enums.Gender;
+import com.generic.rest.main.model.enums.ProductSort;
+import com.generic.rest.main.model.enums.ProductType;
+import com.generic.rest.main.model.enums.Size;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Columnar copy of the filterable attributes of active products.
+ * <p>
+ * Products occupy dense slots across parallel arrays (ids, prices, type and gender ordinals and a
+ * bitmask of sizes), so a filter is one pass over primitive arrays, evaluated with SIMD compares
+ * by {@link ProductColumnScan} where the Vector API is available, instead of a row-by-row scan in
+ * SQLite. Pages are picked with a
+ * bounded heap of {@code (page + 1) * size} entries rather than by sorting every match. After
+ * catalog writes commit, the next query catches up by reading the products changed since its
+ * last {@code catalog_changes} version.
+ */
+@Service
+public class ProductColumnStore implements SmartLifecycle {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CatalogChangeLog catalogChangeLog;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> slots = new HashMap<>();
+
+    private long[] ids = new long[64];
+    private float[] prices = new float[64];
+    private byte[] types = new byte[64];
+    private byte[] genders = new byte[64];
+    private int[] sizeMasks = new int[64];
+    private int count;
+    private long version;
+    private volatile long caughtUpAt;
+    private volatile boolean running;
+
+    public ProductColumnStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                              CatalogChangeLog catalogChangeLog) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.catalogChangeLog = catalogChangeLog;
+    }
+
+    public record Filter(ProductType type, Gender gender, Size size, Float minPrice, Float maxPrice) {
+    }
+
+    /**
+     * Ids of one page of matching products, ordered by {@code sort} or by id when it is null.
+     */
+    public List<Long> select(Filter filter, ProductSort sort, int page, int size) {
+        long commits = catalogChangeLog.commitCount();
+        if (commits != caughtUpAt) {
+            // Joins the caller's transaction if there is one, so the connection is taken before the lock
+            transactionTemplate.executeWithoutResult(status -> catchUp());
+            caughtUpAt = commits;
+        }
+
+        lock.readLock().lock();
+        try {
+            int[] matches = new int[count];
+            int matched = scan(filter, matches);
+            long from = (long) page * size;
+            if (from >= matched) {
+                return List.of();
+            }
+            int limit = (int) Math.min((long) matched, from + size);
+            int[] top = top(matches, matched, limit, sort);
+
+            List<Long> result = new ArrayList<>(limit - (int) from);
+            for (int i = (int) from; i < limit; i++) {
+                result.add(ids[top[i]]);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Drops products that turned out to be gone, e.g. removed without going through the
+     * {@link CatalogChangeLog}.
+     */
+    public void evict(Collection<Long> productIds) {
+        lock.writeLock().lock();
+        try {
+            for (Long id : productIds) {
+                remove(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void start() {
+        long commits = catalogChangeLog.commitCount();
+        transactionTemplate.executeWithoutResult(status -> {
+            long current = catalogChangeLog.currentVersion();
+            lock.writeLock().lock();
+            try {
+                slots.clear();
+                count = 0;
+                jdbcTemplate.query("SELECT id, type, gender, sizes, price FROM products WHERE deleted_at IS NULL",
+                        rs -> {
+                            put(rs.getLong("id"), rs.getString("type"), rs.getString("gender"), rs.getString("sizes"),
+                                    rs.getFloat("price"));
+                        });
+                version = current;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+        caughtUpAt = commits;
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private int scan(Filter filter, int[] matches) {
+        ProductColumnScan.Criteria criteria = new ProductColumnScan.Criteria(
+                filter.type() != null ? (byte) filter.type().ordinal() : ProductColumnScan.ANY,
+                filter.gender() != null ? (byte) filter.gender().ordinal() : ProductColumnScan.ANY,
+                filter.size() != null ? 1 << filter.size().ordinal() : 0,
+                filter.minPrice() != null ? filter.minPrice() : Float.NEGATIVE_INFINITY,
+                filter.maxPrice() != null ? filter.maxPrice() : Float.POSITIVE_INFINITY);
+        return ProductColumnScan.scan(prices, types, genders, sizeMasks, count, criteria, matches);
+    }
+
+    // The first limit slots in order, kept in a max-heap so each match costs O(log limit)
+    private int[] top(int[] matches, int matched, int limit, ProductSort sort) {
+        PriorityQueue<Integer> heap = new PriorityQueue<>(limit, (a, b) -> compare(b, a, sort));
+        for (int i = 0; i < matched; i++) {
+            int slot = matches[i];
+            if (heap.size() < limit) {
+                heap.add(slot);
+            } else if (compare(slot, heap.peek(), sort) < 0) {
+                heap.poll();
+                heap.add(slot);
+            }
+        }
+        int[] top = new int[heap.size()];
+        for (int i = top.length - 1; i >= 0; i--) {
+            top[i] = heap.poll();
+        }
+        return top;
+    }
+
+    private int compare(int a, int b, ProductSort sort) {
+        if (sort != null) {
+            int byPrice = Float.compare(prices[a], prices[b]);
+            if (byPrice != 0) {
+                return sort == ProductSort.PRICE_ASC ? byPrice : -byPrice;
+            }
+        }
+        return Long.compare(ids[a], ids[b]);
+    }
+
+    private void catchUp() {
+        lock.writeLock().lock();
+        try {
+            Set<Long> changed = new HashSet<>();
+            long latest = version;
+            for (CatalogChangeLog.Change change : catalogChangeLog.findSince(version, Integer.MAX_VALUE)) {
+                if (change.type() == CatalogEntityType.PRODUCT) {
+                    changed.add(change.entityId());
+                }
+                latest = Math.max(latest, change.version());
+            }
+
+            List<Long> changedIds = new ArrayList<>(changed);
+            for (int from = 0; from < changedIds.size(); from += CHUNK_SIZE) {
+                List<Long> chunk = changedIds.subList(from, Math.min(changedIds.size(), from + CHUNK_SIZE));
+                for (Long id : chunk) {
+                    remove(id);
+                }
+                // Deleted products are not returned and stay removed
+                jdbcTemplate.query(
+                        "SELECT id, type, gender, sizes, price FROM products WHERE deleted_at IS NULL AND id IN (" +
+                        String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")",
+                        rs -> {
+                            put(rs.getLong("id"), rs.getString("type"), rs.getString("gender"), rs.getString("sizes"),
+                                    rs.getFloat("price"));
+                        },
+                        chunk.toArray());
+            }
+            version = latest;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void put(long id, String type, String gender, String sizes, float price) {
+        if (count == ids.length) {
+            int capacity = count * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+            types = Arrays.copyOf(types, capacity);
+            genders = Arrays.copyOf(genders, capacity);
+            sizeMasks = Arrays.copyOf(sizeMasks, capacity);
+        }
+        int mask = 0;
+        if (sizes != null && !sizes.isEmpty()) {
+            for (String size : sizes.split(",")) {
+                mask |= 1 << Size.valueOf(size.trim()).ordinal();
+            }
+        }
+        int slot = count++;
+        ids[slot] = id;
+        prices[slot] = price;
+        types[slot] = (byte) ProductType.valueOf(type).ordinal();
+        genders[slot] = (byte) Gender.valueOf(gender).ordinal();
+        sizeMasks[slot] = mask;
+        slots.put(id, slot);
+    }
+
+    // Moves the last slot into the hole so the columns stay dense
+    private void remove(Long id) {
+        Integer slot = slots.remove(id);
+        if (slot == null) {
+            return;
+        }
+        int last = --count;
+        if (slot != last) {
+            ids[slot] = ids[last];
+            prices[slot] = prices[last];
+            types[slot] = types[last];
+            genders[slot] = genders[last];
+            sizeMasks[slot] = sizeMasks[last];
+            slots.put(ids[slot], slot);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.generic.rest.main.service;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD implementation of {@link ProductColumnScan#scan}, only loaded when {@code jdk.incubator.vector}
+ * is present.
+ * <p>
+ * Slots are taken in blocks of 64. Each predicate is compared a vector at a time and its lane masks
+ * are packed into one 64-bit word per block with {@code toLong()}. The words are ANDed and the set
+ * bits are appended to the matches, so the compares never branch on the data. The slots after the
+ * last full block go through the scalar loop.
+ */
+public final class ProductColumnVectorScan {
+
+    private static final int BLOCK = Long.SIZE;
+
+    private static final VectorSpecies<Float> FLOATS = FloatVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_PREFERRED;
+
+    private ProductColumnVectorScan() {
+    }
+
+    public static int scan(float[] prices, byte[] types, byte[] genders, int[] sizeMasks, int count,
+                           ProductColumnScan.Criteria criteria, int[] matches) {
+        int blocksEnd = count - count % BLOCK;
+        int matched = 0;
+        for (int from = 0; from < blocksEnd; from += BLOCK) {
+            long bits = inRange(prices, from, criteria.minPrice(), criteria.maxPrice());
+            if (criteria.type() != ProductColumnScan.ANY) {
+                bits &= equal(types, from, criteria.type());
+            }
+            if (criteria.gender() != ProductColumnScan.ANY) {
+                bits &= equal(genders, from, criteria.gender());
+            }
+            if (criteria.sizeMask() != 0) {
+                bits &= containsAll(sizeMasks, from, criteria.sizeMask());
+            }
+            while (bits != 0) {
+                matches[matched++] = from + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+        }
+        return ProductColumnScan.scanScalar(prices, types, genders, sizeMasks, blocksEnd, count, criteria,
+                matches, matched);
+    }
+
+    private static long inRange(float[] prices, int from, float min, float max) {
+        long bits = 0;
+        for (int lane = 0; lane < BLOCK; lane += FLOATS.length()) {
+            FloatVector price = FloatVector.fromArray(FLOATS, prices, from + lane);
+            bits |= price.compare(VectorOperators.GE, min)
+                    .and(price.compare(VectorOperators.LE, max))
+                    .toLong() << lane;
+        }
+        return bits;
+    }
+
+    private static long equal(byte[] column, int from, byte value) {
+        long bits = 0;
+        for (int lane = 0; lane < BLOCK; lane += BYTES.length()) {
+            bits |= ByteVector.fromArray(BYTES, column, from + lane)
+                    .compare(VectorOperators.EQ, value)
+                    .toLong() << lane;
+        }
+        return bits;
+    }
+
+    private static long containsAll(int[] sizeMasks, int from, int sizeMask) {
+        long bits = 0;
+        for (int lane = 0; lane < BLOCK; lane += INTS.length()) {
+            bits |= IntVector.fromArray(INTS, sizeMasks, from + lane)
+                    .and(sizeMask)
+                    .compare(VectorOperators.EQ, sizeMask)
+                    .toLong() << lane;
+        }
+        return bits;
+    }
+}
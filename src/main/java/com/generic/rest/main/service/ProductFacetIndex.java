@@ -0,0 +1,291 @@
+package com.generic.rest.main.service;
+
+import com.generic.rest.main.dto.PriceBucketDTO;
+import com.generic.rest.main.dto.ProductFacetsDTO;
+import com.generic.rest.main.model.enums.CatalogEntityType;
+import com.generic.rest.main.model.enums.Gender;
+import com.generic.rest.main.model.enums.ProductType;
+import com.generic.rest.main.model.enums.Size;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Facet counts over active products, kept in memory as bitmaps.
+ * <p>
+ * Every active product gets an ordinal, and each {@link ProductType}, {@link Gender}, {@link Size}
+ * and price bucket has a {@link BitSet} of the ordinals carrying it, so a filter combination is
+ * the intersection of a few bitmaps. Counts for a facet apply every filter except that facet's
+ * own, so the sidebar shows how many products each alternative value would give. After catalog
+ * writes commit, the next query catches up by reading the products changed since its last
+ * {@code catalog_changes} version.
+ */
+@Service
+public class ProductFacetIndex implements SmartLifecycle {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final ProductFacetProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CatalogChangeLog catalogChangeLog;
+
+    private final Object lock = new Object();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final BitSet active = new BitSet();
+    private final Map<ProductType, BitSet> byType = new EnumMap<>(ProductType.class);
+    private final Map<Gender, BitSet> byGender = new EnumMap<>(Gender.class);
+    private final Map<Size, BitSet> bySize = new EnumMap<>(Size.class);
+
+    private float[] bucketBounds = new float[0];
+    private BitSet[] byPriceBucket = new BitSet[0];
+    private float[] prices = new float[64];
+    private long version;
+    private volatile long caughtUpAt;
+    private volatile boolean running;
+
+    public ProductFacetIndex(ProductFacetProperties properties, JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager, CatalogChangeLog catalogChangeLog) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.catalogChangeLog = catalogChangeLog;
+    }
+
+    public record Query(ProductType type, Gender gender, Size size, Float minPrice, Float maxPrice) {
+    }
+
+    private record Row(Long id, ProductType type, Gender gender, List<Size> sizes, float price) {
+    }
+
+    public ProductFacetsDTO count(Query query) {
+        long commits = catalogChangeLog.commitCount();
+        if (commits != caughtUpAt) {
+            // The connection is taken before the lock
+            transactionTemplate.executeWithoutResult(status -> catchUp());
+            caughtUpAt = commits;
+        }
+
+        synchronized (lock) {
+            BitSet typeFilter = query.type() != null ? byType.get(query.type()) : null;
+            BitSet genderFilter = query.gender() != null ? byGender.get(query.gender()) : null;
+            BitSet sizeFilter = query.size() != null ? bySize.get(query.size()) : null;
+            BitSet priceFilter = query.minPrice() != null || query.maxPrice() != null
+                    ? priceRange(query.minPrice(), query.maxPrice()) : null;
+
+            long total = intersect(typeFilter, genderFilter, sizeFilter, priceFilter).cardinality();
+
+            Map<ProductType, Long> types = new EnumMap<>(ProductType.class);
+            BitSet withoutType = intersect(genderFilter, sizeFilter, priceFilter);
+            for (ProductType type : ProductType.values()) {
+                types.put(type, countAnd(withoutType, byType.get(type)));
+            }
+            Map<Gender, Long> genders = new EnumMap<>(Gender.class);
+            BitSet withoutGender = intersect(typeFilter, sizeFilter, priceFilter);
+            for (Gender gender : Gender.values()) {
+                genders.put(gender, countAnd(withoutGender, byGender.get(gender)));
+            }
+            Map<Size, Long> sizes = new EnumMap<>(Size.class);
+            BitSet withoutSize = intersect(typeFilter, genderFilter, priceFilter);
+            for (Size size : Size.values()) {
+                sizes.put(size, countAnd(withoutSize, bySize.get(size)));
+            }
+            List<PriceBucketDTO> buckets = new ArrayList<>(byPriceBucket.length);
+            BitSet withoutPrice = intersect(typeFilter, genderFilter, sizeFilter);
+            for (int i = 0; i < byPriceBucket.length; i++) {
+                Float min = i == 0 ? 0f : bucketBounds[i - 1];
+                Float max = i < bucketBounds.length ? bucketBounds[i] : null;
+                buckets.add(new PriceBucketDTO(min, max, countAnd(withoutPrice, byPriceBucket[i])));
+            }
+            return new ProductFacetsDTO(total, types, genders, sizes, buckets);
+        }
+    }
+
+    @Override
+    public void start() {
+        long commits = catalogChangeLog.commitCount();
+        transactionTemplate.executeWithoutResult(status -> {
+            long current = catalogChangeLog.currentVersion();
+            List<Row> rows = jdbcTemplate.query(
+                    "SELECT id, type, gender, sizes, price FROM products WHERE deleted_at IS NULL",
+                    (rs, rowNum) -> toRow(rs.getLong("id"), rs.getString("type"), rs.getString("gender"),
+                            rs.getString("sizes"), rs.getFloat("price")));
+
+            synchronized (lock) {
+                ordinals.clear();
+                active.clear();
+                prices = new float[Math.max(64, rows.size())];
+                byType.clear();
+                byGender.clear();
+                bySize.clear();
+                for (ProductType type : ProductType.values()) {
+                    byType.put(type, new BitSet());
+                }
+                for (Gender gender : Gender.values()) {
+                    byGender.put(gender, new BitSet());
+                }
+                for (Size size : Size.values()) {
+                    bySize.put(size, new BitSet());
+                }
+                bucketBounds = new float[properties.getPriceBuckets().size()];
+                for (int i = 0; i < bucketBounds.length; i++) {
+                    bucketBounds[i] = properties.getPriceBuckets().get(i);
+                }
+                Arrays.sort(bucketBounds);
+                byPriceBucket = new BitSet[bucketBounds.length + 1];
+                for (int i = 0; i < byPriceBucket.length; i++) {
+                    byPriceBucket[i] = new BitSet();
+                }
+
+                for (Row row : rows) {
+                    add(row);
+                }
+                version = current;
+            }
+        });
+        caughtUpAt = commits;
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void catchUp() {
+        synchronized (lock) {
+            Set<Long> changed = new HashSet<>();
+            long latest = version;
+            for (CatalogChangeLog.Change change : catalogChangeLog.findSince(version, Integer.MAX_VALUE)) {
+                if (change.type() == CatalogEntityType.PRODUCT) {
+                    changed.add(change.entityId());
+                }
+                latest = Math.max(latest, change.version());
+            }
+
+            List<Long> ids = new ArrayList<>(changed);
+            for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + CHUNK_SIZE));
+                for (Long id : chunk) {
+                    remove(id);
+                }
+                // Deleted products are not returned and stay removed
+                jdbcTemplate.query(
+                        "SELECT id, type, gender, sizes, price FROM products WHERE deleted_at IS NULL AND id IN (" +
+                        String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")",
+                        rs -> {
+                            add(toRow(rs.getLong("id"), rs.getString("type"), rs.getString("gender"),
+                                    rs.getString("sizes"), rs.getFloat("price")));
+                        },
+                        chunk.toArray());
+            }
+            version = latest;
+        }
+    }
+
+    private void add(Row row) {
+        int ordinal = ordinals.computeIfAbsent(row.id(), id -> ordinals.size());
+        if (ordinal >= prices.length) {
+            prices = Arrays.copyOf(prices, Math.max(ordinal + 1, prices.length * 2));
+        }
+        prices[ordinal] = row.price();
+        active.set(ordinal);
+        byType.get(row.type()).set(ordinal);
+        byGender.get(row.gender()).set(ordinal);
+        for (Size size : row.sizes()) {
+            bySize.get(size).set(ordinal);
+        }
+        byPriceBucket[bucketOf(row.price())].set(ordinal);
+    }
+
+    // The ordinal is kept, so a product coming back reuses it
+    private void remove(Long id) {
+        Integer ordinal = ordinals.get(id);
+        if (ordinal == null) {
+            return;
+        }
+        active.clear(ordinal);
+        byType.values().forEach(bits -> bits.clear(ordinal));
+        byGender.values().forEach(bits -> bits.clear(ordinal));
+        bySize.values().forEach(bits -> bits.clear(ordinal));
+        for (BitSet bits : byPriceBucket) {
+            bits.clear(ordinal);
+        }
+    }
+
+    private int bucketOf(float price) {
+        int bucket = 0;
+        while (bucket < bucketBounds.length && price >= bucketBounds[bucket]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    // Exact bounds: whole buckets inside the range are taken as is, only the edge buckets are scanned
+    private BitSet priceRange(Float minPrice, Float maxPrice) {
+        BitSet result = new BitSet();
+        for (int i = 0; i < byPriceBucket.length; i++) {
+            float bucketMin = i == 0 ? Float.NEGATIVE_INFINITY : bucketBounds[i - 1];
+            float bucketMax = i < bucketBounds.length ? bucketBounds[i] : Float.POSITIVE_INFINITY;
+            if ((maxPrice != null && bucketMin > maxPrice) || (minPrice != null && bucketMax <= minPrice)) {
+                continue;
+            }
+            if ((minPrice == null || bucketMin >= minPrice) && (maxPrice == null || bucketMax <= maxPrice)) {
+                result.or(byPriceBucket[i]);
+                continue;
+            }
+            BitSet bucket = byPriceBucket[i];
+            for (int ordinal = bucket.nextSetBit(0); ordinal >= 0; ordinal = bucket.nextSetBit(ordinal + 1)) {
+                float price = prices[ordinal];
+                if ((minPrice == null || price >= minPrice) && (maxPrice == null || price <= maxPrice)) {
+                    result.set(ordinal);
+                }
+            }
+        }
+        return result;
+    }
+
+    private BitSet intersect(BitSet... filters) {
+        BitSet result = (BitSet) active.clone();
+        for (BitSet filter : filters) {
+            if (filter != null) {
+                result.and(filter);
+            }
+        }
+        return result;
+    }
+
+    private static long countAnd(BitSet base, BitSet other) {
+        BitSet result = (BitSet) base.clone();
+        result.and(other);
+        return result.cardinality();
+    }
+
+    private static Row toRow(Long id, String type, String gender, String sizes, float price) {
+        List<Size> sizeList = new ArrayList<>();
+        if (sizes != null && !sizes.isEmpty()) {
+            for (String size : sizes.split(",")) {
+                sizeList.add(Size.valueOf(size.trim()));
+            }
+        }
+        return new Row(id, ProductType.valueOf(type), Gender.valueOf(gender), sizeList, price);
+    }
+}
@@ -0,0 +1,23 @@
+package com.generic.rest.main.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "app.products.facets")
+public class ProductFacetProperties {
+
+    // Upper bounds of the price buckets; the last bucket is open-ended
+    private List<Float> priceBuckets = new ArrayList<>(List.of(25f, 50f, 100f, 200f));
+
+    public List<Float> getPriceBuckets() {
+        return priceBuckets;
+    }
+
+    public void setPriceBuckets(List<Float> priceBuckets) {
+        this.priceBuckets = priceBuckets;
+    }
+}
@@ -0,0 +1,177 @@
+package com.generic.rest.main.service;
+
+import com.generic.rest.main.dto.SearchCacheStatsDTO;
+import com.generic.rest.main.model.enums.Gender;
+import com.generic.rest.main.model.enums.ProductSort;
+import com.generic.rest.main.model.enums.ProductType;
+import com.generic.rest.main.model.enums.Size;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Ids of product listing pages, keyed by the normalized filters and page.
+ * <p>
+ * Entries belong to the {@link CatalogChangeLog#commitCount()} read before their search ran, and
+ * the whole cache is dropped once a catalog write commits, so a page never outlives a change
+ * that could move products in or out of it. The least recently used entries are evicted beyond
+ * {@code app.products.search-cache.max-entries}. Concurrent misses for the same key outside a
+ * transaction wait for the one search already running instead of repeating it.
+ */
+@Service
+public class ProductSearchCache {
+
+    private final ProductSearchCacheProperties properties;
+    private final CatalogChangeLog catalogChangeLog;
+
+    private final LinkedHashMap<Key, List<Long>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Key, Flight> inFlight = new ConcurrentHashMap<>();
+    private long generation;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    public ProductSearchCache(ProductSearchCacheProperties properties, CatalogChangeLog catalogChangeLog) {
+        this.properties = properties;
+        this.catalogChangeLog = catalogChangeLog;
+    }
+
+    public record Key(String name, ProductType type, Gender gender, Size productSize, Float minPrice, Float maxPrice,
+                      Long collectionId, ProductSort sort, int page, int size) {
+
+        // Name matching ignores case, and an empty name is no name filter at all
+        public static Key of(String name, ProductType type, Gender gender, Size productSize, Float minPrice,
+                             Float maxPrice, Long collectionId, ProductSort sort, int page, int size) {
+            String normalized = name == null || name.isEmpty() ? null : name.toLowerCase(Locale.ROOT);
+            return new Key(normalized, type, gender, productSize, minPrice, maxPrice, collectionId, sort, page, size);
+        }
+    }
+
+    private record Flight(long commits, CompletableFuture<List<Long>> result) {
+    }
+
+    /**
+     * Cached ids for {@code key}, or the result of {@code search}, which is cached.
+     */
+    public List<Long> get(Key key, Supplier<List<Long>> search) {
+        if (!properties.isEnabled()) {
+            return search.get();
+        }
+        long commits = catalogChangeLog.commitCount();
+        List<Long> cached = lookup(key, commits);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+
+        // Waiting while holding the only pooled connection would block the search being waited for
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            misses.incrementAndGet();
+            return store(key, commits, search.get());
+        }
+
+        Flight flight = new Flight(commits, new CompletableFuture<>());
+        Flight running = inFlight.putIfAbsent(key, flight);
+        if (running != null && running.commits() == commits) {
+            coalesced.incrementAndGet();
+            return await(running);
+        }
+        misses.incrementAndGet();
+        if (running != null) {
+            // Started before a catalog write this caller has to see
+            return store(key, commits, search.get());
+        }
+        try {
+            List<Long> ids = store(key, commits, search.get());
+            flight.result().complete(ids);
+            return ids;
+        } catch (RuntimeException | Error e) {
+            flight.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Drops the entry for {@code key}, for a caller that found its ids stale.
+     */
+    public synchronized void evict(Key key) {
+        entries.remove(key);
+    }
+
+    public SearchCacheStatsDTO getStats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long coalescedCount = coalesced.get();
+        long lookups = hitCount + missCount + coalescedCount;
+        int size;
+        synchronized (this) {
+            size = entries.size();
+        }
+        return new SearchCacheStatsDTO(
+                properties.isEnabled(),
+                size,
+                hitCount,
+                missCount,
+                coalescedCount,
+                lookups == 0 ? 0 : (double) hitCount / lookups
+        );
+    }
+
+    private synchronized List<Long> lookup(Key key, long commits) {
+        advance(commits);
+        return commits == generation ? entries.get(key) : null;
+    }
+
+    private synchronized List<Long> store(Key key, long commits, List<Long> ids) {
+        List<Long> result = List.copyOf(ids);
+        advance(commits);
+        // A search that started before the latest write may have missed it
+        if (commits != generation) {
+            return result;
+        }
+        entries.put(key, result);
+        Iterator<Map.Entry<Key, List<Long>>> eldest = entries.entrySet().iterator();
+        while (entries.size() > properties.getMaxEntries()) {
+            eldest.next();
+            eldest.remove();
+        }
+        return result;
+    }
+
+    private void advance(long commits) {
+        if (commits > generation) {
+            entries.clear();
+            generation = commits;
+        }
+    }
+
+    private static List<Long> await(Flight flight) {
+        try {
+            return flight.result().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a product search", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
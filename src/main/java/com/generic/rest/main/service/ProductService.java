@@ -1,172 +1,433 @@
 package com.generic.rest.main.service;
 
+import com.generic.rest.main.dto.BestsellerDTO;
+import com.generic.rest.main.dto.ProductBatchDTO;
 import com.generic.rest.main.dto.ProductDTO;
+import com.generic.rest.main.dto.ProductFacetsDTO;
 import com.generic.rest.main.dto.ProductImageDTO;
+import com.generic.rest.main.dto.ProductStockDTO;
+import com.generic.rest.main.dto.SuggestionDTO;
 import com.generic.rest.main.model.Collection;
 import com.generic.rest.main.model.Product;
 import com.generic.rest.main.model.ProductImage;
+import com.generic.rest.main.model.enums.Gender;
+import com.generic.rest.main.model.enums.ProductSort;
 import com.generic.rest.main.model.enums.ProductType;
+import com.generic.rest.main.model.enums.Size;
 import com.generic.rest.main.repository.CollectionRepository;
 import com.generic.rest.main.repository.ProductRepository;
-import org.springframework.data.domain.Page;
+import com.generic.rest.main.repository.ProductSpecifications;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class ProductService {
 
+    private static final int MAX_SUGGESTIONS = 20;
+    private static final int MAX_LISTING_ATTEMPTS = 3;
+
     private final ProductRepository productRepository;
     private final CollectionRepository collectionRepository;
+    private final StockService stockService;
+    private final WriteScheduler writeScheduler;
+    private final BestsellerService bestsellerService;
+    private final CatalogChangeLog catalogChangeLog;
+    private final ProductFacetIndex productFacetIndex;
+    private final ProductColumnStore productColumnStore;
+    private final ProductColumnProperties productColumnProperties;
+    private final SuggestIndex suggestIndex;
+    private final FuzzySearchIndex fuzzySearchIndex;
+    private final FuzzySearchProperties fuzzySearchProperties;
+    private final ProductSearchCache productSearchCache;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ProductBatchProperties productBatchProperties;
+    private final ProductViews productViews;
 
-    public ProductService(ProductRepository productRepository, CollectionRepository collectionRepository) {
+    public ProductService(ProductRepository productRepository, CollectionRepository collectionRepository,
+                          StockService stockService, WriteScheduler writeScheduler,
+                          BestsellerService bestsellerService, CatalogChangeLog catalogChangeLog,
+                          ProductFacetIndex productFacetIndex, ProductColumnStore productColumnStore,
+                          ProductColumnProperties productColumnProperties, SuggestIndex suggestIndex,
+                          FuzzySearchIndex fuzzySearchIndex, FuzzySearchProperties fuzzySearchProperties,
+                          ProductSearchCache productSearchCache, PlatformTransactionManager transactionManager,
+                          ProductBatchProperties productBatchProperties, ProductViews productViews) {
         this.productRepository = productRepository;
         this.collectionRepository = collectionRepository;
+        this.stockService = stockService;
+        this.writeScheduler = writeScheduler;
+        this.bestsellerService = bestsellerService;
+        this.catalogChangeLog = catalogChangeLog;
+        this.productFacetIndex = productFacetIndex;
+        this.productColumnStore = productColumnStore;
+        this.productColumnProperties = productColumnProperties;
+        this.suggestIndex = suggestIndex;
+        this.fuzzySearchIndex = fuzzySearchIndex;
+        this.fuzzySearchProperties = fuzzySearchProperties;
+        this.productSearchCache = productSearchCache;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.productBatchProperties = productBatchProperties;
+        this.productViews = productViews;
     }
 
-    @Transactional(readOnly = true)
-    public List<ProductDTO> listProducts(String name, ProductType type, Float minPrice, Float maxPrice, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Product> productPage = productRepository.findActiveWithFilters(name, type, minPrice, maxPrice, pageable);
-
-        return productPage.getContent().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    /**
+     * One page of active products; ids of popular pages come from {@link ProductSearchCache}, the
+     * products themselves are always read fresh. A page naming products that are gone is searched
+     * again, at most {@code MAX_LISTING_ATTEMPTS} times in all.
+     */
+    public List<ProductDTO> listProducts(String name, ProductType type, Gender gender, Size productSize,
+                                         Float minPrice, Float maxPrice, Long collectionId, ProductSort sort,
+                                         int page, int size, FieldSelection fields) {
+        ProductSearchCache.Key key = ProductSearchCache.Key.of(name, type, gender, productSize, minPrice, maxPrice,
+                collectionId, sort, page, size);
+        for (int attempt = 1; attempt < MAX_LISTING_ATTEMPTS; attempt++) {
+            // Searched outside the caller's transaction so concurrent identical misses can share one search
+            List<Long> ids = productSearchCache.get(key, () -> readOnlyTransaction.execute(status -> searchIds(key)));
+            List<ProductDTO> products = readOnlyTransaction.execute(status -> loadInOrder(ids, fields));
+            if (products.size() == ids.size()) {
+                return products;
+            }
+            productSearchCache.evict(key);
+        }
+        // Products keep disappearing under the cache: search without it and return what is still there
+        return readOnlyTransaction.execute(status -> loadInOrder(searchIds(key), fields));
     }
 
-    @Transactional(readOnly = true)
-    public ProductDTO getProduct(Long id) {
-        Product product = productRepository.findByIdActive(id)
-                .orElseThrow(() -> new RuntimeException("Product not found or has been deleted"));
-        return mapToResponse(product);
+    // Skips products that are gone, which a columnar hit or a cached page can still name
+    private List<ProductDTO> loadInOrder(List<Long> ids, FieldSelection fields) {
+        Map<Long, ProductDTO> products = productViews.findActive(ids, fields).stream()
+                .collect(Collectors.toMap(ProductDTO::getId, Function.identity()));
+        if (products.size() != ids.size()) {
+            // Deleted since the store last caught up, or removed without a catalog change
+            productColumnStore.evict(ids.stream().filter(id -> !products.containsKey(id)).toList());
+        }
+        return ids.stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 
-    @Transactional
-    public ProductDTO createProduct(ProductDTO request) {
-        validateOnlyOneMainImage(request.getImages());
-
-        Product product = new Product(
-                request.getName(),
-                request.getDescription(),
-                request.getNote(),
-                request.getFabricDetails(),
-                request.getType(),
-                request.getGender(),
-                request.getPrice(),
-                request.getSizes()
-        );
+    private List<Long> searchIds(ProductSearchCache.Key key) {
+        if (productColumnProperties.isEnabled() && key.name() == null && key.collectionId() == null) {
+            return productColumnStore.select(new ProductColumnStore.Filter(key.type(), key.gender(), key.productSize(),
+                    key.minPrice(), key.maxPrice()), key.sort(), key.page(), key.size());
+        }
 
-        for (ProductImageDTO imageDto : request.getImages()) {
-            ProductImage image = new ProductImage(product, imageDto.getUrl(), imageDto.getIsMain());
-            product.addImage(image);
+        // Only supplied filters become predicates, so each combination gets a plan using its index
+        Specification<Product> filter = ProductSpecifications.active();
+        if (key.type() != null) {
+            filter = filter.and(ProductSpecifications.hasType(key.type()));
+        }
+        if (key.gender() != null) {
+            filter = filter.and(ProductSpecifications.hasGender(key.gender()));
+        }
+        if (key.productSize() != null) {
+            filter = filter.and(ProductSpecifications.hasSize(key.productSize()));
+        }
+        if (key.minPrice() != null) {
+            filter = filter.and(ProductSpecifications.priceAtLeast(key.minPrice()));
+        }
+        if (key.maxPrice() != null) {
+            filter = filter.and(ProductSpecifications.priceAtMost(key.maxPrice()));
+        }
+        if (key.collectionId() != null) {
+            filter = filter.and(ProductSpecifications.inCollection(key.collectionId()));
         }
 
-        // Handle collections
-        if (request.getCollectionIds() != null && !request.getCollectionIds().isEmpty()) {
-            List<Collection> collections = collectionRepository.findAllById(request.getCollectionIds());
-            if (collections.size() != request.getCollectionIds().size()) {
-                throw new RuntimeException("One or more collections not found");
-            }
+        // Only ids are selected; the page's products are loaded afterwards
+        Pageable pageable = PageRequest.of(key.page(), key.size(), toSort(key.sort()));
+        if (key.name() == null) {
+            return productRepository.findIds(filter, pageable);
+        }
 
-            // Validate that collections don't have products in both parent and subcollection
-            validateCollectionHierarchy(collections);
+        Specification<Product> byName = filter.and(ProductSpecifications.nameContains(key.name()));
+        if (fuzzySearchProperties.isEnabled() && productRepository.count(byName) < fuzzySearchProperties.getMinExactHits()) {
+            return withFuzzyMatches(byName, filter, key);
+        }
+        return productRepository.findIds(byName, pageable);
+    }
 
-            for (Collection collection : collections) {
-                collection.addProduct(product);
+    // Exact matches first, then close matches by relevance, paged together
+    private List<Long> withFuzzyMatches(Specification<Product> byName, Specification<Product> filter,
+                                        ProductSearchCache.Key key) {
+        List<Long> matches = new ArrayList<>(productRepository.findIds(byName, Pageable.unpaged(toSort(key.sort()))));
+        List<Long> ranked = fuzzySearchIndex.search(key.name());
+        if (!ranked.isEmpty()) {
+            Set<Long> close = new HashSet<>(productRepository.findIds(filter.and(ProductSpecifications.idIn(ranked)),
+                    Pageable.unpaged()));
+            matches.forEach(close::remove);
+            for (Long id : ranked) {
+                if (close.contains(id)) {
+                    matches.add(id);
+                }
             }
         }
 
-        Product savedProduct = productRepository.save(product);
-        return mapToResponse(savedProduct);
+        long from = (long) key.page() * key.size();
+        if (from >= matches.size()) {
+            return List.of();
+        }
+        return matches.subList((int) from, (int) Math.min(matches.size(), from + key.size()));
     }
 
-    @Transactional
-    public ProductDTO editProduct(Long id, ProductDTO request) {
-        Product product = productRepository.findByIdActive(id)
-                .orElseThrow(() -> new RuntimeException("Product not found or has been deleted"));
-
-        if (request.getName() != null) {
-            product.setName(request.getName());
-        }
-        if (request.getDescription() != null) {
-            product.setDescription(request.getDescription());
-        }
-        if (request.getNote() != null) {
-            product.setNote(request.getNote());
-        }
-        if (request.getFabricDetails() != null) {
-            product.setFabricDetails(request.getFabricDetails());
+    private static Sort toSort(ProductSort sort) {
+        if (sort == null) {
+            return Sort.unsorted();
         }
-        if (request.getType() != null) {
-            product.setType(request.getType());
+        Sort.Direction direction = sort == ProductSort.PRICE_ASC ? Sort.Direction.ASC : Sort.Direction.DESC;
+        return Sort.by(direction, "price").and(Sort.by("id"));
+    }
+
+    /**
+     * Active products among the given ids; ids of missing or deleted products are skipped.
+     */
+    @Transactional(readOnly = true)
+    public List<ProductDTO> getProducts(List<Long> ids) {
+        return productViews.findActive(ids, FieldSelection.all());
+    }
+
+    /**
+     * The active products among {@code ids} in request order, in three queries whatever their
+     * number: one for the products, one for their images and one for their collection ids. Either
+     * association is skipped when not selected.
+     */
+    @Transactional(readOnly = true)
+    public ProductBatchDTO getProductBatch(List<Long> ids, FieldSelection fields) {
+        List<Long> requested = List.copyOf(new LinkedHashSet<>(ids));
+        if (requested.isEmpty() || requested.size() > productBatchProperties.getMaxIds()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Between 1 and " + productBatchProperties.getMaxIds() + " product ids are required");
         }
-        if (request.getGender() != null) {
-            product.setGender(request.getGender());
+
+        Map<Long, ProductDTO> products = productViews.findActive(requested, fields).stream()
+                .collect(Collectors.toMap(ProductDTO::getId, Function.identity()));
+
+        List<ProductDTO> found = new ArrayList<>(products.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : requested) {
+            ProductDTO product = products.get(id);
+            if (product == null) {
+                missing.add(id);
+            } else {
+                found.add(product);
+            }
         }
-        if (request.getPrice() != null) {
-            product.setPrice(request.getPrice());
+        return new ProductBatchDTO(found, missing);
+    }
+
+    // Served from memory; only touches the database to catch up after catalog writes
+    public ProductFacetsDTO getFacets(ProductType type, Gender gender, Size productSize, Float minPrice, Float maxPrice) {
+        return productFacetIndex.count(new ProductFacetIndex.Query(type, gender, productSize, minPrice, maxPrice));
+    }
+
+    // Served from memory; only touches the database to catch up after catalog writes
+    public List<SuggestionDTO> suggest(String query, int limit) {
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + MAX_SUGGESTIONS);
         }
-        if (request.getSizes() != null && !request.getSizes().isEmpty()) {
-            product.setSizesList(request.getSizes());
+        return suggestIndex.suggest(query, limit);
+    }
+
+    // Served from memory without touching the database
+    public List<BestsellerDTO> getBestsellers(ProductType type, Gender gender, int limit) {
+        if (limit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be positive");
         }
-        if (request.getImages() != null) {
+        return bestsellerService.getBestsellers(type, gender, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public ProductDTO getProduct(Long id, FieldSelection fields) {
+        Product product = productRepository.findByIdActive(id)
+                .orElseThrow(() -> new RuntimeException("Product not found or has been deleted"));
+        return mapToResponse(product, fields);
+    }
+
+    public ProductDTO createProduct(ProductDTO request) {
+        return writeScheduler.execute(() -> {
             validateOnlyOneMainImage(request.getImages());
 
-            // Clear existing images and add new ones
-            product.getImages().clear();
+            Product product = new Product(
+                    request.getName(),
+                    request.getDescription(),
+                    request.getNote(),
+                    request.getFabricDetails(),
+                    request.getType(),
+                    request.getGender(),
+                    request.getPrice(),
+                    request.getSizes()
+            );
+
             for (ProductImageDTO imageDto : request.getImages()) {
                 ProductImage image = new ProductImage(product, imageDto.getUrl(), imageDto.getIsMain());
                 product.addImage(image);
             }
-        }
 
-        // Handle collections update
-        if (request.getCollectionIds() != null) {
-            // Remove product from all current collections
-            List<Collection> currentCollections = new ArrayList<>(product.getCollections());
-            for (Collection collection : currentCollections) {
-                collection.removeProduct(product);
-            }
-            product.getCollections().clear();
-
-            // Add product to new collections
-            if (!request.getCollectionIds().isEmpty()) {
-                List<Collection> newCollections = collectionRepository.findAllById(request.getCollectionIds());
-                if (newCollections.size() != request.getCollectionIds().size()) {
+            // Handle collections
+            if (request.getCollectionIds() != null && !request.getCollectionIds().isEmpty()) {
+                List<Collection> collections = collectionRepository.findAllById(request.getCollectionIds());
+                if (collections.size() != request.getCollectionIds().size()) {
                     throw new RuntimeException("One or more collections not found");
                 }
 
                 // Validate that collections don't have products in both parent and subcollection
-                validateCollectionHierarchy(newCollections);
+                validateCollectionHierarchy(collections);
 
-                for (Collection collection : newCollections) {
+                for (Collection collection : collections) {
                     collection.addProduct(product);
                 }
             }
-        }
 
-        Product updatedProduct = productRepository.save(product);
-        return mapToResponse(updatedProduct);
+            Product savedProduct = productRepository.save(product);
+            catalogChangeLog.productsChanged(List.of(savedProduct.getId()));
+            if (request.getCollectionIds() != null) {
+                catalogChangeLog.collectionsChanged(request.getCollectionIds());
+            }
+            return mapToResponse(savedProduct);
+        });
+    }
+
+    public ProductDTO editProduct(Long id, ProductDTO request) {
+        return writeScheduler.execute(() -> {
+            Product product = productRepository.findByIdActive(id)
+                    .orElseThrow(() -> new RuntimeException("Product not found or has been deleted"));
+
+            if (request.getName() != null) {
+                product.setName(request.getName());
+            }
+            if (request.getDescription() != null) {
+                product.setDescription(request.getDescription());
+            }
+            if (request.getNote() != null) {
+                product.setNote(request.getNote());
+            }
+            if (request.getFabricDetails() != null) {
+                product.setFabricDetails(request.getFabricDetails());
+            }
+            if (request.getType() != null) {
+                product.setType(request.getType());
+            }
+            if (request.getGender() != null) {
+                product.setGender(request.getGender());
+            }
+            if (request.getPrice() != null) {
+                product.setPrice(request.getPrice());
+            }
+            if (request.getSizes() != null && !request.getSizes().isEmpty()) {
+                product.setSizesList(request.getSizes());
+            }
+            if (request.getImages() != null) {
+                validateOnlyOneMainImage(request.getImages());
+
+                // Clear existing images and add new ones
+                product.getImages().clear();
+                for (ProductImageDTO imageDto : request.getImages()) {
+                    ProductImage image = new ProductImage(product, imageDto.getUrl(), imageDto.getIsMain());
+                    product.addImage(image);
+                }
+            }
+
+            // Handle collections update
+            if (request.getCollectionIds() != null) {
+                // Remove product from all current collections
+                List<Collection> currentCollections = new ArrayList<>(product.getCollections());
+                catalogChangeLog.collectionsChanged(product.getCollectionIds());
+                catalogChangeLog.collectionsChanged(request.getCollectionIds());
+                for (Collection collection : currentCollections) {
+                    collection.removeProduct(product);
+                }
+                product.getCollections().clear();
+
+                // Add product to new collections
+                if (!request.getCollectionIds().isEmpty()) {
+                    List<Collection> newCollections = collectionRepository.findAllById(request.getCollectionIds());
+                    if (newCollections.size() != request.getCollectionIds().size()) {
+                        throw new RuntimeException("One or more collections not found");
+                    }
+
+                    // Validate that collections don't have products in both parent and subcollection
+                    validateCollectionHierarchy(newCollections);
+
+                    for (Collection collection : newCollections) {
+                        collection.addProduct(product);
+                    }
+                }
+            }
+
+            Product updatedProduct = productRepository.save(product);
+            catalogChangeLog.productsChanged(List.of(id));
+            return mapToResponse(updatedProduct);
+        });
     }
 
-    @Transactional
     public void deleteProduct(Long id) {
+        writeScheduler.run(() -> {
+            Product product = productRepository.findByIdActive(id)
+                    .orElseThrow(() -> new RuntimeException("Product not found or has been deleted"));
+            product.setDeletedAt(LocalDateTime.now());
+            productRepository.save(product);
+            catalogChangeLog.productsChanged(List.of(id));
+            bestsellerService.forget(List.of(id));
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public ProductStockDTO getStock(Long id) {
         Product product = productRepository.findByIdActive(id)
-                .orElseThrow(() -> new RuntimeException("Product not found or has been deleted"));
-        product.setDeletedAt(LocalDateTime.now());
-        productRepository.save(product);
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found or has been deleted"));
+        return new ProductStockDTO(product.getId(), stockService.getStock(product.getId()));
+    }
+
+    @Transactional
+    public ProductStockDTO setStock(Long id, ProductStockDTO request) {
+        Product product = productRepository.findByIdActive(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found or has been deleted"));
+
+        List<Size> sizes = product.getSizesList();
+        for (Map.Entry<Size, Integer> entry : request.getStock().entrySet()) {
+            if (!sizes.contains(entry.getKey())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Size " + entry.getKey() + " is not available for product: " + id);
+            }
+            if (entry.getValue() == null || entry.getValue() < 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Stock must be zero or positive");
+            }
+        }
+
+        stockService.setStock(product.getId(), request.getStock());
+        return new ProductStockDTO(product.getId(), stockService.getStock(product.getId()));
     }
 
     private ProductDTO mapToResponse(Product product) {
-        List<ProductImageDTO> imageDtos = product.getImages().stream()
-                .map(img -> new ProductImageDTO(img.getUrl(), img.getIsMain()))
-                .collect(Collectors.toList());
+        return mapToResponse(product, FieldSelection.all());
+    }
+
+    // Associations that are not selected stay unloaded; the scalar columns are read anyway
+    private ProductDTO mapToResponse(Product product, FieldSelection fields) {
+        List<ProductImageDTO> imageDtos = fields.includes("images")
+                ? product.getImages().stream()
+                        .map(img -> new ProductImageDTO(img.getUrl(), img.getIsMain()))
+                        .collect(Collectors.toList())
+                : null;
 
         return new ProductDTO(
                 product.getId(),
@@ -179,7 +440,7 @@ public class ProductService {
                 product.getPrice(),
                 product.getSizesList(),
                 imageDtos,
-                product.getCollectionIds()
+                fields.includes("collectionIds") ? product.getCollectionIds() : null
         );
     }
 
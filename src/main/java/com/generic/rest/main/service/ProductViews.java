@@ -0,0 +1,68 @@
+package com.generic.rest.main.service;
+
+import com.generic.rest.main.dto.ProductDTO;
+import com.generic.rest.main.dto.ProductImageDTO;
+import com.generic.rest.main.repository.ProductRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds {@link ProductDTO}s from projection queries instead of product entities: one query for
+ * the scalar columns, then one per selected association for each chunk of products. Nothing
+ * read here enters the persistence context.
+ */
+@Service
+public class ProductViews {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final ProductRepository productRepository;
+
+    public ProductViews(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    /**
+     * The active products among {@code ids}, in no particular order.
+     */
+    public List<ProductDTO> findActive(List<Long> ids, FieldSelection fields) {
+        List<ProductDTO> products = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            products.addAll(productRepository.findActiveViewsByIdIn(ids.subList(from, Math.min(ids.size(), from + CHUNK_SIZE))));
+        }
+        return withAssociations(products, fields);
+    }
+
+    public List<ProductDTO> findInCollection(Long collectionId, FieldSelection fields) {
+        return withAssociations(productRepository.findViewsByCollectionId(collectionId), fields);
+    }
+
+    private List<ProductDTO> withAssociations(List<ProductDTO> products, FieldSelection fields) {
+        boolean images = fields.includes("images");
+        boolean collectionIds = fields.includes("collectionIds");
+        for (int from = 0; from < products.size() && (images || collectionIds); from += CHUNK_SIZE) {
+            Map<Long, ProductDTO> chunk = new HashMap<>();
+            for (ProductDTO product : products.subList(from, Math.min(products.size(), from + CHUNK_SIZE))) {
+                chunk.put(product.getId(), product);
+                product.setImages(images ? new ArrayList<>() : null);
+                product.setCollectionIds(collectionIds ? new ArrayList<>() : null);
+            }
+            List<Long> ids = new ArrayList<>(chunk.keySet());
+            if (images) {
+                for (Object[] row : productRepository.findImagesByProductIdIn(ids)) {
+                    chunk.get((Long) row[0]).getImages().add(new ProductImageDTO((String) row[1], (Boolean) row[2]));
+                }
+            }
+            if (collectionIds) {
+                for (Object[] row : productRepository.findCollectionIdsByProductIdIn(ids)) {
+                    chunk.get((Long) row[0]).getCollectionIds().add((Long) row[1]);
+                }
+            }
+        }
+        return products;
+    }
+}
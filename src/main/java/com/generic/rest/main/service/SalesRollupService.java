@@ -0,0 +1,257 @@
+package com.generic.rest.main.service;
+
+import com.generic.rest.main.dto.CategorySalesDTO;
+import com.generic.rest.main.dto.DailySalesDTO;
+import com.generic.rest.main.dto.ProductSalesDTO;
+import com.generic.rest.main.model.enums.Gender;
+import com.generic.rest.main.model.enums.ProductType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sales rollups per day: totals, per product and per (gender, type).
+ * <p>
+ * {@link #recordOrders(List)} and {@link #removeOrders(List)} must be called in the transaction
+ * that writes or deletes the orders, so the rollups change exactly when the orders do. Sales
+ * are attributed to the day the order was created and to the gender and type snapshotted on the
+ * order line, so removing an order takes its units out of the category they were added to.
+ * Lines without a snapshot, and the bestseller counters, use the product's current category.
+ * {@link #rebuild()} recomputes everything from the order tables.
+ */
+@Service
+public class SalesRollupService {
+
+    private static final int BATCH_SIZE = 100;
+    private static final int CHUNK_SIZE = 500;
+
+    private static final String UPSERT_DAILY =
+            "INSERT INTO sales_daily (day, orders, units, revenue) VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT (day) DO UPDATE SET orders = orders + excluded.orders, " +
+            "units = units + excluded.units, revenue = revenue + excluded.revenue";
+
+    private static final String UPSERT_PRODUCT =
+            "INSERT INTO sales_product_daily (day, product_id, units, revenue) VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT (day, product_id) DO UPDATE SET " +
+            "units = units + excluded.units, revenue = revenue + excluded.revenue";
+
+    private static final String UPSERT_CATEGORY =
+            "INSERT INTO sales_category_daily (day, gender, type, units, revenue) VALUES (?, ?, ?, ?, ?) " +
+            "ON CONFLICT (day, gender, type) DO UPDATE SET " +
+            "units = units + excluded.units, revenue = revenue + excluded.revenue";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BestsellerService bestsellerService;
+
+    public SalesRollupService(JdbcTemplate jdbcTemplate, BestsellerService bestsellerService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.bestsellerService = bestsellerService;
+    }
+
+    public record Sale(LocalDateTime createdAt, List<SaleLine> lines) {
+    }
+
+    /**
+     * @param gender the product's gender when ordered, or null to use its current one
+     * @param type   the product's type when ordered, or null to use its current one
+     */
+    public record SaleLine(Long productId, Gender gender, ProductType type, int quantity, float priceAtPurchase) {
+    }
+
+    private record Category(Gender gender, ProductType type) {
+    }
+
+    private record DayProduct(String day, Long productId) {
+    }
+
+    private record DayCategory(String day, Category category) {
+    }
+
+    private static final class Totals {
+        private long orders;
+        private long units;
+        private double revenue;
+
+        private void add(long orders, long units, double revenue) {
+            this.orders += orders;
+            this.units += units;
+            this.revenue += revenue;
+        }
+    }
+
+    public void recordOrders(List<Sale> sales) {
+        bestsellerService.record(apply(sales, 1));
+    }
+
+    public void removeOrders(List<Sale> sales) {
+        bestsellerService.record(apply(sales, -1));
+    }
+
+    /**
+     * Recomputes every rollup from {@code orders} and {@code order_products}.
+     *
+     * @return the number of orders that were rolled up
+     */
+    @Transactional
+    public int rebuild() {
+        Map<Long, Sale> sales = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT o.id, o.created_at, op.product_id, op.product_gender, op.product_type, op.quantity, " +
+                "op.price_at_purchase " +
+                "FROM orders o LEFT JOIN order_products op ON op.order_id = o.id",
+                rs -> {
+                    Long orderId = rs.getLong("id");
+                    LocalDateTime createdAt = rs.getTimestamp("created_at").toLocalDateTime();
+                    Sale sale = sales.computeIfAbsent(orderId, id -> new Sale(createdAt, new ArrayList<>()));
+                    long productId = rs.getLong("product_id");
+                    if (!rs.wasNull()) {
+                        String gender = rs.getString("product_gender");
+                        String type = rs.getString("product_type");
+                        sale.lines().add(new SaleLine(productId, gender != null ? Gender.valueOf(gender) : null,
+                                type != null ? ProductType.valueOf(type) : null, rs.getInt("quantity"),
+                                rs.getFloat("price_at_purchase")));
+                    }
+                });
+
+        jdbcTemplate.update("DELETE FROM sales_daily");
+        jdbcTemplate.update("DELETE FROM sales_product_daily");
+        jdbcTemplate.update("DELETE FROM sales_category_daily");
+        apply(new ArrayList<>(sales.values()), 1);
+        return sales.size();
+    }
+
+    @Transactional(readOnly = true)
+    public List<DailySalesDTO> getDailySales(LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(
+                "SELECT day, orders, units, revenue FROM sales_daily WHERE day BETWEEN ? AND ? ORDER BY day",
+                (rs, rowNum) -> new DailySalesDTO(LocalDate.parse(rs.getString("day")), rs.getLong("orders"),
+                        rs.getLong("units"), rs.getDouble("revenue")),
+                from.toString(), to.toString());
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProductSalesDTO> getProductSales(LocalDate from, LocalDate to, int limit) {
+        return jdbcTemplate.query(
+                "SELECT product_id, SUM(units) AS units, SUM(revenue) AS revenue FROM sales_product_daily " +
+                "WHERE day BETWEEN ? AND ? GROUP BY product_id HAVING SUM(units) <> 0 " +
+                "ORDER BY revenue DESC, product_id LIMIT ?",
+                (rs, rowNum) -> new ProductSalesDTO(rs.getLong("product_id"), rs.getLong("units"), rs.getDouble("revenue")),
+                from.toString(), to.toString(), limit);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CategorySalesDTO> getCategorySales(LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(
+                "SELECT gender, type, SUM(units) AS units, SUM(revenue) AS revenue FROM sales_category_daily " +
+                "WHERE day BETWEEN ? AND ? GROUP BY gender, type HAVING SUM(units) <> 0 " +
+                "ORDER BY revenue DESC, gender, type",
+                (rs, rowNum) -> new CategorySalesDTO(Gender.valueOf(rs.getString("gender")),
+                        ProductType.valueOf(rs.getString("type")), rs.getLong("units"), rs.getDouble("revenue")),
+                from.toString(), to.toString());
+    }
+
+    /**
+     * @return units sold per product, for the bestseller counters
+     */
+    private List<BestsellerService.UnitsSold> apply(List<Sale> sales, int sign) {
+        if (sales.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Category> currentCategories = loadCategories(sales);
+
+        // Aggregate in memory first so each rollup row is written once per call
+        Map<String, Totals> daily = new HashMap<>();
+        Map<DayProduct, Totals> perProduct = new HashMap<>();
+        Map<DayCategory, Totals> perCategory = new HashMap<>();
+        Map<Long, Long> unitsPerProduct = new HashMap<>();
+        for (Sale sale : sales) {
+            String day = sale.createdAt().toLocalDate().toString();
+            Totals dayTotals = daily.computeIfAbsent(day, d -> new Totals());
+            dayTotals.add(sign, 0, 0);
+            for (SaleLine line : sale.lines()) {
+                long units = (long) sign * line.quantity();
+                double revenue = sign * (double) line.priceAtPurchase() * line.quantity();
+                dayTotals.add(0, units, revenue);
+                perProduct.computeIfAbsent(new DayProduct(day, line.productId()), k -> new Totals()).add(0, units, revenue);
+                unitsPerProduct.merge(line.productId(), units, Long::sum);
+                Category category = line.gender() != null && line.type() != null
+                        ? new Category(line.gender(), line.type())
+                        : currentCategories.get(line.productId());
+                if (category != null) {
+                    perCategory.computeIfAbsent(new DayCategory(day, category), k -> new Totals()).add(0, units, revenue);
+                }
+            }
+        }
+
+        jdbcTemplate.batchUpdate(UPSERT_DAILY, new ArrayList<>(daily.entrySet()), BATCH_SIZE, (ps, entry) -> {
+            ps.setString(1, entry.getKey());
+            ps.setLong(2, entry.getValue().orders);
+            ps.setLong(3, entry.getValue().units);
+            ps.setDouble(4, entry.getValue().revenue);
+        });
+        jdbcTemplate.batchUpdate(UPSERT_PRODUCT, new ArrayList<>(perProduct.entrySet()), BATCH_SIZE, (ps, entry) -> {
+            ps.setString(1, entry.getKey().day());
+            ps.setLong(2, entry.getKey().productId());
+            ps.setLong(3, entry.getValue().units);
+            ps.setDouble(4, entry.getValue().revenue);
+        });
+        jdbcTemplate.batchUpdate(UPSERT_CATEGORY, new ArrayList<>(perCategory.entrySet()), BATCH_SIZE, (ps, entry) -> {
+            ps.setString(1, entry.getKey().day());
+            ps.setString(2, entry.getKey().category().gender().name());
+            ps.setString(3, entry.getKey().category().type().name());
+            ps.setLong(4, entry.getValue().units);
+            ps.setDouble(5, entry.getValue().revenue);
+        });
+
+        List<BestsellerService.UnitsSold> unitsSold = new ArrayList<>();
+        // Bestseller counters are per product and listed under its current category
+        unitsPerProduct.forEach((productId, units) -> {
+            Category category = currentCategories.get(productId);
+            if (category != null) {
+                unitsSold.add(new BestsellerService.UnitsSold(productId, category.type(), category.gender(), units));
+            }
+        });
+        return unitsSold;
+    }
+
+    private Map<Long, Category> loadCategories(List<Sale> sales) {
+        Set<Long> productIds = new HashSet<>();
+        for (Sale sale : sales) {
+            for (SaleLine line : sale.lines()) {
+                productIds.add(line.productId());
+            }
+        }
+        Map<Long, Category> categories = new HashMap<>();
+        if (productIds.isEmpty()) {
+            return categories;
+        }
+        List<Long> ids = new ArrayList<>(productIds);
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + CHUNK_SIZE));
+            // Orders can outlive their products in the hot table, see ProductArchiveService
+            String in = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            Object[] args = new Object[chunk.size() * 2];
+            System.arraycopy(chunk.toArray(), 0, args, 0, chunk.size());
+            System.arraycopy(chunk.toArray(), 0, args, chunk.size(), chunk.size());
+            jdbcTemplate.query(
+                    "SELECT id, gender, type FROM products WHERE id IN (" + in + ") " +
+                    "UNION ALL SELECT id, gender, type FROM products_archive WHERE id IN (" + in + ")",
+                    rs -> {
+                        categories.put(rs.getLong("id"), new Category(Gender.valueOf(rs.getString("gender")),
+                                ProductType.valueOf(rs.getString("type"))));
+                    },
+                    args);
+        }
+        return categories;
+    }
+}
@@ -0,0 +1,97 @@
+package com.generic.rest.main.service;
+
+import com.generic.rest.main.model.Collection;
+import com.generic.rest.main.model.Product;
+import com.generic.rest.main.model.ProductImage;
+import com.generic.rest.main.model.User;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level cache for the catalog and users, backed by Caffeine through JCache.
+ * <p>
+ * Every region is created here, sized from {@code app.second-level-cache}, and Hibernate is told
+ * to fail rather than create one with unbounded defaults. Each application context gets its own
+ * cache manager, since each has its own database.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    // Named in the query hints of CollectionRepository and UserRepository
+    public static final String COLLECTION_QUERIES = "collection-queries";
+    public static final String USER_QUERIES = "user-queries";
+
+    static final List<String> ENTITY_REGIONS = List.of(
+            Product.class.getName(),
+            ProductImage.class.getName(),
+            Collection.class.getName(),
+            User.class.getName(),
+            Product.class.getName() + ".images",
+            Product.class.getName() + ".collections",
+            Collection.class.getName() + ".products",
+            Collection.class.getName() + ".subcollections"
+    );
+
+    static final List<String> QUERY_REGIONS = List.of(
+            RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+            COLLECTION_QUERIES,
+            USER_QUERIES
+    );
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(SecondLevelCacheProperties properties) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("second-level-cache-" + UUID.randomUUID()), getClass().getClassLoader());
+        for (String region : ENTITY_REGIONS) {
+            cacheManager.createCache(region, configuration(properties.getMaxEntries(), properties));
+        }
+        for (String region : QUERY_REGIONS) {
+            cacheManager.createCache(region, configuration(properties.getQueryMaxEntries(), properties));
+        }
+        // Evicting or expiring a table's timestamp could let a stale query result through
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(SecondLevelCacheProperties properties,
+                                                                   CacheManager secondLevelCacheManager) {
+        return hibernateProperties -> {
+            if (!properties.isEnabled()) {
+                hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+                hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, false);
+                return;
+            }
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            // Region statistics are only collected with Hibernate statistics on
+            hibernateProperties.putIfAbsent(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> configuration(int maxEntries,
+                                                                       SecondLevelCacheProperties properties) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(properties.getExpireAfterWriteSeconds())));
+        return configuration;
+    }
+}
@@ -0,0 +1,46 @@
+package com.generic.rest.main.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.second-level-cache")
+public class SecondLevelCacheProperties {
+
+    private boolean enabled = true;
+    private int maxEntries = 10000;
+    private int queryMaxEntries = 1000;
+    private long expireAfterWriteSeconds = 3600;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public int getQueryMaxEntries() {
+        return queryMaxEntries;
+    }
+
+    public void setQueryMaxEntries(int queryMaxEntries) {
+        this.queryMaxEntries = queryMaxEntries;
+    }
+
+    public long getExpireAfterWriteSeconds() {
+        return expireAfterWriteSeconds;
+    }
+
+    public void setExpireAfterWriteSeconds(long expireAfterWriteSeconds) {
+        this.expireAfterWriteSeconds = expireAfterWriteSeconds;
+    }
+}
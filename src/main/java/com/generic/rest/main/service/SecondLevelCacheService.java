@@ -0,0 +1,100 @@
+package com.generic.rest.main.service;
+
+import com.generic.rest.main.dto.CacheRegionStatsDTO;
+import com.generic.rest.main.dto.SecondLevelCacheStatsDTO;
+import com.generic.rest.main.model.Collection;
+import com.generic.rest.main.model.Product;
+import com.generic.rest.main.model.ProductImage;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Statistics of the Hibernate second-level cache, and eviction for writes that bypass Hibernate.
+ * Writes made through Hibernate keep the cache up to date on their own.
+ */
+@Service
+public class SecondLevelCacheService {
+
+    private final SecondLevelCacheProperties properties;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public SecondLevelCacheService(SecondLevelCacheProperties properties, EntityManagerFactory entityManagerFactory) {
+        this.properties = properties;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Evicts products removed with plain SQL, along with their images and the collections that
+     * held them, once the current transaction commits, or right away outside a transaction.
+     */
+    public void evictRemovedProducts(List<Long> productIds, List<Long> collectionIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<Long> products = List.copyOf(productIds);
+            List<Long> collections = List.copyOf(collectionIds);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(products, collections);
+                }
+            });
+        } else {
+            evict(productIds, collectionIds);
+        }
+    }
+
+    public SecondLevelCacheStatsDTO getStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<CacheRegionStatsDTO> regions = new ArrayList<>();
+        if (properties.isEnabled()) {
+            for (String name : Stream.concat(SecondLevelCacheConfig.ENTITY_REGIONS.stream(),
+                    SecondLevelCacheConfig.QUERY_REGIONS.stream()).toList()) {
+                CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+                if (region != null) {
+                    regions.add(new CacheRegionStatsDTO(name, region.getHitCount(), region.getMissCount(),
+                            region.getPutCount(), hitRatio(region.getHitCount(), region.getMissCount())));
+                }
+            }
+        }
+        return new SecondLevelCacheStatsDTO(
+                properties.isEnabled(),
+                statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(),
+                statistics.getSecondLevelCachePutCount(),
+                statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(),
+                regions
+        );
+    }
+
+    private void evict(List<Long> productIds, List<Long> collectionIds) {
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        for (Long productId : productIds) {
+            cache.evictEntityData(Product.class, productId);
+            cache.evictCollectionData(Product.class.getName() + ".images", productId);
+            cache.evictCollectionData(Product.class.getName() + ".collections", productId);
+        }
+        // The image ids were never read
+        cache.evictEntityData(ProductImage.class);
+        for (Long collectionId : collectionIds) {
+            cache.evictCollectionData(Collection.class.getName() + ".products", collectionId);
+        }
+        cache.evictQueryRegion(SecondLevelCacheConfig.COLLECTION_QUERIES);
+    }
+
+    private static double hitRatio(long hits, long misses) {
+        return hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+    }
+}
@@ -0,0 +1,307 @@
+package com.generic.rest.main.service;
+
+import com.generic.rest.main.model.enums.Size;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Stock per (product, size).
+ * <p>
+ * Counters live in memory, one {@link AtomicIntegerArray} per product with a slot per
+ * {@link Size}, so reserving stock on the order path is a CAS on that slot and orders for
+ * different products or sizes never contend. Committed reservations are accumulated as
+ * pending decrements and written to {@code product_stock} in batches by {@link #flush()}.
+ * A (product, size) without a stock row is untracked and never limits orders.
+ */
+@Service
+public class StockService {
+
+    private static final Logger log = LoggerFactory.getLogger(StockService.class);
+
+    private static final int UNTRACKED = -1;
+    private static final Size[] SIZES = Size.values();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ConcurrentHashMap<Long, AtomicIntegerArray> counters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, AtomicIntegerArray> pendingDecrements = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    public StockService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public record Reservation(Long productId, Size size, int quantity) {
+    }
+
+    public boolean isTracked(Long productId) {
+        AtomicIntegerArray stock = counters(productId);
+        for (int i = 0; i < SIZES.length; i++) {
+            if (stock.get(i) != UNTRACKED) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Takes stock for every reservation or for none of them. When called inside a transaction
+     * the stock is given back if it rolls back, and only queued for persistence once it commits.
+     *
+     * @throws ResponseStatusException with 409 if any (product, size) has insufficient stock
+     */
+    public void reserve(List<Reservation> reservations) {
+        List<Reservation> taken = new ArrayList<>();
+        for (Reservation reservation : reservations) {
+            if (reservation.size() == null) {
+                continue;
+            }
+            AtomicIntegerArray stock = counters(reservation.productId());
+            int slot = reservation.size().ordinal();
+            while (true) {
+                int available = stock.get(slot);
+                if (available == UNTRACKED) {
+                    break;
+                }
+                if (available < reservation.quantity()) {
+                    release(taken);
+                    throw new ResponseStatusException(HttpStatus.CONFLICT,
+                            "Insufficient stock for product " + reservation.productId() + " in size " + reservation.size());
+                }
+                if (stock.compareAndSet(slot, available, available - reservation.quantity())) {
+                    taken.add(reservation);
+                    break;
+                }
+            }
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        recordDecrements(taken);
+                    } else {
+                        release(taken);
+                    }
+                }
+            });
+        } else {
+            recordDecrements(taken);
+        }
+    }
+
+    /**
+     * Gives back stock taken by committed reservations whose order could not be stored.
+     */
+    public void restock(List<Reservation> reservations) {
+        List<Reservation> taken = new ArrayList<>();
+        List<Reservation> increments = new ArrayList<>();
+        for (Reservation reservation : reservations) {
+            if (reservation.size() != null) {
+                taken.add(reservation);
+                increments.add(new Reservation(reservation.productId(), reservation.size(), -reservation.quantity()));
+            }
+        }
+        release(taken);
+        recordDecrements(increments);
+    }
+
+    public Map<Size, Integer> getStock(Long productId) {
+        AtomicIntegerArray stock = counters(productId);
+        Map<Size, Integer> result = new EnumMap<>(Size.class);
+        for (int i = 0; i < SIZES.length; i++) {
+            int quantity = stock.get(i);
+            if (quantity != UNTRACKED) {
+                result.put(SIZES[i], quantity);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Sets absolute stock levels. Each level is applied as a delta from the current counter, to the
+     * counter and to {@code product_stock} alike, so reservations racing with it and decrements not
+     * yet flushed are neither lost nor applied on top of the new level.
+     */
+    public void setStock(Long productId, Map<Size, Integer> quantities) {
+        transactionTemplate.executeWithoutResult(status -> {
+            AtomicIntegerArray stock = counters(productId);
+            List<Reservation> created = new ArrayList<>();
+            List<Reservation> adjusted = new ArrayList<>();
+            for (Map.Entry<Size, Integer> entry : quantities.entrySet()) {
+                int slot = entry.getKey().ordinal();
+                int previous = stock.getAndSet(slot, entry.getValue());
+                if (previous == UNTRACKED) {
+                    created.add(new Reservation(productId, entry.getKey(), entry.getValue()));
+                } else {
+                    adjusted.add(new Reservation(productId, entry.getKey(), entry.getValue() - previous));
+                }
+            }
+
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        // Undo the counters by the same amounts, keeping whatever was reserved meanwhile
+                        for (Reservation level : created) {
+                            stock.set(level.size().ordinal(), UNTRACKED);
+                        }
+                        for (Reservation delta : adjusted) {
+                            stock.addAndGet(delta.size().ordinal(), -delta.quantity());
+                        }
+                    }
+                }
+            });
+
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO product_stock (product_id, size, quantity) VALUES (?, ?, ?) " +
+                    "ON CONFLICT (product_id, size) DO UPDATE SET quantity = excluded.quantity",
+                    created, Math.max(1, created.size()), (ps, level) -> {
+                        ps.setLong(1, productId);
+                        ps.setString(2, level.size().name());
+                        ps.setInt(3, level.quantity());
+                    });
+            jdbcTemplate.batchUpdate(
+                    "UPDATE product_stock SET quantity = quantity + ? WHERE product_id = ? AND size = ?",
+                    adjusted, Math.max(1, adjusted.size()), (ps, delta) -> {
+                        ps.setInt(1, delta.quantity());
+                        ps.setLong(2, productId);
+                        ps.setString(3, delta.size().name());
+                    });
+        });
+    }
+
+    /**
+     * Drops the counters of products whose stock rows are removed by the current transaction,
+     * once it commits.
+     */
+    public void forget(Collection<Long> productIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(productIds);
+                }
+            });
+        } else {
+            remove(productIds);
+        }
+    }
+
+    /**
+     * Writes pending decrements to {@code product_stock} in one batched transaction.
+     */
+    @Scheduled(fixedDelayString = "${app.stock.flush-interval-ms:500}")
+    public void flush() {
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+
+        // The connection is taken before the lock, so concurrent flushes cannot deadlock on the pool
+        List<Reservation> decrements = new ArrayList<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                flushLock.lock();
+                try {
+                    pendingDecrements.forEach((productId, pending) -> {
+                        for (int i = 0; i < SIZES.length; i++) {
+                            int quantity = pending.getAndSet(i, 0);
+                            if (quantity != 0) {
+                                decrements.add(new Reservation(productId, SIZES[i], quantity));
+                            }
+                        }
+                    });
+                    jdbcTemplate.batchUpdate(
+                            "UPDATE product_stock SET quantity = quantity - ? WHERE product_id = ? AND size = ?",
+                            decrements, Math.max(1, decrements.size()), (ps, decrement) -> {
+                                ps.setInt(1, decrement.quantity());
+                                ps.setLong(2, decrement.productId());
+                                ps.setString(3, decrement.size().name());
+                            });
+                } finally {
+                    flushLock.unlock();
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush {} stock decrements, retrying on next run", decrements.size(), e);
+            recordDecrements(decrements);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void release(List<Reservation> reservations) {
+        for (Reservation reservation : reservations) {
+            AtomicIntegerArray stock = counters(reservation.productId());
+            int slot = reservation.size().ordinal();
+            stock.getAndUpdate(slot, available -> available == UNTRACKED ? UNTRACKED : available + reservation.quantity());
+        }
+    }
+
+    private void remove(Collection<Long> productIds) {
+        for (Long productId : productIds) {
+            counters.remove(productId);
+            pendingDecrements.remove(productId);
+        }
+    }
+
+    private void recordDecrements(List<Reservation> reservations) {
+        for (Reservation reservation : reservations) {
+            pendingDecrements.computeIfAbsent(reservation.productId(), id -> new AtomicIntegerArray(SIZES.length))
+                    .addAndGet(reservation.size().ordinal(), reservation.quantity());
+        }
+        if (!reservations.isEmpty()) {
+            dirty.set(true);
+        }
+    }
+
+    private AtomicIntegerArray counters(Long productId) {
+        AtomicIntegerArray stock = counters.get(productId);
+        if (stock != null) {
+            return stock;
+        }
+        // Loaded outside the map: a query under its bin lock would hold other products up behind the connection
+        AtomicIntegerArray loaded = load(productId);
+        AtomicIntegerArray existing = counters.putIfAbsent(productId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private AtomicIntegerArray load(Long productId) {
+        AtomicIntegerArray stock = new AtomicIntegerArray(SIZES.length);
+        for (int i = 0; i < SIZES.length; i++) {
+            stock.set(i, UNTRACKED);
+        }
+        jdbcTemplate.query("SELECT size, quantity FROM product_stock WHERE product_id = ?",
+                rs -> {
+                    stock.set(Size.valueOf(rs.getString("size")).ordinal(), rs.getInt("quantity"));
+                },
+                productId);
+        return stock;
+    }
+}
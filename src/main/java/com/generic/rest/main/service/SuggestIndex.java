@@ -0,0 +1,221 @@
+package com.generic.rest.main.service;
+
+import com.generic.rest.main.dto.SuggestionDTO;
+import com.generic.rest.main.model.enums.CatalogEntityType;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Autocomplete over product and collection names.
+ * <p>
+ * Names are normalized with {@link TextNormalizer} and every word start of a name becomes a key,
+ * so "tee" finds "Basic Tee". Keys live in one sorted array; a query is a binary search for the
+ * first key with the prefix followed by a short walk.
+ * The array is immutable and swapped as a whole, so lookups take no lock. After catalog writes
+ * commit, the next lookup re-reads only the entities changed since its last
+ * {@code catalog_changes} version and merges them into a new array.
+ */
+@Service
+public class SuggestIndex implements SmartLifecycle {
+
+    private static final int CHUNK_SIZE = 500;
+    // Keys examined per lookup; bounds the cost of one-letter prefixes on a large catalog
+    private static final int MAX_CANDIDATES = 1000;
+
+    private static final Comparator<Key> BY_TERM = Comparator.comparing(Key::term)
+            .thenComparing(key -> key.entry().type())
+            .thenComparing(key -> key.entry().id());
+
+    // Whole-name matches first, then shorter names, then alphabetical
+    private static final Comparator<Match> BY_RELEVANCE = Comparator.comparing((Match match) -> !match.wholeName())
+            .thenComparingInt(match -> match.entry().name().length())
+            .thenComparing(match -> match.entry().normalized())
+            .thenComparing(match -> match.entry().id());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CatalogChangeLog catalogChangeLog;
+
+    private final Object lock = new Object();
+    private volatile Key[] keys = new Key[0];
+    private long version;
+    private volatile long caughtUpAt;
+    private volatile boolean running;
+
+    public SuggestIndex(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                        CatalogChangeLog catalogChangeLog) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.catalogChangeLog = catalogChangeLog;
+    }
+
+    private record Entry(CatalogEntityType type, Long id, String name, String normalized) {
+    }
+
+    private record Key(String term, Entry entry, boolean wholeName) {
+    }
+
+    private record Match(Entry entry, boolean wholeName) {
+    }
+
+    public List<SuggestionDTO> suggest(String query, int limit) {
+        long commits = catalogChangeLog.commitCount();
+        if (commits != caughtUpAt) {
+            // The connection is taken before the lock
+            transactionTemplate.executeWithoutResult(status -> catchUp());
+            caughtUpAt = commits;
+        }
+
+        String prefix = TextNormalizer.normalize(query);
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+        Key[] current = keys;
+        int from = lowerBound(current, prefix);
+
+        // A name can match at several of its words; it counts as a whole-name match if any key is one
+        Map<Entry, Boolean> wholeNames = new HashMap<>();
+        for (int i = from; i < current.length && i - from < MAX_CANDIDATES && current[i].term().startsWith(prefix); i++) {
+            wholeNames.merge(current[i].entry(), current[i].wholeName(), Boolean::logicalOr);
+        }
+        List<Match> matches = new ArrayList<>(wholeNames.size());
+        wholeNames.forEach((entry, wholeName) -> matches.add(new Match(entry, wholeName)));
+        matches.sort(BY_RELEVANCE);
+
+        List<SuggestionDTO> result = new ArrayList<>(Math.min(limit, matches.size()));
+        for (Match match : matches.subList(0, Math.min(limit, matches.size()))) {
+            result.add(new SuggestionDTO(match.entry().type(), match.entry().id(), match.entry().name()));
+        }
+        return result;
+    }
+
+    @Override
+    public void start() {
+        long commits = catalogChangeLog.commitCount();
+        transactionTemplate.executeWithoutResult(status -> {
+            synchronized (lock) {
+                long current = catalogChangeLog.currentVersion();
+                List<Key> loaded = new ArrayList<>();
+                jdbcTemplate.query("SELECT id, name FROM products WHERE deleted_at IS NULL",
+                        rs -> {
+                            addKeys(loaded, new Entry(CatalogEntityType.PRODUCT, rs.getLong("id"), rs.getString("name"),
+                                    TextNormalizer.normalize(rs.getString("name"))));
+                        });
+                jdbcTemplate.query("SELECT id, name FROM collections",
+                        rs -> {
+                            addKeys(loaded, new Entry(CatalogEntityType.COLLECTION, rs.getLong("id"), rs.getString("name"),
+                                    TextNormalizer.normalize(rs.getString("name"))));
+                        });
+                loaded.sort(BY_TERM);
+                keys = loaded.toArray(new Key[0]);
+                version = current;
+            }
+        });
+        caughtUpAt = commits;
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void catchUp() {
+        synchronized (lock) {
+            Set<Long> products = new LinkedHashSet<>();
+            Set<Long> collections = new LinkedHashSet<>();
+            long latest = version;
+            for (CatalogChangeLog.Change change : catalogChangeLog.findSince(version, Integer.MAX_VALUE)) {
+                (change.type() == CatalogEntityType.PRODUCT ? products : collections).add(change.entityId());
+                latest = Math.max(latest, change.version());
+            }
+            if (products.isEmpty() && collections.isEmpty()) {
+                version = latest;
+                return;
+            }
+
+            List<Key> added = new ArrayList<>();
+            load(added, CatalogEntityType.PRODUCT, "SELECT id, name FROM products WHERE deleted_at IS NULL AND id IN (",
+                    new ArrayList<>(products));
+            load(added, CatalogEntityType.COLLECTION, "SELECT id, name FROM collections WHERE id IN (",
+                    new ArrayList<>(collections));
+            added.sort(BY_TERM);
+
+            // Both sides are sorted, so the new array is one merge pass
+            Key[] current = keys;
+            Key[] merged = new Key[current.length + added.size()];
+            int size = 0;
+            int next = 0;
+            for (Key key : current) {
+                Set<Long> changed = key.entry().type() == CatalogEntityType.PRODUCT ? products : collections;
+                if (changed.contains(key.entry().id())) {
+                    continue;
+                }
+                while (next < added.size() && BY_TERM.compare(added.get(next), key) < 0) {
+                    merged[size++] = added.get(next++);
+                }
+                merged[size++] = key;
+            }
+            while (next < added.size()) {
+                merged[size++] = added.get(next++);
+            }
+            keys = Arrays.copyOf(merged, size);
+            version = latest;
+        }
+    }
+
+    private void load(List<Key> target, CatalogEntityType type, String sql, List<Long> ids) {
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + CHUNK_SIZE));
+            jdbcTemplate.query(sql + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")",
+                    rs -> {
+                        addKeys(target, new Entry(type, rs.getLong("id"), rs.getString("name"),
+                                TextNormalizer.normalize(rs.getString("name"))));
+                    },
+                    chunk.toArray());
+        }
+    }
+
+    private static void addKeys(List<Key> target, Entry entry) {
+        String name = entry.normalized();
+        if (name.isEmpty()) {
+            return;
+        }
+        target.add(new Key(name, entry, true));
+        for (int i = name.indexOf(' '); i >= 0; i = name.indexOf(' ', i + 1)) {
+            target.add(new Key(name.substring(i + 1), entry, false));
+        }
+    }
+
+    private static int lowerBound(Key[] keys, String prefix) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].term().compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
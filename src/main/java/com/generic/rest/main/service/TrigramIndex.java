@@ -0,0 +1,249 @@
+package com.generic.rest.main.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Typo-tolerant matching of a query against product names and descriptions.
+ * <p>
+ * Every word is padded with a space on both sides and split into trigrams, and each trigram keeps
+ * a posting list of the documents containing it. A query's candidates are the documents sharing
+ * enough of its trigrams, which a typo only partly destroys; the best candidates by overlap are
+ * then scored by the edit distance from every query word to its closest word in the name, or
+ * failing that in the description, so word order and words in between do not matter.
+ * Not thread-safe; callers guard it.
+ */
+public class TrigramIndex {
+
+    // Share of the query's trigrams a candidate must contain
+    private static final double MIN_OVERLAP = 0.3;
+
+    private static final Comparator<Hit> BY_SCORE = Comparator.comparingInt(Hit::distance)
+            .thenComparing(hit -> !hit.inName())
+            .thenComparing(Comparator.comparingInt(Hit::overlap).reversed())
+            .thenComparing(Hit::id);
+
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final Map<String, IntList> postings = new HashMap<>();
+    // Ordinals of removed documents, reused so edits do not grow the ordinal space
+    private final IntList free = new IntList();
+    private Doc[] docs = new Doc[64];
+    private int nextOrdinal;
+
+    public record Hit(Long id, int distance, boolean inName, int overlap) {
+    }
+
+    private record Doc(Long id, String[] nameWords, String[] descriptionWords, Set<String> trigrams) {
+    }
+
+    public void put(Long id, String name, String description) {
+        remove(id);
+        String[] nameWords = words(name);
+        String[] descriptionWords = words(description);
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (String word : nameWords) {
+            addTrigrams(word, trigrams);
+        }
+        for (String word : descriptionWords) {
+            addTrigrams(word, trigrams);
+        }
+
+        int ordinal = free.size() > 0 ? free.pop() : nextOrdinal++;
+        if (ordinal == docs.length) {
+            docs = Arrays.copyOf(docs, docs.length * 2);
+        }
+        docs[ordinal] = new Doc(id, nameWords, descriptionWords, trigrams);
+        ordinals.put(id, ordinal);
+        for (String trigram : trigrams) {
+            postings.computeIfAbsent(trigram, t -> new IntList()).add(ordinal);
+        }
+    }
+
+    public void remove(Long id) {
+        Integer ordinal = ordinals.remove(id);
+        if (ordinal == null) {
+            return;
+        }
+        for (String trigram : docs[ordinal].trigrams()) {
+            IntList list = postings.get(trigram);
+            list.remove(ordinal);
+            if (list.size() == 0) {
+                postings.remove(trigram);
+            }
+        }
+        docs[ordinal] = null;
+        free.add(ordinal);
+    }
+
+    public int size() {
+        return ordinals.size();
+    }
+
+    /**
+     * Best matches first; only documents where every query word is within the edit distance allowed
+     * for its length.
+     *
+     * @param maxCandidates how many documents with the most shared trigrams get scored
+     */
+    public List<Hit> search(String query, int maxCandidates, int limit) {
+        String[] queryWords = words(query);
+        if (queryWords.length == 0) {
+            return List.of();
+        }
+        Set<String> queryTrigrams = new LinkedHashSet<>();
+        for (String word : queryWords) {
+            addTrigrams(word, queryTrigrams);
+        }
+
+        int[] overlap = new int[nextOrdinal];
+        List<Integer> touched = new ArrayList<>();
+        for (String trigram : queryTrigrams) {
+            IntList list = postings.get(trigram);
+            if (list == null) {
+                continue;
+            }
+            for (int i = 0; i < list.size(); i++) {
+                int ordinal = list.get(i);
+                if (overlap[ordinal]++ == 0) {
+                    touched.add(ordinal);
+                }
+            }
+        }
+
+        int minOverlap = Math.max(1, (int) Math.ceil(queryTrigrams.size() * MIN_OVERLAP));
+        List<Integer> candidates = new ArrayList<>();
+        for (int ordinal : touched) {
+            if (overlap[ordinal] >= minOverlap) {
+                candidates.add(ordinal);
+            }
+        }
+        candidates.sort(Comparator.comparingInt((Integer ordinal) -> overlap[ordinal]).reversed());
+
+        List<Hit> hits = new ArrayList<>();
+        for (int ordinal : candidates.subList(0, Math.min(maxCandidates, candidates.size()))) {
+            Doc doc = docs[ordinal];
+            int inName = closest(queryWords, doc.nameWords());
+            if (inName >= 0) {
+                hits.add(new Hit(doc.id(), inName, true, overlap[ordinal]));
+                continue;
+            }
+            int inDescription = closest(queryWords, doc.descriptionWords());
+            if (inDescription >= 0) {
+                hits.add(new Hit(doc.id(), inDescription, false, overlap[ordinal]));
+            }
+        }
+        hits.sort(BY_SCORE);
+        return hits.size() <= limit ? hits : hits.subList(0, limit);
+    }
+
+    // Short words tolerate fewer typos, or "tee" would match every three-letter word
+    static int maxDistance(int length) {
+        if (length < 3) {
+            return 0;
+        }
+        if (length <= 5) {
+            return 1;
+        }
+        return length <= 9 ? 2 : 3;
+    }
+
+    // Summed distance of each query word to its closest word, or -1 if one is too far from all of them
+    private static int closest(String[] queryWords, String[] words) {
+        int total = 0;
+        for (String queryWord : queryWords) {
+            int maxDistance = maxDistance(queryWord.length());
+            int best = maxDistance + 1;
+            for (int i = 0; i < words.length && best > 0; i++) {
+                best = Math.min(best, distance(queryWord, words[i], best - 1));
+            }
+            if (best > maxDistance) {
+                return -1;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    /**
+     * Levenshtein distance, or {@code max + 1} as soon as it is known to exceed {@code max}.
+     */
+    static int distance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[b.length()], max + 1);
+    }
+
+    private static String[] words(String text) {
+        String normalized = TextNormalizer.normalize(text);
+        return normalized.isEmpty() ? new String[0] : normalized.split(" ");
+    }
+
+    private static void addTrigrams(String word, Set<String> target) {
+        String padded = " " + word + " ";
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            target.add(padded.substring(i, i + 3));
+        }
+    }
+
+    private static final class IntList {
+
+        private int[] values = new int[4];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        // Order does not matter, so the last value fills the hole
+        private void remove(int value) {
+            for (int i = 0; i < size; i++) {
+                if (values[i] == value) {
+                    values[i] = values[--size];
+                    return;
+                }
+            }
+        }
+
+        private int pop() {
+            return values[--size];
+        }
+
+        private int get(int index) {
+            return values[index];
+        }
+
+        private int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.generic.rest.main.service;
+
+import com.generic.rest.main.dto.WriteSchedulerStatsDTO;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Group commit for write units.
+ * <p>
+ * With a single pooled SQLite connection, concurrent writers otherwise queue for the connection
+ * and each pays its own commit. When enabled, units submitted through {@link #execute(Supplier)}
+ * are collected by one writer thread for up to {@code app.write-scheduler.window-micros} and run
+ * in a single transaction, each under its own savepoint so a failing unit is rolled back alone,
+ * together with the transaction synchronizations it registered. If the shared transaction still fails to commit, the batch is retried one unit per transaction.
+ * When disabled, or when already inside a transaction, a unit simply runs in its own transaction
+ * on the calling thread.
+ */
+@Service
+public class WriteScheduler implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteScheduler.class);
+
+    private final WriteSchedulerProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final BlockingQueue<PendingWrite<?>> queue = new LinkedBlockingQueue<>();
+
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong units = new AtomicLong();
+    private final AtomicLong failedUnits = new AtomicLong();
+    private final AtomicLong batchFallbacks = new AtomicLong();
+    private final AtomicInteger maxBatchSize = new AtomicInteger();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public WriteScheduler(WriteSchedulerProperties properties, PlatformTransactionManager transactionManager,
+                          EntityManager entityManager) {
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+    }
+
+    private static final class PendingWrite<T> {
+        private final Supplier<T> unit;
+        private final long submittedAt = System.nanoTime();
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private T result;
+        private RuntimeException failure;
+
+        private PendingWrite(Supplier<T> unit) {
+            this.unit = unit;
+        }
+
+        private void run() {
+            result = unit.get();
+        }
+
+        private void complete() {
+            if (failure != null) {
+                future.completeExceptionally(failure);
+            } else {
+                future.complete(result);
+            }
+        }
+    }
+
+    /**
+     * Runs a write unit in a transaction, possibly shared with other concurrently submitted units.
+     * Returns once that transaction has committed; exceptions thrown by the unit are rethrown as is.
+     */
+    public <T> T execute(Supplier<T> unit) {
+        if (!running || TransactionSynchronizationManager.isActualTransactionActive()
+                || Thread.currentThread() == writer) {
+            return transactionTemplate.execute(status -> unit.get());
+        }
+
+        PendingWrite<T> write = new PendingWrite<>(unit);
+        queue.add(write);
+        try {
+            return write.future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a scheduled write", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public void run(Runnable unit) {
+        execute(() -> {
+            unit.run();
+            return null;
+        });
+    }
+
+    public WriteSchedulerStatsDTO getStats() {
+        long batchCount = batches.get();
+        long unitCount = units.get();
+        return new WriteSchedulerStatsDTO(
+                running,
+                batchCount,
+                unitCount,
+                failedUnits.get(),
+                batchFallbacks.get(),
+                maxBatchSize.get(),
+                batchCount == 0 ? 0 : (double) unitCount / batchCount,
+                unitCount == 0 ? 0 : totalWaitNanos.get() / 1_000_000.0 / unitCount,
+                maxWaitNanos.get() / 1_000_000.0
+        );
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::runWriter, "write-scheduler");
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void runWriter() {
+        List<PendingWrite<?>> batch = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite<?> first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(properties.getWindowMicros());
+                while (batch.size() < properties.getMaxBatchSize()) {
+                    PendingWrite<?> next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                executeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Write scheduler failed to execute {} units", batch.size(), e);
+                for (PendingWrite<?> write : batch) {
+                    write.future.completeExceptionally(e);
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void executeBatch(List<PendingWrite<?>> batch) {
+        recordBatch(batch);
+        if (batch.size() == 1) {
+            executeAlone(batch.get(0));
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // Savepoints are set on the JDBC connection, since the JPA dialect does not expose them
+                Session session = entityManager.unwrap(Session.class);
+                for (PendingWrite<?> write : batch) {
+                    List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+                    Savepoint savepoint = session.doReturningWork(Connection::setSavepoint);
+                    try {
+                        write.run();
+                        // Flush inside the savepoint so a failing statement is attributed to this unit
+                        entityManager.flush();
+                        session.doWork(connection -> connection.releaseSavepoint(savepoint));
+                    } catch (RuntimeException e) {
+                        session.doWork(connection -> connection.rollback(savepoint));
+                        entityManager.clear();
+                        discardSynchronizationsSince(synchronizations);
+                        write.result = null;
+                        write.failure = e;
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            // Nothing was committed, so every unit can be run again on its own
+            log.debug("Shared write transaction failed, retrying {} units one by one", batch.size(), e);
+            batchFallbacks.incrementAndGet();
+            for (PendingWrite<?> write : batch) {
+                write.result = null;
+                write.failure = null;
+                executeAlone(write);
+            }
+            return;
+        }
+
+        for (PendingWrite<?> write : batch) {
+            if (write.failure != null) {
+                failedUnits.incrementAndGet();
+            }
+            write.complete();
+        }
+    }
+
+    private void executeAlone(PendingWrite<?> write) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> write.run());
+        } catch (RuntimeException e) {
+            write.failure = e;
+            failedUnits.incrementAndGet();
+        }
+        write.complete();
+    }
+
+    /**
+     * Unregisters the synchronizations added since the given snapshot and completes them as rolled
+     * back, so a unit rolled back to its savepoint has no after-commit side effects.
+     */
+    private static void discardSynchronizationsSince(List<TransactionSynchronization> kept) {
+        Set<TransactionSynchronization> keptSet = Collections.newSetFromMap(new IdentityHashMap<>());
+        keptSet.addAll(kept);
+        List<TransactionSynchronization> discarded = new ArrayList<>();
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (!keptSet.contains(synchronization)) {
+                discarded.add(synchronization);
+            }
+        }
+        if (discarded.isEmpty()) {
+            return;
+        }
+        // Synchronizations cannot be unregistered one by one, so the kept ones are registered again
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+        kept.forEach(TransactionSynchronizationManager::registerSynchronization);
+        TransactionSynchronizationUtils.invokeAfterCompletion(discarded, TransactionSynchronization.STATUS_ROLLED_BACK);
+    }
+
+    private void recordBatch(List<PendingWrite<?>> batch) {
+        long now = System.nanoTime();
+        for (PendingWrite<?> write : batch) {
+            long waited = now - write.submittedAt;
+            totalWaitNanos.addAndGet(waited);
+            maxWaitNanos.accumulateAndGet(waited, Math::max);
+        }
+        batches.incrementAndGet();
+        units.addAndGet(batch.size());
+        maxBatchSize.accumulateAndGet(batch.size(), Math::max);
+    }
+}
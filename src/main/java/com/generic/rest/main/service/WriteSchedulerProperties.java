@@ -0,0 +1,37 @@
+package com.generic.rest.main.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.write-scheduler")
+public class WriteSchedulerProperties {
+
+    private boolean enabled = false;
+    private long windowMicros = 2000;
+    private int maxBatchSize = 64;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getWindowMicros() {
+        return windowMicros;
+    }
+
+    public void setWindowMicros(long windowMicros) {
+        this.windowMicros = windowMicros;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+}
@@ -0,0 +1,254 @@
+package com.generic.rest.main;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.generic.rest.main.dto.AddressDTO;
+import com.generic.rest.main.dto.OrderDTO;
+import com.generic.rest.main.dto.OrderProductDTO;
+import com.generic.rest.main.dto.auth.AuthRequest;
+import com.generic.rest.main.dto.auth.AuthResponse;
+import com.generic.rest.main.model.Product;
+import com.generic.rest.main.model.User;
+import com.generic.rest.main.model.enums.Gender;
+import com.generic.rest.main.model.enums.ProductType;
+import com.generic.rest.main.model.enums.Role;
+import com.generic.rest.main.model.enums.Size;
+import com.generic.rest.main.repository.AddressRepository;
+import com.generic.rest.main.repository.OrderRepository;
+import com.generic.rest.main.repository.ProductRepository;
+import com.generic.rest.main.repository.UserRepository;
+import com.generic.rest.main.service.BestsellerService;
+
+import java.util.Arrays;
+import java.util.List;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BestsellerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BestsellerService bestsellerService;
+
+    private String authToken;
+    private Long addressId;
+    private Long teeId;
+    private Long dressId;
+    private Long shirtId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        addressRepository.deleteAll();
+        userRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM sales_daily");
+        jdbcTemplate.update("DELETE FROM sales_product_daily");
+        jdbcTemplate.update("DELETE FROM sales_category_daily");
+        jdbcTemplate.update("DELETE FROM product_sales_counters");
+        // Reload the now empty counters
+        bestsellerService.start();
+
+        AuthRequest signupRequest = new AuthRequest();
+        signupRequest.setFirstName("Bestseller");
+        signupRequest.setLastName("User");
+        signupRequest.setEmail("bestsellers@example.com");
+        signupRequest.setPassword("TestPassword123");
+
+        MvcResult authResult = mockMvc.perform(post("/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(signupRequest)))
+                .andExpect(status().isOk())
+                .andReturn();
+        authToken = objectMapper.readValue(authResult.getResponse().getContentAsString(), AuthResponse.class)
+                .getAccessToken();
+
+        User user = userRepository.findByEmail("bestsellers@example.com").orElseThrow();
+        user.setRole(Role.ADMIN);
+        userRepository.save(user);
+
+        AddressDTO addressRequest = new AddressDTO();
+        addressRequest.setFirstName("John");
+        addressRequest.setLastName("Doe");
+        addressRequest.setAddress("123 Main St");
+        addressRequest.setZipCode("12345");
+
+        MvcResult addressResult = mockMvc.perform(post("/account/address/create")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(addressRequest)))
+                .andExpect(status().isOk())
+                .andReturn();
+        addressId = objectMapper.readValue(addressResult.getResponse().getContentAsString(), AddressDTO.class).getId();
+
+        teeId = productRepository.save(new Product("Tee", "Cotton tee", null, null,
+                ProductType.TEE, Gender.BOTH, 10f, List.of(Size.M))).getId();
+        dressId = productRepository.save(new Product("Dress", "Summer dress", null, null,
+                ProductType.DRESS, Gender.FEMALE, 50f, List.of(Size.M))).getId();
+        shirtId = productRepository.save(new Product("Shirt", "Linen shirt", null, null,
+                ProductType.SHIRT, Gender.MALE, 30f, List.of(Size.M))).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Other test classes delete addresses without deleting their orders first
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    void testBestsellers_RankedPerTypeAndGender() throws Exception {
+        createOrder(line(teeId, 2), line(dressId, 1));
+        createOrder(line(teeId, 1), line(shirtId, 4));
+
+        mockMvc.perform(get("/product/bestsellers"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].productId").value(shirtId))
+                .andExpect(jsonPath("$[0].unitsSold").value(4))
+                .andExpect(jsonPath("$[1].productId").value(teeId))
+                .andExpect(jsonPath("$[1].unitsSold").value(3))
+                .andExpect(jsonPath("$[2].productId").value(dressId));
+
+        mockMvc.perform(get("/product/bestsellers").param("gender", "FEMALE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].productId").value(dressId));
+
+        mockMvc.perform(get("/product/bestsellers").param("type", "TEE").param("gender", "BOTH"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].productId").value(teeId));
+
+        mockMvc.perform(get("/product/bestsellers").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].productId").value(shirtId));
+    }
+
+    @Test
+    void testBestsellers_UpdatedOnDelete() throws Exception {
+        createOrder(line(teeId, 2));
+        Long shirtOrder = createOrder(line(shirtId, 5));
+
+        mockMvc.perform(delete("/order/delete/" + shirtOrder)
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/product/bestsellers"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].productId").value(teeId))
+                .andExpect(jsonPath("$[0].unitsSold").value(2));
+    }
+
+    @Test
+    void testBestsellers_CheckpointedAndReloaded() throws Exception {
+        createOrder(line(teeId, 2), line(dressId, 1));
+
+        bestsellerService.checkpoint();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT units FROM product_sales_counters WHERE product_id = ?", Long.class, teeId)).isEqualTo(2L);
+
+        bestsellerService.stop();
+        bestsellerService.start();
+
+        mockMvc.perform(get("/product/bestsellers"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].productId").value(teeId))
+                .andExpect(jsonPath("$[0].unitsSold").value(2))
+                .andExpect(jsonPath("$[1].productId").value(dressId));
+    }
+
+    @Test
+    void testBestsellers_DeletedProductDropped() throws Exception {
+        createOrder(line(teeId, 2), line(shirtId, 5));
+        bestsellerService.checkpoint();
+
+        mockMvc.perform(delete("/product/delete/" + shirtId)
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/product/bestsellers"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].productId").value(teeId));
+        mockMvc.perform(get("/product/bestsellers").param("type", "SHIRT"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        // Still gone once the counters are reloaded
+        bestsellerService.stop();
+        bestsellerService.start();
+
+        mockMvc.perform(get("/product/bestsellers"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].productId").value(teeId));
+    }
+
+    @Test
+    void testBestsellers_InvalidLimit() throws Exception {
+        mockMvc.perform(get("/product/bestsellers").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private OrderProductDTO line(Long productId, int quantity) {
+        OrderProductDTO line = new OrderProductDTO();
+        line.setProductId(productId);
+        line.setSize(Size.M);
+        line.setQuantity(quantity);
+        return line;
+    }
+
+    private Long createOrder(OrderProductDTO... lines) throws Exception {
+        OrderDTO request = new OrderDTO();
+        AddressDTO addressDto = new AddressDTO();
+        addressDto.setId(addressId);
+        request.setAddress(addressDto);
+        request.setProducts(Arrays.asList(lines));
+
+        MvcResult result = mockMvc.perform(post("/order/create")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), OrderDTO.class).getId();
+    }
+}
@@ -0,0 +1,218 @@
+package com.generic.rest.main;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.generic.rest.main.dto.CatalogChangesDTO;
+import com.generic.rest.main.dto.CollectionDTO;
+import com.generic.rest.main.dto.ProductDTO;
+import com.generic.rest.main.dto.ProductImageDTO;
+import com.generic.rest.main.dto.auth.AuthRequest;
+import com.generic.rest.main.dto.auth.AuthResponse;
+import com.generic.rest.main.model.User;
+import com.generic.rest.main.model.enums.Gender;
+import com.generic.rest.main.model.enums.ProductType;
+import com.generic.rest.main.model.enums.Role;
+import com.generic.rest.main.model.enums.Size;
+import com.generic.rest.main.repository.AddressRepository;
+import com.generic.rest.main.repository.OrderRepository;
+import com.generic.rest.main.repository.UserRepository;
+import com.generic.rest.main.service.CatalogChangeLog;
+
+import java.util.List;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CatalogChangesTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CatalogChangeLog catalogChangeLog;
+
+    private String authToken;
+    private long baseline;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        orderRepository.deleteAll();
+        addressRepository.deleteAll();
+        userRepository.deleteAll();
+
+        AuthRequest signupRequest = new AuthRequest();
+        signupRequest.setFirstName("Catalog");
+        signupRequest.setLastName("User");
+        signupRequest.setEmail("catalog@example.com");
+        signupRequest.setPassword("TestPassword123");
+
+        MvcResult result = mockMvc.perform(post("/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(signupRequest)))
+                .andExpect(status().isOk())
+                .andReturn();
+        authToken = objectMapper.readValue(result.getResponse().getContentAsString(), AuthResponse.class)
+                .getAccessToken();
+
+        User user = userRepository.findByEmail("catalog@example.com").orElseThrow();
+        user.setRole(Role.ADMIN);
+        userRepository.save(user);
+
+        // Other tests share the database, so only changes after this point are asserted on
+        baseline = catalogChangeLog.currentVersion();
+    }
+
+    @Test
+    void testChanges_UpsertsAndTombstones() throws Exception {
+        Long teeId = createProduct("Tee");
+        Long dressId = createProduct("Dress");
+
+        CatalogChangesDTO created = changes(baseline, 500);
+        assertThat(created.getProducts()).extracting(ProductDTO::getId).containsExactly(teeId, dressId);
+        assertThat(created.getDeletedProductIds()).isEmpty();
+        assertThat(created.isHasMore()).isFalse();
+
+        ProductDTO edit = new ProductDTO();
+        edit.setPrice(12f);
+        mockMvc.perform(put("/product/edit/" + teeId)
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(edit)))
+                .andExpect(status().isOk());
+        edit.setPrice(15f);
+        mockMvc.perform(put("/product/edit/" + teeId)
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(edit)))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/product/delete/" + dressId)
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isNoContent());
+
+        // Changed twice, returned once with its latest state
+        CatalogChangesDTO delta = changes(created.getVersion(), 500);
+        assertThat(delta.getProducts()).extracting(ProductDTO::getId).containsExactly(teeId);
+        assertThat(delta.getProducts().get(0).getPrice()).isEqualTo(15f);
+        assertThat(delta.getDeletedProductIds()).containsExactly(dressId);
+
+        CatalogChangesDTO none = changes(delta.getVersion(), 500);
+        assertThat(none.getProducts()).isEmpty();
+        assertThat(none.getDeletedProductIds()).isEmpty();
+        assertThat(none.getVersion()).isEqualTo(delta.getVersion());
+    }
+
+    @Test
+    void testChanges_CollectionMembershipChangesBothSides() throws Exception {
+        Long teeId = createProduct("Tee");
+        Long collectionId = createCollection("Summer");
+        long version = changes(baseline, 500).getVersion();
+
+        mockMvc.perform(post("/collection/" + collectionId + "/products/" + teeId)
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk());
+
+        CatalogChangesDTO delta = changes(version, 500);
+        assertThat(delta.getCollections()).extracting(CollectionDTO::getId).containsExactly(collectionId);
+        assertThat(delta.getCollections().get(0).getProductIds()).containsExactly(teeId);
+        assertThat(delta.getProducts()).extracting(ProductDTO::getId).containsExactly(teeId);
+        assertThat(delta.getProducts().get(0).getCollectionIds()).containsExactly(collectionId);
+
+        mockMvc.perform(delete("/collection/delete/" + collectionId)
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isNoContent());
+
+        CatalogChangesDTO deleted = changes(delta.getVersion(), 500);
+        assertThat(deleted.getDeletedCollectionIds()).containsExactly(collectionId);
+        assertThat(deleted.getProducts().get(0).getCollectionIds()).isEmpty();
+    }
+
+    @Test
+    void testChanges_Paginated() throws Exception {
+        Long first = createProduct("First");
+        Long second = createProduct("Second");
+
+        CatalogChangesDTO page = changes(baseline, 1);
+        assertThat(page.getProducts()).extracting(ProductDTO::getId).containsExactly(first);
+        assertThat(page.isHasMore()).isTrue();
+
+        CatalogChangesDTO next = changes(page.getVersion(), 1);
+        assertThat(next.getProducts()).extracting(ProductDTO::getId).containsExactly(second);
+        assertThat(next.isHasMore()).isFalse();
+    }
+
+    @Test
+    void testChanges_PublicAndValidated() throws Exception {
+        mockMvc.perform(get("/catalog/changes"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/catalog/changes").param("since", "-1"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/catalog/changes").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private CatalogChangesDTO changes(long since, int limit) throws Exception {
+        MvcResult result = mockMvc.perform(get("/catalog/changes")
+                .param("since", String.valueOf(since))
+                .param("limit", String.valueOf(limit)))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), CatalogChangesDTO.class);
+    }
+
+    private Long createProduct(String name) throws Exception {
+        ProductDTO request = new ProductDTO();
+        request.setName(name);
+        request.setDescription("Catalog test product");
+        request.setType(ProductType.TEE);
+        request.setGender(Gender.BOTH);
+        request.setPrice(10f);
+        request.setSizes(List.of(Size.M));
+        request.setImages(List.of(new ProductImageDTO("https://example.com/" + name + ".jpg", true)));
+
+        MvcResult result = mockMvc.perform(post("/product/create")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), ProductDTO.class).getId();
+    }
+
+    private Long createCollection(String name) throws Exception {
+        CollectionDTO request = new CollectionDTO();
+        request.setName(name);
+
+        MvcResult result = mockMvc.perform(post("/collection/create")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), CollectionDTO.class).getId();
+    }
+}
@@ -0,0 +1,136 @@
+package com.generic.rest.main;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.hamcrest.Matchers;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.generic.rest.main.dto.CollectionDTO;
+import com.generic.rest.main.dto.CollectionPageDTO;
+import com.generic.rest.main.dto.ProductDTO;
+import com.generic.rest.main.model.enums.ProductSort;
+import com.generic.rest.main.model.enums.ProductType;
+import com.generic.rest.main.service.CollectionService;
+import com.generic.rest.main.service.FieldSelection;
+import com.generic.rest.main.service.ProductService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CollectionPageTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CollectionService collectionService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void testCollectionPage_FirstProductsOfEachSubcollection() throws Exception {
+        Long parentId = createCollection("Page Outerwear", null);
+        Long jacketsId = createCollection("Page Jackets", parentId);
+        Long coatsId = createCollection("Page Coats", parentId);
+        Long firstJacket = TestProducts.named("Page Jacket One").type(ProductType.JACKET)
+                .price(30f).collections(jacketsId).create(productService);
+        Long secondJacket = TestProducts.named("Page Jacket Two").type(ProductType.JACKET)
+                .price(20f).collections(jacketsId).create(productService);
+        Long thirdJacket = TestProducts.named("Page Jacket Three").type(ProductType.JACKET)
+                .price(10f).collections(jacketsId).create(productService);
+        Long deletedJacket = TestProducts.named("Page Jacket Gone").type(ProductType.JACKET)
+                .price(5f).collections(jacketsId).create(productService);
+        productService.deleteProduct(deletedJacket);
+        Long coat = TestProducts.named("Page Coat").type(ProductType.JACKET)
+                .price(50f).collections(coatsId).create(productService);
+
+        // Public, no token needed
+        mockMvc.perform(get("/collection/page/" + parentId).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Page Outerwear"))
+                .andExpect(jsonPath("$.productCount").value(0))
+                .andExpect(jsonPath("$.products.length()").value(0))
+                .andExpect(jsonPath("$.subcollections[*].id", Matchers.contains(jacketsId.intValue(), coatsId.intValue())))
+                .andExpect(jsonPath("$.subcollections[0].productCount").value(3))
+                .andExpect(jsonPath("$.subcollections[0].products[*].id",
+                        Matchers.contains(firstJacket.intValue(), secondJacket.intValue())))
+                .andExpect(jsonPath("$.subcollections[0].products[0].images[0].url").value(TestProducts.IMAGE_URL))
+                .andExpect(jsonPath("$.subcollections[1].products[*].id", Matchers.contains(coat.intValue())))
+                .andExpect(jsonPath("$.subcollections[1].parentCollectionId").value(parentId));
+
+        mockMvc.perform(get("/collection/page/" + jacketsId).param("sort", "PRICE_ASC").param("fields", "name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products[*].id",
+                        Matchers.contains(thirdJacket.intValue(), secondJacket.intValue(), firstJacket.intValue())))
+                .andExpect(jsonPath("$.products[0].name").value("Page Jacket Three"))
+                .andExpect(jsonPath("$.products[0].images").doesNotExist())
+                .andExpect(jsonPath("$.subcollections.length()").value(0));
+    }
+
+    @Test
+    void testCollectionPage_QueryCountDoesNotGrowWithSubcollections() {
+        Long smallId = createCollection("Page Small", null);
+        Long smallChildId = createCollection("Page Small Child", smallId);
+        TestProducts.named("Page Small Tee").type(ProductType.JACKET)
+                .price(10f).collections(smallChildId).create(productService);
+        Long largeId = createCollection("Page Large", null);
+        for (int i = 0; i < 5; i++) {
+            Long childId = createCollection("Page Large Child " + i, largeId);
+            TestProducts.named("Page Large Tee " + i).type(ProductType.JACKET)
+                    .price(10f).collections(childId).create(productService);
+            TestProducts.named("Page Large Shirt " + i).type(ProductType.JACKET)
+                    .price(12f).collections(childId).create(productService);
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        long before = statistics.getPrepareStatementCount();
+        CollectionPageDTO small = collectionService.getCollectionPage(smallId, 10, null, FieldSelection.all());
+        long smallStatements = statistics.getPrepareStatementCount() - before;
+
+        before = statistics.getPrepareStatementCount();
+        CollectionPageDTO large = collectionService.getCollectionPage(largeId, 10, ProductSort.PRICE_DESC,
+                FieldSelection.all());
+        long largeStatements = statistics.getPrepareStatementCount() - before;
+
+        assertThat(small.getSubcollections()).hasSize(1);
+        assertThat(large.getSubcollections()).hasSize(5);
+        assertThat(large.getSubcollections().get(4).getProducts()).extracting(ProductDTO::getName)
+                .containsExactly("Page Large Shirt 4", "Page Large Tee 4");
+        assertThat(largeStatements).isEqualTo(smallStatements);
+    }
+
+    @Test
+    void testCollectionPage_Validation() throws Exception {
+        Long collectionId = createCollection("Page Validation", null);
+        mockMvc.perform(get("/collection/page/999999"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/collection/page/" + collectionId).param("size", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/collection/page/" + collectionId).param("size", "51"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/collection/page/" + collectionId).param("fields", "password"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Long createCollection(String name, Long parentId) {
+        CollectionDTO collection = new CollectionDTO();
+        collection.setName(name);
+        collection.setParentCollectionId(parentId);
+        return collectionService.createCollection(collection).getId();
+    }
+}
@@ -9,19 +9,27 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.generic.rest.main.dto.AddressDTO;
+import com.generic.rest.main.dto.BulkOrderUpdateDTO;
 import com.generic.rest.main.dto.OrderDTO;
 import com.generic.rest.main.dto.OrderProductDTO;
 import com.generic.rest.main.dto.ProductDTO;
 import com.generic.rest.main.dto.ProductImageDTO;
+import com.generic.rest.main.dto.ProductStockDTO;
 import com.generic.rest.main.dto.auth.AuthRequest;
 import com.generic.rest.main.dto.auth.AuthResponse;
+import com.generic.rest.main.model.Product;
 import com.generic.rest.main.model.User;
 import com.generic.rest.main.model.enums.Gender;
 import com.generic.rest.main.model.enums.OrderStatus;
@@ -32,13 +40,26 @@ import com.generic.rest.main.repository.AddressRepository;
 import com.generic.rest.main.repository.OrderRepository;
 import com.generic.rest.main.repository.ProductRepository;
 import com.generic.rest.main.repository.UserRepository;
+import com.generic.rest.main.service.StockService;
 
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
-@SpringBootTest
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @AutoConfigureMockMvc
 @ActiveProfiles("test")
+@Import(StatementCounter.class)
 class OrderControllerTest {
 
     @Autowired
@@ -59,6 +80,18 @@ class OrderControllerTest {
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private String authToken;
     private Long addressId;
     private Long productId1;
@@ -246,6 +279,33 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.length()").value(0));
     }
 
+    @Test
+    void testListOrders_SparseFields() throws Exception {
+        Long orderId = createOrder(createOrderRequest(addressId, createOrderProduct(productId1, 2)));
+
+        mockMvc.perform(get("/order/list")
+                .param("fields", "status,total")
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(orderId))
+                .andExpect(jsonPath("$[0].status").value("IN_PROCESS"))
+                .andExpect(jsonPath("$[0].total").value(59.98))
+                .andExpect(jsonPath("$[0].address").doesNotExist())
+                .andExpect(jsonPath("$[0].products").doesNotExist());
+
+        mockMvc.perform(get("/order/queue")
+                .param("fields", "address")
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].address.zipCode").value("12345"))
+                .andExpect(jsonPath("$[0].createdAt").doesNotExist());
+
+        mockMvc.perform(get("/order/list")
+                .param("fields", "status,secret")
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testShowOrder_Success() throws Exception {
         OrderDTO createRequest = createOrderRequest(addressId, createOrderProduct(productId1, 1));
@@ -418,6 +478,495 @@ class OrderControllerTest {
         return request;
     }
 
+    @Test
+    void testCreateOrder_StatementCountIndependentOfLineCount() throws Exception {
+        // Warm up per-product state such as stock counters so both measured orders start alike
+        createOrder(createOrderRequest(addressId, createOrderProduct(productId1, 1), createOrderProduct(productId2, 1)));
+
+        OrderDTO smallOrder = createOrderRequest(addressId, createOrderProduct(productId1, 1));
+        statementCounter.reset();
+        mockMvc.perform(post("/order/create")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(smallOrder)))
+                .andExpect(status().isCreated());
+        int smallOrderStatements = statementCounter.get();
+
+        OrderProductDTO[] lines = new OrderProductDTO[50];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = createOrderProduct(i % 2 == 0 ? productId1 : productId2, 1);
+        }
+        OrderDTO wholesaleOrder = createOrderRequest(addressId, lines);
+        statementCounter.reset();
+        mockMvc.perform(post("/order/create")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(wholesaleOrder)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.products.length()").value(50));
+
+        assertThat(smallOrderStatements).isPositive();
+        assertThat(statementCounter.get()).isEqualTo(smallOrderStatements);
+    }
+
+    @Test
+    void testListOrders_ProductSnapshotWithoutLoadingProducts() throws Exception {
+        createOrder(createOrderRequest(addressId, createOrderProduct(productId1, 1), createOrderProduct(productId2, 1)));
+
+        ProductDTO rename = new ProductDTO();
+        rename.setName("Renamed T-Shirt");
+        rename.setImages(List.of(new ProductImageDTO("https://example.com/new.jpg", true)));
+        mockMvc.perform(put("/product/edit/" + productId1)
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(rename)))
+                .andExpect(status().isOk());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get("/order/list")
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].products[0].productId").value(productId1))
+                .andExpect(jsonPath("$[0].products[0].productName").value("T-Shirt"))
+                .andExpect(jsonPath("$[0].products[0].productImageUrl").value("https://example.com/image.jpg"))
+                .andExpect(jsonPath("$[0].products[1].productName").value("Shirt"));
+
+        assertThat(statistics.getEntityStatistics(Product.class.getName()).getLoadCount()).isZero();
+    }
+
+    @Test
+    void testShowOrder_DeliveredOrderServedFromCache() throws Exception {
+        Long orderId = createOrder(createOrderRequest(addressId, createOrderProduct(productId1, 1)));
+        OrderDTO editRequest = new OrderDTO();
+        editRequest.setShippedAt(LocalDateTime.now());
+        editRequest.setDeliveredAt(LocalDateTime.now());
+        mockMvc.perform(put("/order/edit/" + orderId)
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(editRequest)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/order/show/" + orderId)
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.products[0].productName").value("T-Shirt"));
+
+        // Changed behind the application's back, so only a database read would see it
+        jdbcTemplate.update("UPDATE order_products SET product_name = 'Changed' WHERE order_id = ?", orderId);
+        mockMvc.perform(get("/order/show/" + orderId)
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products[0].productName").value("T-Shirt"));
+
+        mockMvc.perform(delete("/order/delete/" + orderId)
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/order/show/" + orderId)
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testShowOrder_UndeliveredOrderNotCached() throws Exception {
+        Long orderId = createOrder(createOrderRequest(addressId, createOrderProduct(productId1, 1)));
+        markShipped(orderId);
+
+        mockMvc.perform(get("/order/show/" + orderId)
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products[0].productName").value("T-Shirt"));
+
+        jdbcTemplate.update("UPDATE order_products SET product_name = 'Changed' WHERE order_id = ?", orderId);
+        mockMvc.perform(get("/order/show/" + orderId)
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products[0].productName").value("Changed"));
+    }
+
+    @Test
+    void testOrderEvents_StatusTransitionsPushed() throws Exception {
+        Long orderId = createOrder(createOrderRequest(addressId, createOrderProduct(productId1, 1)));
+        MvcResult events = mockMvc.perform(get("/order/events")
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        markShipped(orderId);
+        awaitEvent(events, "{\"orderId\":" + orderId + ",\"status\":\"IN_SHIPMENT\"");
+
+        // Editing without a transition publishes nothing
+        markShipped(orderId);
+
+        BulkOrderUpdateDTO bulkRequest = new BulkOrderUpdateDTO();
+        bulkRequest.setOrderIds(List.of(orderId));
+        bulkRequest.setDeliveredAt(LocalDateTime.now());
+        mockMvc.perform(put("/order/bulk-edit")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bulkRequest)))
+                .andExpect(status().isOk());
+        awaitEvent(events, "{\"orderId\":" + orderId + ",\"status\":\"COMPLETED\"");
+
+        assertThat(events.getResponse().getContentAsString().split("event:order-status")).hasSize(3);
+    }
+
+    @Test
+    void testOrderEvents_WithoutAuth() throws Exception {
+        mockMvc.perform(get("/order/events"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void testCreateOrder_DeletedProduct() throws Exception {
+        mockMvc.perform(delete("/product/delete/" + productId2)
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isNoContent());
+
+        OrderDTO request = createOrderRequest(addressId,
+                createOrderProduct(productId1, 1),
+                createOrderProduct(productId2, 1));
+
+        mockMvc.perform(post("/order/create")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testCreateOrder_ReservesStock() throws Exception {
+        setStock(productId1, Size.M, 3);
+
+        OrderDTO request = createOrderRequest(addressId, createOrderProduct(productId1, Size.M, 2));
+
+        mockMvc.perform(post("/order/create")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.products[0].size").value("M"));
+
+        mockMvc.perform(get("/product/stock/" + productId1)
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stock.M").value(1));
+
+        stockService.flush();
+        Integer persisted = jdbcTemplate.queryForObject(
+                "SELECT quantity FROM product_stock WHERE product_id = ? AND size = 'M'", Integer.class, productId1);
+        assertThat(persisted).isEqualTo(1);
+    }
+
+    @Test
+    void testCreateOrder_InsufficientStock() throws Exception {
+        setStock(productId1, Size.L, 1);
+
+        OrderDTO request = createOrderRequest(addressId,
+                createOrderProduct(productId2, 1),
+                createOrderProduct(productId1, Size.L, 2));
+
+        mockMvc.perform(post("/order/create")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(get("/product/stock/" + productId1)
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stock.L").value(1));
+    }
+
+    @Test
+    void testCreateOrder_SizeRequiredForTrackedProduct() throws Exception {
+        setStock(productId1, Size.M, 5);
+
+        OrderDTO request = createOrderRequest(addressId, createOrderProduct(productId1, 1));
+
+        mockMvc.perform(post("/order/create")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testCreateOrder_ConcurrentCheckoutsNeverOversell() throws Exception {
+        setStock(productId1, Size.M, 3);
+        String body = objectMapper.writeValueAsString(
+                createOrderRequest(addressId, createOrderProduct(productId1, Size.M, 1)));
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            results.add(executor.submit(() -> mockMvc.perform(post("/order/create")
+                    .header("Authorization", "Bearer " + authToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(body))
+                    .andReturn().getResponse().getStatus()));
+        }
+        int created = 0;
+        for (Future<Integer> result : results) {
+            if (result.get() == 201) {
+                created++;
+            }
+        }
+        executor.shutdown();
+
+        assertThat(created).isEqualTo(3);
+        assertThat(stockService.getStock(productId1)).containsEntry(Size.M, 0);
+    }
+
+    @Test
+    void testSetStock_WhileReservationsInFlight() throws Exception {
+        setStock(productId1, Size.M, 10);
+        List<StockService.Reservation> one = List.of(new StockService.Reservation(productId1, Size.M, 1));
+
+        // Two reservations held by a transaction that has not completed yet, one to commit and one to roll back
+        TransactionSynchronizationManager.initSynchronization();
+        List<TransactionSynchronization> committing;
+        List<TransactionSynchronization> rollingBack;
+        try {
+            stockService.reserve(one);
+            committing = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationManager.clearSynchronization();
+            TransactionSynchronizationManager.initSynchronization();
+            stockService.reserve(one);
+            rollingBack = TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> stockService.setStock(productId1, Map.of(Size.M, 50))).get();
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(stockService.getStock(productId1)).containsEntry(Size.M, 50);
+
+        TransactionSynchronizationUtils.invokeAfterCompletion(committing, TransactionSynchronization.STATUS_COMMITTED);
+        TransactionSynchronizationUtils.invokeAfterCompletion(rollingBack, TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // The rolled back unit is available again, and the committed one is sold from the level that was set
+        assertThat(stockService.getStock(productId1)).containsEntry(Size.M, 51);
+        stockService.flush();
+        Integer persisted = jdbcTemplate.queryForObject(
+                "SELECT quantity FROM product_stock WHERE product_id = ? AND size = 'M'", Integer.class, productId1);
+        assertThat(persisted).isEqualTo(51);
+    }
+
+    @Test
+    void testListOrders_FilterByStatus() throws Exception {
+        Long shippedId = createOrder(createOrderRequest(addressId, createOrderProduct(productId1, 1)));
+        createOrder(createOrderRequest(addressId, createOrderProduct(productId2, 1)));
+        markShipped(shippedId);
+
+        mockMvc.perform(get("/order/list")
+                .param("status", "IN_SHIPMENT")
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(shippedId));
+
+        Long userId = userRepository.findByEmail("testorder@example.com").orElseThrow().getId();
+        mockMvc.perform(get("/order/list/" + userId)
+                .param("status", "IN_PROCESS")
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].status").value("IN_PROCESS"));
+    }
+
+    @Test
+    void testEditOrder_PersistsStatus() throws Exception {
+        Long orderId = createOrder(createOrderRequest(addressId, createOrderProduct(productId1, 1)));
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM orders WHERE id = ?", String.class, orderId))
+                .isEqualTo("IN_PROCESS");
+
+        markShipped(orderId);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM orders WHERE id = ?", String.class, orderId))
+                .isEqualTo("IN_SHIPMENT");
+    }
+
+    @Test
+    void testFulfilmentQueue_OldestFirstAcrossUsers() throws Exception {
+        Long first = createOrder(createOrderRequest(addressId, createOrderProduct(productId1, 1)));
+        Long shipped = createOrder(createOrderRequest(addressId, createOrderProduct(productId1, 1)));
+        Long second = createOrder(createOrderRequest(addressId, createOrderProduct(productId2, 1)));
+        markShipped(shipped);
+
+        mockMvc.perform(get("/order/queue")
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(first))
+                .andExpect(jsonPath("$[1].id").value(second));
+
+        mockMvc.perform(get("/order/queue")
+                .param("status", "IN_SHIPMENT")
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(shipped));
+    }
+
+    @Test
+    void testFulfilmentQueue_UsesStatusIndex() {
+        List<String> plan = jdbcTemplate.query(
+                "EXPLAIN QUERY PLAN SELECT id FROM orders WHERE status = 'IN_PROCESS' ORDER BY created_at LIMIT 20",
+                (rs, rowNum) -> rs.getString("detail"));
+
+        assertThat(plan).anyMatch(detail -> detail.contains("idx_orders_status_created_at"));
+        assertThat(plan).noneMatch(detail -> detail.contains("TEMP B-TREE"));
+    }
+
+    @Test
+    void testBulkEdit_ByIdsReportsPerIdOutcome() throws Exception {
+        Long first = createOrder(createOrderRequest(addressId, createOrderProduct(productId1, 1)));
+        Long second = createOrder(createOrderRequest(addressId, createOrderProduct(productId2, 1)));
+
+        BulkOrderUpdateDTO request = new BulkOrderUpdateDTO();
+        request.setOrderIds(List.of(first, 99999L, second));
+        request.setShippedAt(LocalDateTime.now());
+
+        mockMvc.perform(put("/order/bulk-edit")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(2))
+                .andExpect(jsonPath("$.outcomes[0].orderId").value(first))
+                .andExpect(jsonPath("$.outcomes[0].outcome").value("UPDATED"))
+                .andExpect(jsonPath("$.outcomes[1].outcome").value("NOT_FOUND"))
+                .andExpect(jsonPath("$.outcomes[2].outcome").value("UPDATED"));
+
+        mockMvc.perform(get("/order/show/" + second)
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("IN_SHIPMENT"))
+                .andExpect(jsonPath("$.shippedAt").exists());
+    }
+
+    @Test
+    void testBulkEdit_ByStatusFilter() throws Exception {
+        Long shipped = createOrder(createOrderRequest(addressId, createOrderProduct(productId1, 1)));
+        Long pending = createOrder(createOrderRequest(addressId, createOrderProduct(productId2, 1)));
+        markShipped(shipped);
+
+        BulkOrderUpdateDTO request = new BulkOrderUpdateDTO();
+        request.setStatus(OrderStatus.IN_SHIPMENT);
+        request.setDeliveredAt(LocalDateTime.now());
+
+        mockMvc.perform(put("/order/bulk-edit")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(1))
+                .andExpect(jsonPath("$.outcomes.length()").value(1))
+                .andExpect(jsonPath("$.outcomes[0].orderId").value(shipped));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM orders WHERE id = ?", String.class, shipped))
+                .isEqualTo("COMPLETED");
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM orders WHERE id = ?", String.class, pending))
+                .isEqualTo("IN_PROCESS");
+    }
+
+    @Test
+    void testBulkEdit_RejectsStatusFilterMatchingTooManyOrders() throws Exception {
+        List<Object[]> orders = new ArrayList<>();
+        for (int i = 0; i < 10001; i++) {
+            orders.add(new Object[]{Timestamp.valueOf(LocalDateTime.now().minusDays(1)), addressId});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO orders (created_at, shipped_at, status, address_id) " +
+                "VALUES (?, CURRENT_TIMESTAMP, 'IN_SHIPMENT', ?)", orders);
+        try {
+            BulkOrderUpdateDTO request = new BulkOrderUpdateDTO();
+            request.setStatus(OrderStatus.IN_SHIPMENT);
+            request.setDeliveredAt(LocalDateTime.now());
+
+            mockMvc.perform(put("/order/bulk-edit")
+                    .header("Authorization", "Bearer " + authToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isBadRequest());
+
+            assertThat(jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM orders WHERE delivered_at IS NOT NULL", Integer.class)).isZero();
+        } finally {
+            // Deleting this many orders through the repository would load each of them
+            jdbcTemplate.update("DELETE FROM orders WHERE address_id = ?", addressId);
+        }
+    }
+
+    @Test
+    void testBulkEdit_RequiresSelectionAndDates() throws Exception {
+        BulkOrderUpdateDTO request = new BulkOrderUpdateDTO();
+        request.setShippedAt(LocalDateTime.now());
+
+        mockMvc.perform(put("/order/bulk-edit")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        request.setOrderIds(List.of(1L));
+        request.setShippedAt(null);
+
+        mockMvc.perform(put("/order/bulk-edit")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Long createOrder(OrderDTO request) throws Exception {
+        MvcResult result = mockMvc.perform(post("/order/create")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), OrderDTO.class).getId();
+    }
+
+    private void awaitEvent(MvcResult events, String fragment) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!events.getResponse().getContentAsString().contains(fragment)) {
+            assertThat(System.currentTimeMillis()).as("event containing " + fragment).isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    private void markShipped(Long orderId) throws Exception {
+        OrderDTO editRequest = new OrderDTO();
+        editRequest.setShippedAt(LocalDateTime.now());
+        mockMvc.perform(put("/order/edit/" + orderId)
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(editRequest)))
+                .andExpect(status().isOk());
+    }
+
+    private void setStock(Long productId, Size size, int quantity) throws Exception {
+        ProductStockDTO stockRequest = new ProductStockDTO(null, Map.of(size, quantity));
+        mockMvc.perform(put("/product/stock/" + productId)
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(stockRequest)))
+                .andExpect(status().isOk());
+    }
+
+    private OrderProductDTO createOrderProduct(Long productId, Size size, int quantity) {
+        OrderProductDTO orderProduct = createOrderProduct(productId, quantity);
+        orderProduct.setSize(size);
+        return orderProduct;
+    }
+
     private OrderProductDTO createOrderProduct(Long productId, int quantity) {
         OrderProductDTO orderProduct = new OrderProductDTO();
         orderProduct.setProductId(productId);
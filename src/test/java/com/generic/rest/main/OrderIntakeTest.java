@@ -0,0 +1,283 @@
+package com.generic.rest.main;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.generic.rest.main.dto.AddressDTO;
+import com.generic.rest.main.dto.OrderDTO;
+import com.generic.rest.main.dto.OrderProductDTO;
+import com.generic.rest.main.dto.auth.AuthRequest;
+import com.generic.rest.main.dto.auth.AuthResponse;
+import com.generic.rest.main.model.Address;
+import com.generic.rest.main.model.Order;
+import com.generic.rest.main.model.OrderProduct;
+import com.generic.rest.main.model.Product;
+import com.generic.rest.main.model.User;
+import com.generic.rest.main.model.enums.Gender;
+import com.generic.rest.main.model.enums.ProductType;
+import com.generic.rest.main.model.enums.Role;
+import com.generic.rest.main.model.enums.Size;
+import com.generic.rest.main.repository.AddressRepository;
+import com.generic.rest.main.repository.OrderRepository;
+import com.generic.rest.main.repository.ProductRepository;
+import com.generic.rest.main.repository.UserRepository;
+import com.generic.rest.main.service.OrderIntakeService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@SpringBootTest(properties = {
+        "app.orders.journal.enabled=true",
+        "app.orders.journal.path=${java.io.tmpdir}/orders-${random.uuid}.journal",
+        "app.orders.journal.size-mb=1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OrderIntakeTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderIntakeService orderIntakeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private String authToken;
+    private Long addressId;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        addressRepository.deleteAll();
+        userRepository.deleteAll();
+
+        AuthRequest signupRequest = new AuthRequest();
+        signupRequest.setFirstName("Journal");
+        signupRequest.setLastName("User");
+        signupRequest.setEmail("journal@example.com");
+        signupRequest.setPassword("TestPassword123");
+
+        MvcResult authResult = mockMvc.perform(post("/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(signupRequest)))
+                .andExpect(status().isOk())
+                .andReturn();
+        authToken = objectMapper.readValue(authResult.getResponse().getContentAsString(), AuthResponse.class)
+                .getAccessToken();
+
+        User user = userRepository.findByEmail("journal@example.com").orElseThrow();
+        user.setRole(Role.ADMIN);
+        userRepository.save(user);
+
+        AddressDTO addressRequest = new AddressDTO();
+        addressRequest.setFirstName("John");
+        addressRequest.setLastName("Doe");
+        addressRequest.setAddress("123 Main St");
+        addressRequest.setZipCode("12345");
+
+        MvcResult addressResult = mockMvc.perform(post("/account/address/create")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(addressRequest)))
+                .andExpect(status().isOk())
+                .andReturn();
+        addressId = objectMapper.readValue(addressResult.getResponse().getContentAsString(), AddressDTO.class).getId();
+
+        Product product = new Product("T-Shirt", "Cotton tee", null, null,
+                ProductType.TEE, Gender.BOTH, 29.99f, List.of(Size.S, Size.M));
+        productId = productRepository.save(product).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Other test classes delete addresses without deleting their orders first
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    void testCreateOrder_ReadableAsSoonAsAcknowledged() throws Exception {
+        OrderDTO response = createOrder(2);
+
+        assertThat(response.getId()).isNotNull();
+        assertThat(response.getTotal()).isEqualTo(59.98f);
+
+        mockMvc.perform(get("/order/show/" + response.getId())
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(response.getId()))
+                .andExpect(jsonPath("$.products[0].size").value("M"))
+                .andExpect(jsonPath("$.products[0].quantity").value(2));
+    }
+
+    @Test
+    void testCreateOrder_ShowAndEditRightAfterCreate() throws Exception {
+        OrderDTO response = createOrder(1);
+
+        mockMvc.perform(get("/order/show/" + response.getId())
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("IN_PROCESS"));
+
+        OrderDTO editRequest = new OrderDTO();
+        editRequest.setShippedAt(LocalDateTime.now());
+
+        mockMvc.perform(put("/order/edit/" + response.getId())
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(editRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("IN_SHIPMENT"));
+    }
+
+    @Test
+    void testCreateOrder_ConcurrentOrdersGetDistinctIdsAndAreAllApplied() throws Exception {
+        int orders = 20;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<OrderDTO>> results = new ArrayList<>();
+            for (int i = 0; i < orders; i++) {
+                results.add(executor.submit(() -> createOrder(1)));
+            }
+            Set<Long> ids = new HashSet<>();
+            for (Future<OrderDTO> result : results) {
+                ids.add(result.get().getId());
+            }
+            assertThat(ids).hasSize(orders);
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(orderRepository.count()).isEqualTo(orders);
+        Integer lines = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_products", Integer.class);
+        assertThat(lines).isEqualTo(orders);
+    }
+
+    @Test
+    void testWriter_DeadLettersFailingOrderAndAppliesTheRest() throws Exception {
+        Address address = addressRepository.findById(addressId).orElseThrow();
+        Product product = productRepository.findById(productId).orElseThrow();
+
+        // A line without a quantity can never be inserted
+        Order bad = new Order(LocalDateTime.now(), address);
+        long badSequence = orderIntakeService.submit(bad, List.of(new OrderProduct(bad, product, null, 29.99f)));
+        Order good = new Order(LocalDateTime.now(), address);
+        long goodSequence = orderIntakeService.submit(good, List.of(new OrderProduct(good, product, 1, 29.99f)));
+
+        assertThat(orderIntakeService.awaitApplied(badSequence)).isFalse();
+        assertThat(orderIntakeService.awaitApplied(goodSequence)).isTrue();
+
+        assertThat(orderRepository.findById(bad.getId())).isEmpty();
+        assertThat(orderRepository.findById(good.getId())).isPresent();
+        Long deadLetterOrderId = jdbcTemplate.queryForObject(
+                "SELECT order_id FROM order_journal_dead_letters WHERE sequence = ?", Long.class, badSequence);
+        assertThat(deadLetterOrderId).isEqualTo(bad.getId());
+
+        // Orders behind the dead letter are still accepted
+        OrderDTO response = createOrder(1);
+        mockMvc.perform(get("/order/show/" + response.getId())
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @Timeout(60)
+    void testSubmit_FullJournalRejectsInsteadOfWaitingInsideTheTransaction() throws Exception {
+        Address address = addressRepository.findById(addressId).orElseThrow();
+        Product product = productRepository.findById(productId).orElseThrow();
+
+        // The transaction holds the only connection, so the writer cannot drain the journal meanwhile
+        List<Long> sequences = new ArrayList<>();
+        ResponseStatusException rejected = transactionTemplate.execute(status -> {
+            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders", Integer.class);
+            for (int i = 0; i < 1000; i++) {
+                Order order = new Order(LocalDateTime.now(), address);
+                List<OrderProduct> lines = new ArrayList<>();
+                for (int line = 0; line < 100; line++) {
+                    lines.add(new OrderProduct(order, product, 1, 29.99f));
+                }
+                try {
+                    sequences.add(orderIntakeService.submit(order, lines));
+                } catch (ResponseStatusException e) {
+                    return e;
+                }
+            }
+            return null;
+        });
+
+        assertThat(rejected).isNotNull();
+        assertThat(rejected.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(orderIntakeService.awaitApplied(sequences.get(sequences.size() - 1))).isTrue();
+        assertThat(orderRepository.count()).isEqualTo(sequences.size());
+
+        // The journal is rewound once the writer has caught up
+        OrderDTO response = createOrder(1);
+        assertThat(orderRepository.findById(response.getId())).isPresent();
+    }
+
+    private OrderDTO createOrder(int quantity) throws Exception {
+        OrderProductDTO line = new OrderProductDTO();
+        line.setProductId(productId);
+        line.setSize(Size.M);
+        line.setQuantity(quantity);
+
+        OrderDTO request = new OrderDTO();
+        AddressDTO addressDto = new AddressDTO();
+        addressDto.setId(addressId);
+        request.setAddress(addressDto);
+        request.setProducts(List.of(line));
+
+        MvcResult result = mockMvc.perform(post("/order/create")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), OrderDTO.class);
+    }
+}
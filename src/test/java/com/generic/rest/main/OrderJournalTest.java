@@ -0,0 +1,103 @@
+package com.generic.rest.main;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.generic.rest.main.service.OrderJournal;
+
+class OrderJournalTest {
+
+    private static final int CAPACITY = 4096;
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    void testRecover_ReturnsAppendedRecordsInOrder() throws Exception {
+        Path path = dir.resolve("orders.journal");
+        try (OrderJournal journal = new OrderJournal(path, CAPACITY)) {
+            journal.recover();
+            assertThat(journal.tryAppend(bytes("first"))).isEqualTo(1);
+            assertThat(journal.tryAppend(bytes("second"))).isEqualTo(2);
+            journal.awaitDurable(2);
+        }
+
+        try (OrderJournal journal = new OrderJournal(path, CAPACITY)) {
+            List<OrderJournal.Record> records = journal.recover();
+            assertThat(records).extracting(OrderJournal.Record::sequence).containsExactly(1L, 2L);
+            assertThat(new String(records.get(1).payload(), StandardCharsets.UTF_8)).isEqualTo("second");
+            assertThat(journal.tryAppend(bytes("third"))).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void testRecover_StopsAtTornRecord() throws Exception {
+        Path path = dir.resolve("orders.journal");
+        try (OrderJournal journal = new OrderJournal(path, CAPACITY)) {
+            journal.recover();
+            journal.tryAppend(bytes("first"));
+            journal.tryAppend(bytes("second"));
+        }
+
+        // Corrupt one payload byte of the second record: 16 byte header, then 16 + 5 bytes for the first record
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(16 + 16 + 5 + 16);
+            file.write('X');
+        }
+
+        try (OrderJournal journal = new OrderJournal(path, CAPACITY)) {
+            assertThat(journal.recover()).extracting(OrderJournal.Record::sequence).containsExactly(1L);
+            assertThat(journal.tryAppend(bytes("replacement"))).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void testResetIfApplied_RewindsOnlyOnceEverythingIsApplied() throws Exception {
+        Path path = dir.resolve("orders.journal");
+        try (OrderJournal journal = new OrderJournal(path, CAPACITY)) {
+            journal.recover();
+            journal.tryAppend(bytes("first"));
+            journal.tryAppend(bytes("second"));
+
+            assertThat(journal.resetIfApplied(1)).isFalse();
+            assertThat(journal.resetIfApplied(2)).isTrue();
+            assertThat(journal.tryAppend(bytes("third"))).isEqualTo(3);
+        }
+
+        try (OrderJournal journal = new OrderJournal(path, CAPACITY)) {
+            // Records from before the rewind are not replayed
+            assertThat(journal.recover()).extracting(OrderJournal.Record::sequence).containsExactly(3L);
+        }
+    }
+
+    @Test
+    void testTryAppend_FullJournal() throws Exception {
+        try (OrderJournal journal = new OrderJournal(dir.resolve("orders.journal"), 64)) {
+            journal.recover();
+            assertThat(journal.tryAppend(new byte[24])).isEqualTo(1);
+            assertThat(journal.tryAppend(new byte[24])).isEqualTo(-1);
+            assertThat(journal.resetIfApplied(1)).isTrue();
+            assertThat(journal.tryAppend(new byte[24])).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void testAdvanceSequence_ContinuesAfterAppliedSequence() throws Exception {
+        try (OrderJournal journal = new OrderJournal(dir.resolve("orders.journal"), CAPACITY)) {
+            journal.recover();
+            journal.advanceSequence(41);
+            assertThat(journal.tryAppend(bytes("next"))).isEqualTo(42);
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,149 @@
+package com.generic.rest.main;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.generic.rest.main.model.Collection;
+import com.generic.rest.main.model.Product;
+import com.generic.rest.main.model.ProductImage;
+import com.generic.rest.main.model.enums.CatalogEntityType;
+import com.generic.rest.main.model.enums.Gender;
+import com.generic.rest.main.model.enums.ProductType;
+import com.generic.rest.main.model.enums.Size;
+import com.generic.rest.main.repository.CollectionRepository;
+import com.generic.rest.main.repository.OrderRepository;
+import com.generic.rest.main.repository.ProductRepository;
+import com.generic.rest.main.service.CatalogChangeLog;
+import com.generic.rest.main.service.ProductArchiveService;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductArchiveTest {
+
+    @Autowired
+    private ProductArchiveService productArchiveService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CollectionRepository collectionRepository;
+
+    @Autowired
+    private CatalogChangeLog catalogChangeLog;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Long> orderIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        for (Long orderId : orderIds) {
+            jdbcTemplate.update("DELETE FROM order_products WHERE order_id = ?", orderId);
+            jdbcTemplate.update("DELETE FROM orders WHERE id = ?", orderId);
+        }
+    }
+
+    @Test
+    void testArchive_MovesProductsPastRetention() {
+        Long collectionId = collectionRepository.save(new Collection("Archive")).getId();
+        Long oldId = createProduct("Old Tee");
+        Long recentId = createProduct("Recent Tee");
+        Long activeId = createProduct("Active Tee");
+        jdbcTemplate.update("INSERT INTO collection_products (collection_id, product_id) VALUES (?, ?)",
+                collectionId, oldId);
+        softDelete(oldId, LocalDateTime.now().minusDays(120));
+        softDelete(recentId, LocalDateTime.now().minusDays(10));
+        long version = catalogChangeLog.currentVersion();
+
+        assertThat(productArchiveService.archive()).isEqualTo(1);
+
+        assertThat(productExists(oldId)).isFalse();
+        assertThat(productExists(recentId)).isTrue();
+        assertThat(productExists(activeId)).isTrue();
+        assertThat(jdbcTemplate.queryForObject("SELECT name FROM products_archive WHERE id = ?", String.class, oldId))
+                .isEqualTo("Old Tee");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT url FROM product_images_archive WHERE product_id = ?", String.class, oldId))
+                .isEqualTo("https://example.com/old-tee.jpg");
+        assertThat(count("SELECT COUNT(*) FROM product_images WHERE product_id = ?", oldId)).isZero();
+        assertThat(count("SELECT COUNT(*) FROM collection_products WHERE product_id = ?", oldId)).isZero();
+        assertThat(catalogChangeLog.findSince(version, 10))
+                .extracting(CatalogChangeLog.Change::type, CatalogChangeLog.Change::entityId)
+                .containsExactly(tuple(CatalogEntityType.COLLECTION, collectionId));
+
+        // Nothing left past the window
+        assertThat(productArchiveService.archive()).isZero();
+    }
+
+    @Test
+    void testArchive_KeepsOrderedProducts() {
+        Long productId = createProduct("Ordered Tee");
+        softDelete(productId, LocalDateTime.now().minusDays(120));
+        Long openOrderId = createOrder(productId, "IN_PROCESS");
+        Long completedOrderId = createOrder(productId, "COMPLETED");
+
+        assertThat(productArchiveService.archive()).isZero();
+        assertThat(productExists(productId)).isTrue();
+
+        // Order lines still resolve their product, whatever the order's status
+        for (Long orderId : List.of(openOrderId, completedOrderId)) {
+            List<String> productNames = transactionTemplate.execute(status ->
+                    orderRepository.findById(orderId).orElseThrow().getOrderProducts().stream()
+                            .map(line -> line.getProduct().getName())
+                            .toList());
+            assertThat(productNames).containsExactly("Ordered Tee");
+        }
+    }
+
+    private Long createProduct(String name) {
+        Product product = new Product(name, "Cotton tee", null, null, ProductType.TEE, Gender.MALE, 20f,
+                List.of(Size.M));
+        product.addImage(new ProductImage(product,
+                "https://example.com/" + name.toLowerCase().replace(' ', '-') + ".jpg", true));
+        return productRepository.save(product).getId();
+    }
+
+    private void softDelete(Long productId, LocalDateTime deletedAt) {
+        jdbcTemplate.update("UPDATE products SET deleted_at = ? WHERE id = ?", Timestamp.valueOf(deletedAt), productId);
+    }
+
+    private Long createOrder(Long productId, String status) {
+        Long orderId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM orders", Long.class);
+        jdbcTemplate.update("INSERT INTO orders (id, created_at, status, address_id) VALUES (?, ?, ?, ?)",
+                orderId, Timestamp.valueOf(LocalDateTime.now()), status, 0);
+        jdbcTemplate.update("INSERT INTO order_products (order_id, product_id, product_name, product_image_url, " +
+                "quantity, price_at_purchase, size) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                orderId, productId, "Ordered Tee", null, 1, 20f, Size.M.name());
+        orderIds.add(orderId);
+        return orderId;
+    }
+
+    private boolean productExists(Long productId) {
+        return count("SELECT COUNT(*) FROM products WHERE id = ?", productId) > 0;
+    }
+
+    private int count(String sql, Long productId) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, productId);
+    }
+}
@@ -0,0 +1,96 @@
+package com.generic.rest.main;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.hamcrest.Matchers;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.generic.rest.main.dto.CollectionDTO;
+import com.generic.rest.main.service.CollectionService;
+import com.generic.rest.main.service.FieldSelection;
+import com.generic.rest.main.service.ProductService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProductBatchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CollectionService collectionService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void testBatch_ReturnsActiveProductsInRequestOrder() throws Exception {
+        CollectionDTO collection = new CollectionDTO();
+        collection.setName("Batch Collection");
+        Long collectionId = collectionService.createCollection(collection).getId();
+
+        Long firstId = TestProducts.named("Batch Tee").collections(collectionId).create(productService);
+        Long secondId = TestProducts.named("Batch Dress").create(productService);
+        Long deletedId = TestProducts.named("Batch Jacket").create(productService);
+        productService.deleteProduct(deletedId);
+
+        mockMvc.perform(get("/product/batch")
+                .param("ids", secondId + "," + deletedId + "," + firstId + ",999999," + secondId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products[*].id", Matchers.contains(secondId.intValue(), firstId.intValue())))
+                .andExpect(jsonPath("$.products[1].name").value("Batch Tee"))
+                .andExpect(jsonPath("$.products[1].images[0].url").value(TestProducts.IMAGE_URL))
+                .andExpect(jsonPath("$.products[1].collectionIds", Matchers.contains(collectionId.intValue())))
+                .andExpect(jsonPath("$.products[0].collectionIds.length()").value(0))
+                .andExpect(jsonPath("$.missingIds", Matchers.contains(deletedId.intValue(), 999999)));
+    }
+
+    @Test
+    void testBatch_QueryCountDoesNotGrowWithProducts() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ids.add(TestProducts.named("Counted Product " + i).create(productService));
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long before = statistics.getPrepareStatementCount();
+        long entitiesBefore = statistics.getEntityLoadCount();
+        assertThat(productService.getProductBatch(ids, FieldSelection.all()).getProducts()).hasSize(10);
+        // Products, images and collection ids, all projected without loading entities
+        assertThat(statistics.getPrepareStatementCount() - before).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(entitiesBefore);
+    }
+
+    @Test
+    void testBatch_Validation() throws Exception {
+        String tooMany = LongStream.rangeClosed(1, 101)
+                .mapToObj(Long::toString)
+                .collect(Collectors.joining(","));
+        mockMvc.perform(get("/product/batch").param("ids", tooMany))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/product/batch"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/product/batch").param("ids", "1,abc"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,124 @@
+package com.generic.rest.main;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.generic.rest.main.model.enums.Gender;
+import com.generic.rest.main.model.enums.ProductType;
+import com.generic.rest.main.model.enums.Size;
+import com.generic.rest.main.service.ProductColumnScan;
+import com.generic.rest.main.service.ProductColumnVectorScan;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// Scans synthetic columns directly, without Spring. The timed run only runs with -Pbenchmark.
+class ProductColumnScanBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductColumnScanBenchmarkTest.class);
+
+    private static final int ROUNDS = 50;
+
+    private static final List<ProductColumnScan.Criteria> CRITERIA = List.of(
+            criteria(null, null, null, null, null),
+            criteria(ProductType.TEE, null, null, null, null),
+            criteria(null, Gender.FEMALE, Size.M, null, null),
+            criteria(ProductType.DRESS, Gender.BOTH, Size.XS, 20f, 80f),
+            criteria(null, null, null, 49.5f, 50.5f));
+
+    @Test
+    void testScan_VectorMatchesScalar() {
+        assumeTrue(ProductColumnScan.VECTORIZED, "run with --add-modules jdk.incubator.vector");
+        // Not a multiple of the 64-slot block, so the scalar tail is covered too
+        Columns columns = columns(10_007);
+        for (ProductColumnScan.Criteria criteria : CRITERIA) {
+            int[] scalar = new int[columns.count];
+            int[] vector = new int[columns.count];
+            int scalarMatched = columns.scanScalar(criteria, scalar);
+            int vectorMatched = columns.scanVector(criteria, vector);
+
+            assertEquals(scalarMatched, vectorMatched, criteria.toString());
+            assertArrayEquals(Arrays.copyOf(scalar, scalarMatched), Arrays.copyOf(vector, vectorMatched),
+                    criteria.toString());
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    void testScan_LargeCatalog() {
+        assumeTrue(ProductColumnScan.VECTORIZED, "run with --add-modules jdk.incubator.vector");
+        Columns columns = columns(1_000_000);
+        int[] matches = new int[columns.count];
+        for (ProductColumnScan.Criteria criteria : CRITERIA) {
+            // Warm both paths up before timing them
+            for (int i = 0; i < ROUNDS; i++) {
+                columns.scanScalar(criteria, matches);
+                columns.scanVector(criteria, matches);
+            }
+            long scalarStart = System.nanoTime();
+            for (int i = 0; i < ROUNDS; i++) {
+                columns.scanScalar(criteria, matches);
+            }
+            double scalarMillis = (System.nanoTime() - scalarStart) / 1_000_000.0 / ROUNDS;
+            long vectorStart = System.nanoTime();
+            for (int i = 0; i < ROUNDS; i++) {
+                columns.scanVector(criteria, matches);
+            }
+            double vectorMillis = (System.nanoTime() - vectorStart) / 1_000_000.0 / ROUNDS;
+            log.info("Column scan of {} products, {}: scalar {} ms, vector {} ms", columns.count, criteria,
+                    String.format("%.3f", scalarMillis), String.format("%.3f", vectorMillis));
+        }
+    }
+
+    private static ProductColumnScan.Criteria criteria(ProductType type, Gender gender, Size size,
+                                                       Float minPrice, Float maxPrice) {
+        return new ProductColumnScan.Criteria(
+                type != null ? (byte) type.ordinal() : ProductColumnScan.ANY,
+                gender != null ? (byte) gender.ordinal() : ProductColumnScan.ANY,
+                size != null ? 1 << size.ordinal() : 0,
+                minPrice != null ? minPrice : Float.NEGATIVE_INFINITY,
+                maxPrice != null ? maxPrice : Float.POSITIVE_INFINITY);
+    }
+
+    private static Columns columns(int count) {
+        Random random = new Random(42);
+        Columns columns = new Columns(count);
+        for (int i = 0; i < count; i++) {
+            columns.prices[i] = random.nextInt(10_000) / 100f;
+            columns.types[i] = (byte) random.nextInt(ProductType.values().length);
+            columns.genders[i] = (byte) random.nextInt(Gender.values().length);
+            columns.sizeMasks[i] = random.nextInt(1 << Size.values().length);
+        }
+        return columns;
+    }
+
+    private static final class Columns {
+        final int count;
+        final float[] prices;
+        final byte[] types;
+        final byte[] genders;
+        final int[] sizeMasks;
+
+        Columns(int count) {
+            this.count = count;
+            this.prices = new float[count];
+            this.types = new byte[count];
+            this.genders = new byte[count];
+            this.sizeMasks = new int[count];
+        }
+
+        int scanScalar(ProductColumnScan.Criteria criteria, int[] matches) {
+            return ProductColumnScan.scanScalar(prices, types, genders, sizeMasks, 0, count, criteria, matches, 0);
+        }
+
+        int scanVector(ProductColumnScan.Criteria criteria, int[] matches) {
+            return ProductColumnVectorScan.scan(prices, types, genders, sizeMasks, count, criteria, matches);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.generic.rest.main;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.generic.rest.main.dto.ProductDTO;
+import com.generic.rest.main.model.enums.Gender;
+import com.generic.rest.main.model.enums.ProductType;
+import com.generic.rest.main.model.enums.Size;
+import com.generic.rest.main.repository.ProductRepository;
+import com.generic.rest.main.service.ProductService;
+
+import java.util.List;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProductColumnarListTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Long cheapTeeId;
+    private Long dressId;
+
+    @BeforeEach
+    void setUp() {
+        // Removed behind the store's back; listings must not return them
+        productRepository.deleteAll();
+
+        TestProducts.named("Columnar TEE").type(ProductType.TEE).gender(Gender.MALE)
+                .price(50f).sizes(List.of(Size.M)).create(productService);
+        cheapTeeId = TestProducts.named("Columnar TEE").type(ProductType.TEE).gender(Gender.MALE)
+                .price(10f).sizes(List.of(Size.S, Size.M)).create(productService);
+        TestProducts.named("Columnar SHIRT").type(ProductType.SHIRT).gender(Gender.FEMALE)
+                .price(40f).sizes(List.of(Size.L)).create(productService);
+        dressId = TestProducts.named("Columnar DRESS").type(ProductType.DRESS).gender(Gender.FEMALE)
+                .price(20f).sizes(List.of(Size.XS)).create(productService);
+        TestProducts.named("Columnar TEE").type(ProductType.TEE).gender(Gender.BOTH)
+                .price(30f).sizes(List.of(Size.XL)).create(productService);
+    }
+
+    @Test
+    void testList_SortedByPriceAcrossPages() throws Exception {
+        mockMvc.perform(get("/product/list").param("sort", "PRICE_ASC").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].price", Matchers.contains(10.0, 20.0)));
+        mockMvc.perform(get("/product/list").param("sort", "PRICE_ASC").param("size", "2").param("page", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].price", Matchers.contains(30.0, 40.0)));
+        mockMvc.perform(get("/product/list").param("sort", "PRICE_ASC").param("size", "2").param("page", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get("/product/list").param("sort", "PRICE_DESC").param("size", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].price", Matchers.contains(50.0, 40.0, 30.0)));
+    }
+
+    @Test
+    void testList_FiltersMatchColumns() throws Exception {
+        mockMvc.perform(get("/product/list").param("type", "TEE").param("maxPrice", "30").param("sort", "PRICE_DESC"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].price", Matchers.contains(30.0, 10.0)));
+        // S must not match XS
+        mockMvc.perform(get("/product/list").param("productSize", "S"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(cheapTeeId));
+        mockMvc.perform(get("/product/list").param("gender", "FEMALE").param("minPrice", "15").param("maxPrice", "25"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(dressId));
+    }
+
+    @Test
+    void testList_FollowsProductWrites() throws Exception {
+        ProductDTO edit = new ProductDTO();
+        edit.setPrice(5f);
+        productService.editProduct(dressId, edit);
+        productService.deleteProduct(cheapTeeId);
+
+        mockMvc.perform(get("/product/list").param("sort", "PRICE_ASC"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].id").value(dressId))
+                .andExpect(jsonPath("$[*].id", Matchers.not(Matchers.hasItem(cheapTeeId.intValue()))));
+    }
+}
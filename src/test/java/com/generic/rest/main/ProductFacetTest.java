@@ -0,0 +1,118 @@
+package com.generic.rest.main;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.generic.rest.main.dto.ProductDTO;
+import com.generic.rest.main.dto.ProductFacetsDTO;
+import com.generic.rest.main.model.enums.Gender;
+import com.generic.rest.main.model.enums.ProductType;
+import com.generic.rest.main.model.enums.Size;
+import com.generic.rest.main.service.ProductService;
+
+import java.util.List;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProductFacetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductService productService;
+
+    // Other tests share the database, so counts are compared against a baseline
+    @Test
+    void testFacets_CountsFollowProductWrites() throws Exception {
+        ProductFacetsDTO before = facets(get("/product/facets"));
+
+        TestProducts.named("Facet TEE").type(ProductType.TEE).gender(Gender.MALE)
+                .price(20f).sizes(List.of(Size.S, Size.M)).create(productService);
+        Long shirtId = TestProducts.named("Facet SHIRT").type(ProductType.SHIRT).gender(Gender.FEMALE)
+                .price(60f).sizes(List.of(Size.M)).create(productService);
+        Long dressId = TestProducts.named("Facet DRESS").type(ProductType.DRESS).gender(Gender.FEMALE)
+                .price(150f).sizes(List.of(Size.XS)).create(productService);
+
+        ProductFacetsDTO created = facets(get("/product/facets"));
+        assertThat(created.getTotal() - before.getTotal()).isEqualTo(3);
+        assertThat(delta(created.getTypes().get(ProductType.TEE), before.getTypes().get(ProductType.TEE))).isEqualTo(1);
+        assertThat(delta(created.getGenders().get(Gender.FEMALE), before.getGenders().get(Gender.FEMALE))).isEqualTo(2);
+        assertThat(delta(created.getSizes().get(Size.M), before.getSizes().get(Size.M))).isEqualTo(2);
+        assertThat(created.getPrices()).hasSize(5);
+        assertThat(created.getPrices().get(4).getMinPrice()).isEqualTo(200f);
+        assertThat(created.getPrices().get(4).getMaxPrice()).isNull();
+        assertThat(delta(created.getPrices().get(0).getCount(), before.getPrices().get(0).getCount())).isEqualTo(1);
+        assertThat(delta(created.getPrices().get(2).getCount(), before.getPrices().get(2).getCount())).isEqualTo(1);
+        assertThat(delta(created.getPrices().get(3).getCount(), before.getPrices().get(3).getCount())).isEqualTo(1);
+
+        ProductDTO edit = new ProductDTO();
+        edit.setPrice(30f);
+        productService.editProduct(dressId, edit);
+        productService.deleteProduct(shirtId);
+
+        ProductFacetsDTO changed = facets(get("/product/facets"));
+        assertThat(changed.getTotal() - before.getTotal()).isEqualTo(2);
+        assertThat(delta(changed.getTypes().get(ProductType.SHIRT), before.getTypes().get(ProductType.SHIRT))).isZero();
+        assertThat(delta(changed.getPrices().get(1).getCount(), before.getPrices().get(1).getCount())).isEqualTo(1);
+        assertThat(delta(changed.getPrices().get(3).getCount(), before.getPrices().get(3).getCount())).isZero();
+    }
+
+    @Test
+    void testFacets_FacetCountsIgnoreTheirOwnFilter() throws Exception {
+        MockHttpServletRequestBuilder femaleUnder50 = get("/product/facets")
+                .param("gender", "FEMALE").param("maxPrice", "50");
+        ProductFacetsDTO before = facets(femaleUnder50);
+
+        TestProducts.named("Facet PANTS").type(ProductType.PANTS).gender(Gender.FEMALE)
+                .price(40f).sizes(List.of(Size.L)).create(productService);
+        TestProducts.named("Facet PANTS").type(ProductType.PANTS).gender(Gender.MALE)
+                .price(45f).sizes(List.of(Size.L)).create(productService);
+        TestProducts.named("Facet PANTS").type(ProductType.PANTS).gender(Gender.FEMALE)
+                .price(90f).sizes(List.of(Size.L)).create(productService);
+
+        ProductFacetsDTO after = facets(femaleUnder50);
+        assertThat(after.getTotal() - before.getTotal()).isEqualTo(1);
+        assertThat(delta(after.getTypes().get(ProductType.PANTS), before.getTypes().get(ProductType.PANTS))).isEqualTo(1);
+        // Gender counts drop the gender filter but keep the price filter
+        assertThat(delta(after.getGenders().get(Gender.MALE), before.getGenders().get(Gender.MALE))).isEqualTo(1);
+        assertThat(delta(after.getGenders().get(Gender.FEMALE), before.getGenders().get(Gender.FEMALE))).isEqualTo(1);
+        // Price counts drop the price filter but keep the gender filter
+        assertThat(delta(after.getPrices().get(1).getCount(), before.getPrices().get(1).getCount())).isEqualTo(1);
+        assertThat(delta(after.getPrices().get(2).getCount(), before.getPrices().get(2).getCount())).isEqualTo(1);
+    }
+
+    @Test
+    void testFacets_Public() throws Exception {
+        mockMvc.perform(get("/product/facets").param("type", "TEE").param("productSize", "M"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.types.TEE").exists())
+                .andExpect(jsonPath("$.sizes.M").exists());
+    }
+
+    private ProductFacetsDTO facets(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), ProductFacetsDTO.class);
+    }
+
+    private static long delta(long after, long before) {
+        return after - before;
+    }
+}
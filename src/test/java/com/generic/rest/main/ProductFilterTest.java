@@ -0,0 +1,157 @@
+package com.generic.rest.main;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.generic.rest.main.model.Collection;
+import com.generic.rest.main.model.Product;
+import com.generic.rest.main.model.enums.Gender;
+import com.generic.rest.main.model.enums.ProductType;
+import com.generic.rest.main.model.enums.Size;
+import com.generic.rest.main.repository.CollectionRepository;
+import com.generic.rest.main.repository.ProductRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// The columnar store and the search cache would serve most of these listings without SQL, and
+// fuzzy matches would add close names to the exact filter results
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.generic.rest.main.ProductFilterTest$CapturingInspector",
+        "app.products.columnar.enabled=false",
+        "app.products.fuzzy.enabled=false",
+        "app.products.search-cache.enabled=false"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProductFilterTest {
+
+    public static class CapturingInspector implements StatementInspector {
+
+        static final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CollectionRepository collectionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long teeId;
+    private Long dressId;
+    private Long collectionId;
+
+    @BeforeEach
+    void setUp() {
+        collectionRepository.deleteAll();
+        productRepository.deleteAll();
+
+        teeId = productRepository.save(new Product("Basic Tee", "Cotton tee", null, null,
+                ProductType.TEE, Gender.MALE, 20f, List.of(Size.S, Size.M))).getId();
+        dressId = productRepository.save(new Product("Summer Dress", "Linen dress", null, null,
+                ProductType.DRESS, Gender.FEMALE, 80f, List.of(Size.XS))).getId();
+        productRepository.save(new Product("Oversized Tee", "Heavy tee", null, null,
+                ProductType.TEE, Gender.BOTH, 35f, List.of(Size.XL)));
+
+        collectionId = collectionRepository.save(new Collection("Summer")).getId();
+        jdbcTemplate.update("INSERT INTO collection_products (collection_id, product_id) VALUES (?, ?)",
+                collectionId, dressId);
+    }
+
+    @Test
+    void testListProducts_FilterByGender() throws Exception {
+        mockMvc.perform(get("/product/list").param("gender", "FEMALE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(dressId));
+    }
+
+    @Test
+    void testListProducts_FilterBySize() throws Exception {
+        // S must not match XS
+        mockMvc.perform(get("/product/list").param("productSize", "S"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(teeId));
+    }
+
+    @Test
+    void testListProducts_FilterByCollection() throws Exception {
+        mockMvc.perform(get("/product/list").param("collectionId", collectionId.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(dressId));
+    }
+
+    @Test
+    void testListProducts_CombinedFilters() throws Exception {
+        mockMvc.perform(get("/product/list")
+                .param("name", "tee")
+                .param("type", "TEE")
+                .param("maxPrice", "30"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(teeId));
+    }
+
+    @Test
+    void testListProducts_CommonCombinationsUseIndexes() throws Exception {
+        assertUsesIndex(get("/product/list").param("type", "TEE"), "idx_products_active_type");
+        assertUsesIndex(get("/product/list").param("gender", "MALE"), "idx_products_active_gender_price");
+        assertUsesIndex(get("/product/list").param("type", "TEE").param("gender", "MALE"),
+                "idx_products_active_type_gender_price");
+        assertUsesIndex(get("/product/list").param("type", "TEE").param("minPrice", "10").param("maxPrice", "50"),
+                "idx_products_active_type_price");
+        assertUsesIndex(get("/product/list").param("gender", "FEMALE").param("maxPrice", "50"),
+                "idx_products_active_gender_price");
+        assertUsesIndex(get("/product/list").param("minPrice", "10").param("maxPrice", "50"), "idx_products_active_price");
+        // Served by the (collection_id, product_id) primary key of the join table
+        assertUsesIndex(get("/product/list").param("collectionId", collectionId.toString()),
+                "INDEX sqlite_autoindex_collection_products_1 (collection_id=?)");
+    }
+
+    private void assertUsesIndex(MockHttpServletRequestBuilder request, String index) throws Exception {
+        CapturingInspector.statements.clear();
+        mockMvc.perform(request).andExpect(status().isOk());
+
+        List<String> productQueries = new ArrayList<>();
+        for (String sql : CapturingInspector.statements) {
+            if (sql.startsWith("select") && sql.contains(" from products ")) {
+                productQueries.add(sql);
+            }
+        }
+        assertThat(productQueries).isNotEmpty();
+
+        // Only the shape of the statement matters for the plan, not the bound values
+        String listQuery = productQueries.get(0).replace("?", "0");
+        List<String> plan = jdbcTemplate.query("EXPLAIN QUERY PLAN " + listQuery,
+                (rs, rowNum) -> rs.getString("detail"));
+
+        assertThat(plan).as(listQuery).anyMatch(detail -> detail.contains(index));
+        assertThat(plan).as(listQuery).noneMatch(detail -> detail.matches("SCAN p\\d+_0"));
+    }
+}
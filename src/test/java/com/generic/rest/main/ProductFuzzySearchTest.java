@@ -0,0 +1,91 @@
+package com.generic.rest.main;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.generic.rest.main.dto.ProductDTO;
+import com.generic.rest.main.dto.ProductImageDTO;
+import com.generic.rest.main.model.enums.Gender;
+import com.generic.rest.main.model.enums.ProductType;
+import com.generic.rest.main.model.enums.Size;
+import com.generic.rest.main.service.ProductService;
+
+import java.util.List;
+
+// Other tests share the index, so names use words nothing else contains
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProductFuzzySearchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    void testListProducts_MisspelledNameFindsCloseMatches() throws Exception {
+        Long productId = createProduct("Pangolin Hoodie", "Warm fleece", ProductType.JACKET);
+
+        mockMvc.perform(get("/product/list").param("name", "pangolni"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", Matchers.contains(productId.intValue())));
+        mockMvc.perform(get("/product/list").param("name", "pangolin hodie"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", Matchers.contains(productId.intValue())));
+        // Other filters still apply to close matches
+        mockMvc.perform(get("/product/list").param("name", "pangolni").param("type", "TEE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void testListProducts_ExactMatchesComeFirst() throws Exception {
+        Long closeId = createProduct("Axolotl Tee", "Cotton", ProductType.TEE);
+        Long exactId = createProduct("Axolotls Tee", "Cotton", ProductType.TEE);
+        Long descriptionId = createProduct("Plain Tee", "Printed axolotls on the back", ProductType.TEE);
+
+        // Close matches follow by edit distance, so the exact word in a description beats a typo in a name
+        mockMvc.perform(get("/product/list").param("name", "axolotls"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", Matchers.contains(exactId.intValue(), descriptionId.intValue(),
+                        closeId.intValue())));
+        mockMvc.perform(get("/product/list").param("name", "axolotls").param("page", "1").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", Matchers.contains(closeId.intValue())));
+    }
+
+    @Test
+    void testListProducts_FollowsCatalogWrites() throws Exception {
+        Long productId = createProduct("Capybara Cap", "Wool", ProductType.ACCESSORIES);
+        mockMvc.perform(get("/product/list").param("name", "capybra"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", Matchers.contains(productId.intValue())));
+
+        productService.deleteProduct(productId);
+        mockMvc.perform(get("/product/list").param("name", "capybra"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    private Long createProduct(String name, String description, ProductType type) {
+        ProductDTO request = new ProductDTO();
+        request.setName(name);
+        request.setDescription(description);
+        request.setType(type);
+        request.setGender(Gender.BOTH);
+        request.setPrice(10f);
+        request.setSizes(List.of(Size.M));
+        request.setImages(List.of(new ProductImageDTO("https://example.com/fuzzy.jpg", true)));
+        return productService.createProduct(request).getId();
+    }
+}
@@ -0,0 +1,140 @@
+package com.generic.rest.main;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.generic.rest.main.dto.CollectionDTO;
+import com.generic.rest.main.dto.ProductDTO;
+import com.generic.rest.main.dto.ProductImageDTO;
+import com.generic.rest.main.model.Product;
+import com.generic.rest.main.model.enums.Size;
+import com.generic.rest.main.repository.ProductRepository;
+import com.generic.rest.main.service.CollectionService;
+import com.generic.rest.main.service.FieldSelection;
+import com.generic.rest.main.service.ProductService;
+import com.generic.rest.main.service.ProductViews;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+// Same properties as ProductBatchTest, so the two share a context
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class ProductProjectionAllocationTest {
+
+    private static final int PRODUCTS = 200;
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CollectionService collectionService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductViews productViews;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testProjection_AllocatesLessThanEntityHydration() {
+        CollectionDTO collection = new CollectionDTO();
+        collection.setName("Allocation Collection");
+        Long collectionId = collectionService.createCollection(collection).getId();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            ids.add(TestProducts.named("Allocation Product " + i).sizes(List.of(Size.S, Size.M))
+                    .images("https://example.com/front.jpg", "https://example.com/back.jpg").collections(collectionId)
+                    .create(productService));
+        }
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        // What listing did before: managed entities, then their lazy images and collections
+        Supplier<List<ProductDTO>> hydrated = () -> readOnly.execute(status -> {
+            List<ProductDTO> products = new ArrayList<>();
+            for (Product product : productRepository.findAllActiveByIdIn(ids)) {
+                products.add(new ProductDTO(product.getId(), product.getName(), product.getDescription(),
+                        product.getNote(), product.getFabricDetails(), product.getType(), product.getGender(),
+                        product.getPrice(), product.getSizesList(),
+                        product.getImages().stream().map(i -> new ProductImageDTO(i.getUrl(), i.getIsMain())).toList(),
+                        product.getCollectionIds()));
+            }
+            return products;
+        });
+        Supplier<List<ProductDTO>> projected = () -> readOnly.execute(
+                status -> productViews.findActive(ids, FieldSelection.all()));
+
+        long hydratedBytes = allocatedPerRound(hydrated);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long entitiesBefore = statistics.getEntityLoadCount();
+        long projectedBytes = allocatedPerRound(projected);
+        System.out.printf("Loading %d products: %d KB allocated hydrating entities, %d KB projecting%n",
+                PRODUCTS, hydratedBytes / 1024, projectedBytes / 1024);
+
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(entitiesBefore);
+        List<ProductDTO> products = projected.get();
+        assertThat(products).hasSize(PRODUCTS);
+        assertThat(products.get(0).getImages()).hasSize(2);
+        assertThat(products.get(0).getCollectionIds()).containsExactly(collectionId);
+        assertThat(projectedBytes).isLessThan(hydratedBytes);
+    }
+
+    @Test
+    void testListing_SearchesIdsWithoutLoadingEntities() {
+        CollectionDTO collection = new CollectionDTO();
+        collection.setName("Listing Collection");
+        Long collectionId = collectionService.createCollection(collection).getId();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(TestProducts.named("Listing Sweater " + i).collections(collectionId).create(productService));
+        }
+        Long rare = TestProducts.named("Listing Cardigan").collections(collectionId).create(productService);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long entitiesBefore = statistics.getEntityLoadCount();
+        // By collection, by name with enough exact hits, and by name with fuzzy matches added
+        List<ProductDTO> inCollection = productService.listProducts(null, null, null, null, null, null, collectionId,
+                null, 0, 10, FieldSelection.all());
+        List<ProductDTO> byName = productService.listProducts("listing sweater", null, null, null, null, null, null,
+                null, 0, 10, FieldSelection.all());
+        List<ProductDTO> fuzzy = productService.listProducts("listing cardigna", null, null, null, null, null, null,
+                null, 0, 10, FieldSelection.all());
+
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(entitiesBefore);
+        assertThat(inCollection).hasSize(6);
+        assertThat(byName).extracting(ProductDTO::getId).containsExactlyElementsOf(ids);
+        assertThat(fuzzy).extracting(ProductDTO::getId).contains(rare);
+    }
+
+    // Average bytes allocated by this thread per call, after a warm-up round
+    private static long allocatedPerRound(Supplier<List<ProductDTO>> load) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().threadId();
+        assertThat(load.get()).hasSize(PRODUCTS);
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < ROUNDS; i++) {
+            load.get();
+        }
+        return (threads.getThreadAllocatedBytes(thread) - before) / ROUNDS;
+    }
+}
@@ -0,0 +1,172 @@
+package com.generic.rest.main;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.generic.rest.main.dto.ProductDTO;
+import com.generic.rest.main.dto.ProductImageDTO;
+import com.generic.rest.main.dto.SearchCacheStatsDTO;
+import com.generic.rest.main.dto.auth.AuthRequest;
+import com.generic.rest.main.dto.auth.AuthResponse;
+import com.generic.rest.main.model.User;
+import com.generic.rest.main.model.enums.Gender;
+import com.generic.rest.main.model.enums.ProductType;
+import com.generic.rest.main.model.enums.Role;
+import com.generic.rest.main.model.enums.Size;
+import com.generic.rest.main.repository.UserRepository;
+import com.generic.rest.main.service.ProductSearchCache;
+import com.generic.rest.main.service.ProductService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Other tests share the cache, so assertions compare counters before and after
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProductSearchCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductSearchCache productSearchCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void testListProducts_RepeatedPageIsServedFromCache() throws Exception {
+        Long firstId = createProduct("Cached Tee", 731.5f);
+
+        SearchCacheStatsDTO before = productSearchCache.getStats();
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/product/list").param("minPrice", "731").param("maxPrice", "732"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[*].id", Matchers.contains(firstId.intValue())));
+        }
+        SearchCacheStatsDTO after = productSearchCache.getStats();
+        assertThat(after.getMisses()).isEqualTo(before.getMisses() + 1);
+        assertThat(after.getHits()).isEqualTo(before.getHits() + 1);
+
+        // A catalog write drops the cached page
+        Long secondId = createProduct("Cached Shirt", 731.25f);
+        mockMvc.perform(get("/product/list").param("minPrice", "731").param("maxPrice", "732").param("sort", "PRICE_ASC"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", Matchers.contains(secondId.intValue(), firstId.intValue())));
+
+        ProductDTO edit = new ProductDTO();
+        edit.setName("Cached Tee");
+        edit.setPrice(5f);
+        productService.editProduct(firstId, edit);
+        mockMvc.perform(get("/product/list").param("minPrice", "731").param("maxPrice", "732").param("sort", "PRICE_ASC"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", Matchers.contains(secondId.intValue())));
+    }
+
+    @Test
+    void testGet_ConcurrentMissesRunOneSearch() throws Exception {
+        int callers = 4;
+        ProductSearchCache.Key key = ProductSearchCache.Key.of("Coalesced", null, null, null, null, null, null,
+                null, 0, 20);
+        AtomicInteger searches = new AtomicInteger();
+        long coalescedBefore = productSearchCache.getStats().getCoalesced();
+
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<List<Long>>> futures = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                futures.add(executor.submit(() -> productSearchCache.get(key, () -> {
+                    searches.incrementAndGet();
+                    // Keeps the search running until every other caller is waiting for it
+                    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+                    while (productSearchCache.getStats().getCoalesced() < coalescedBefore + callers - 1
+                            && System.nanoTime() < deadline) {
+                        Thread.onSpinWait();
+                    }
+                    return List.of(7L, 3L);
+                })));
+            }
+            for (Future<List<Long>> future : futures) {
+                assertThat(future.get(30, TimeUnit.SECONDS)).containsExactly(7L, 3L);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(searches.get()).isEqualTo(1);
+        assertThat(productSearchCache.getStats().getCoalesced()).isEqualTo(coalescedBefore + callers - 1);
+    }
+
+    @Test
+    void testSearchCacheStats_AdminOnly() throws Exception {
+        mockMvc.perform(get("/product/list").param("type", "SHOES"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/admin/search-cache"))
+                .andExpect(status().isForbidden());
+
+        String token = signupAdmin("searchcache@example.com");
+        mockMvc.perform(get("/admin/search-cache")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enabled").value(true))
+                .andExpect(jsonPath("$.misses").isNumber())
+                .andExpect(jsonPath("$.coalesced").isNumber())
+                .andExpect(jsonPath("$.hitRatio").isNumber());
+    }
+
+    private Long createProduct(String name, float price) {
+        ProductDTO request = new ProductDTO();
+        request.setName(name);
+        request.setDescription("Search cache test product");
+        request.setType(ProductType.TEE);
+        request.setGender(Gender.BOTH);
+        request.setPrice(price);
+        request.setSizes(List.of(Size.M));
+        request.setImages(List.of(new ProductImageDTO("https://example.com/cache.jpg", true)));
+        return productService.createProduct(request).getId();
+    }
+
+    private String signupAdmin(String email) throws Exception {
+        AuthRequest signupRequest = new AuthRequest();
+        signupRequest.setFirstName("Cache");
+        signupRequest.setLastName("Admin");
+        signupRequest.setEmail(email);
+        signupRequest.setPassword("TestPassword123");
+
+        MvcResult result = mockMvc.perform(post("/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(signupRequest)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        User user = userRepository.findByEmail(email).orElseThrow();
+        user.setRole(Role.ADMIN);
+        userRepository.save(user);
+
+        return objectMapper.readValue(result.getResponse().getContentAsString(), AuthResponse.class).getAccessToken();
+    }
+}
@@ -0,0 +1,93 @@
+package com.generic.rest.main;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.generic.rest.main.dto.CollectionDTO;
+import com.generic.rest.main.dto.ProductDTO;
+import com.generic.rest.main.service.CollectionService;
+import com.generic.rest.main.service.ProductService;
+
+// Other tests share the index, so names use a prefix nothing else starts with
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProductSuggestTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CollectionService collectionService;
+
+    @Test
+    void testSuggest_MatchesWordStartsOfProductsAndCollections() throws Exception {
+        Long teeId = TestProducts.named("Quokka Crème Tee").create(productService);
+        Long dressId = TestProducts.named("Long Quokka-Print Dress").create(productService);
+        CollectionDTO collection = new CollectionDTO();
+        collection.setName("Quokka");
+        Long collectionId = collectionService.createCollection(collection).getId();
+
+        // Whole-name matches first, shortest first; accents and case are ignored
+        mockMvc.perform(get("/product/suggest").param("q", "QUOK"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", Matchers.contains(collectionId.intValue(), teeId.intValue(),
+                        dressId.intValue())))
+                .andExpect(jsonPath("$[0].type").value("COLLECTION"))
+                .andExpect(jsonPath("$[1].name").value("Quokka Crème Tee"));
+        mockMvc.perform(get("/product/suggest").param("q", "quokka creme"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", Matchers.contains(teeId.intValue())));
+        mockMvc.perform(get("/product/suggest").param("q", "print d"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", Matchers.contains(dressId.intValue())));
+        mockMvc.perform(get("/product/suggest").param("q", "quokka").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void testSuggest_FollowsCatalogWrites() throws Exception {
+        Long productId = TestProducts.named("Wombat Jacket").create(productService);
+        mockMvc.perform(get("/product/suggest").param("q", "wombat"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", Matchers.contains(productId.intValue())));
+
+        ProductDTO edit = new ProductDTO();
+        edit.setName("Numbat Jacket");
+        productService.editProduct(productId, edit);
+        mockMvc.perform(get("/product/suggest").param("q", "wombat"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get("/product/suggest").param("q", "numbat"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", Matchers.contains(productId.intValue())));
+
+        productService.deleteProduct(productId);
+        mockMvc.perform(get("/product/suggest").param("q", "numbat"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void testSuggest_Validation() throws Exception {
+        mockMvc.perform(get("/product/suggest").param("q", "  -- "))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get("/product/suggest").param("q", "tee").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/product/suggest"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,102 @@
+package com.generic.rest.main;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.generic.rest.main.dto.auth.AuthRequest;
+import com.generic.rest.main.repository.UserRepository;
+
+@SpringBootTest(properties = {
+        "app.security.rate-limit.enabled=true",
+        "app.security.rate-limit.groups[0].name=auth",
+        "app.security.rate-limit.groups[0].paths=/auth/login",
+        "app.security.rate-limit.groups[0].capacity=3",
+        "app.security.rate-limit.groups[0].refill-per-minute=1",
+        "app.security.rate-limit.groups[1].name=catalog",
+        "app.security.rate-limit.groups[1].paths=/product/list",
+        "app.security.rate-limit.groups[1].capacity=2",
+        "app.security.rate-limit.groups[1].refill-per-minute=1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RateLimitTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testLogin_RejectedAfterCapacity() throws Exception {
+        AuthRequest loginRequest = new AuthRequest();
+        loginRequest.setEmail("stuffing@example.com");
+        loginRequest.setPassword("WrongPassword123");
+        String body = objectMapper.writeValueAsString(loginRequest);
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/auth/login")
+                    .with(request -> { request.setRemoteAddr("10.0.0.1"); return request; })
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(body))
+                    .andExpect(status().isUnauthorized());
+        }
+
+        mockMvc.perform(post("/auth/login")
+                .with(request -> { request.setRemoteAddr("10.0.0.1"); return request; })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"));
+
+        // Other clients keep their own bucket
+        mockMvc.perform(post("/auth/login")
+                .with(request -> { request.setRemoteAddr("10.0.0.2"); return request; })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testProductList_RejectedAfterCapacity() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/product/list")
+                    .with(request -> { request.setRemoteAddr("10.0.0.3"); return request; }))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/product/list")
+                .with(request -> { request.setRemoteAddr("10.0.0.3"); return request; }))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "60"));
+    }
+
+    @Test
+    void testUnmatchedRoute_NotLimited() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(get("/auth/role")
+                    .with(request -> { request.setRemoteAddr("10.0.0.4"); return request; }))
+                    .andExpect(status().isForbidden());
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.generic.rest.main;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.generic.rest.main.dto.AddressDTO;
+import com.generic.rest.main.dto.OrderDTO;
+import com.generic.rest.main.dto.OrderProductDTO;
+import com.generic.rest.main.dto.auth.AuthRequest;
+import com.generic.rest.main.dto.auth.AuthResponse;
+import com.generic.rest.main.model.Product;
+import com.generic.rest.main.model.User;
+import com.generic.rest.main.model.enums.Gender;
+import com.generic.rest.main.model.enums.ProductType;
+import com.generic.rest.main.model.enums.Role;
+import com.generic.rest.main.model.enums.Size;
+import com.generic.rest.main.repository.AddressRepository;
+import com.generic.rest.main.repository.OrderRepository;
+import com.generic.rest.main.repository.ProductRepository;
+import com.generic.rest.main.repository.UserRepository;
+
+import java.util.Arrays;
+import java.util.List;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SalesReportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String authToken;
+    private Long addressId;
+    private Long teeId;
+    private Long dressId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        addressRepository.deleteAll();
+        userRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM sales_daily");
+        jdbcTemplate.update("DELETE FROM sales_product_daily");
+        jdbcTemplate.update("DELETE FROM sales_category_daily");
+
+        AuthRequest signupRequest = new AuthRequest();
+        signupRequest.setFirstName("Report");
+        signupRequest.setLastName("User");
+        signupRequest.setEmail("reports@example.com");
+        signupRequest.setPassword("TestPassword123");
+
+        MvcResult authResult = mockMvc.perform(post("/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(signupRequest)))
+                .andExpect(status().isOk())
+                .andReturn();
+        authToken = objectMapper.readValue(authResult.getResponse().getContentAsString(), AuthResponse.class)
+                .getAccessToken();
+
+        User user = userRepository.findByEmail("reports@example.com").orElseThrow();
+        user.setRole(Role.ADMIN);
+        userRepository.save(user);
+
+        AddressDTO addressRequest = new AddressDTO();
+        addressRequest.setFirstName("John");
+        addressRequest.setLastName("Doe");
+        addressRequest.setAddress("123 Main St");
+        addressRequest.setZipCode("12345");
+
+        MvcResult addressResult = mockMvc.perform(post("/account/address/create")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(addressRequest)))
+                .andExpect(status().isOk())
+                .andReturn();
+        addressId = objectMapper.readValue(addressResult.getResponse().getContentAsString(), AddressDTO.class).getId();
+
+        teeId = productRepository.save(new Product("Tee", "Cotton tee", null, null,
+                ProductType.TEE, Gender.BOTH, 10f, List.of(Size.M))).getId();
+        dressId = productRepository.save(new Product("Dress", "Summer dress", null, null,
+                ProductType.DRESS, Gender.FEMALE, 50f, List.of(Size.M))).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Other test classes delete addresses without deleting their orders first
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    void testReports_UpdatedOnCreate() throws Exception {
+        createOrder(line(teeId, 2), line(dressId, 1));
+        createOrder(line(teeId, 1));
+
+        mockMvc.perform(get("/admin/reports/daily")
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].orders").value(2))
+                .andExpect(jsonPath("$[0].units").value(4))
+                .andExpect(jsonPath("$[0].revenue", closeTo(80.0, 0.001)));
+
+        mockMvc.perform(get("/admin/reports/products")
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].productId").value(dressId))
+                .andExpect(jsonPath("$[1].productId").value(teeId))
+                .andExpect(jsonPath("$[1].units").value(3));
+
+        mockMvc.perform(get("/admin/reports/categories")
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].gender").value("FEMALE"))
+                .andExpect(jsonPath("$[0].type").value("DRESS"))
+                .andExpect(jsonPath("$[1].type").value("TEE"))
+                .andExpect(jsonPath("$[1].revenue", closeTo(30.0, 0.001)));
+    }
+
+    @Test
+    void testReports_UpdatedOnDelete() throws Exception {
+        createOrder(line(teeId, 2));
+        Long dressOrder = createOrder(line(dressId, 1));
+
+        mockMvc.perform(delete("/order/delete/" + dressOrder)
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/admin/reports/daily")
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].orders").value(1))
+                .andExpect(jsonPath("$[0].revenue", closeTo(20.0, 0.001)));
+
+        mockMvc.perform(get("/admin/reports/products")
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].productId").value(teeId));
+    }
+
+    @Test
+    void testReports_DeleteAfterRecategorisationUsesOrderedCategory() throws Exception {
+        Long teeOrder = createOrder(line(teeId, 2));
+
+        Product tee = productRepository.findById(teeId).orElseThrow();
+        tee.setType(ProductType.SHIRT);
+        tee.setGender(Gender.MALE);
+        productRepository.save(tee);
+
+        mockMvc.perform(delete("/order/delete/" + teeOrder)
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isNoContent());
+
+        // Nothing was ever sold as a shirt, and the tee sale is gone from its original category
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT gender || '|' || type || '|' || units FROM sales_category_daily WHERE units <> 0", String.class))
+                .isEmpty();
+        mockMvc.perform(get("/admin/reports/categories")
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void testRebuild_MatchesIncrementalRollups() throws Exception {
+        createOrder(line(teeId, 2), line(dressId, 1));
+        createOrder(line(dressId, 3));
+
+        List<String> incremental = snapshot();
+        jdbcTemplate.update("DELETE FROM sales_daily");
+        jdbcTemplate.update("DELETE FROM sales_product_daily");
+        jdbcTemplate.update("UPDATE sales_category_daily SET units = 0, revenue = 0");
+
+        mockMvc.perform(post("/admin/reports/rebuild")
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orders").value(2));
+
+        assertThat(snapshot()).isEqualTo(incremental);
+    }
+
+    @Test
+    void testReports_RequireAdmin() throws Exception {
+        mockMvc.perform(get("/admin/reports/daily"))
+                .andExpect(status().isForbidden());
+    }
+
+    private List<String> snapshot() {
+        return jdbcTemplate.queryForList(
+                "SELECT 'd|' || day || '|' || orders || '|' || units || '|' || ROUND(revenue, 2) FROM sales_daily " +
+                "UNION ALL SELECT 'p|' || day || '|' || product_id || '|' || units || '|' || ROUND(revenue, 2) FROM sales_product_daily " +
+                "UNION ALL SELECT 'c|' || day || '|' || gender || '|' || type || '|' || units || '|' || ROUND(revenue, 2) FROM sales_category_daily " +
+                "ORDER BY 1", String.class);
+    }
+
+    private OrderProductDTO line(Long productId, int quantity) {
+        OrderProductDTO line = new OrderProductDTO();
+        line.setProductId(productId);
+        line.setSize(Size.M);
+        line.setQuantity(quantity);
+        return line;
+    }
+
+    private Long createOrder(OrderProductDTO... lines) throws Exception {
+        OrderDTO request = new OrderDTO();
+        AddressDTO addressDto = new AddressDTO();
+        addressDto.setId(addressId);
+        request.setAddress(addressDto);
+        request.setProducts(Arrays.asList(lines));
+
+        MvcResult result = mockMvc.perform(post("/order/create")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), OrderDTO.class).getId();
+    }
+}
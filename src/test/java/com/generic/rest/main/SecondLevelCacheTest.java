@@ -0,0 +1,142 @@
+package com.generic.rest.main;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.generic.rest.main.dto.CollectionDTO;
+import com.generic.rest.main.dto.auth.AuthRequest;
+import com.generic.rest.main.dto.auth.AuthResponse;
+import com.generic.rest.main.model.User;
+import com.generic.rest.main.model.enums.Role;
+import com.generic.rest.main.repository.UserRepository;
+import com.generic.rest.main.service.CollectionService;
+import com.generic.rest.main.service.FieldSelection;
+import com.generic.rest.main.service.ProductService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CollectionService collectionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void testGetCollection_RepeatedReadIsServedFromCache() {
+        Long collectionId = createCollection("Cached Shelf", null);
+        Long productId = TestProducts.named("Cached Shelf Tee").collections(collectionId).create(productService);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        assertThat(collectionService.getCollection(collectionId, FieldSelection.all()).getProductIds())
+                .containsExactly(productId);
+        long statements = statistics.getPrepareStatementCount();
+        long hits = statistics.getSecondLevelCacheHitCount();
+        assertThat(collectionService.getCollection(collectionId, FieldSelection.all()).getProductIds())
+                .containsExactly(productId);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThan(hits);
+
+        // Writes through the services keep the cached entries current
+        CollectionDTO rename = new CollectionDTO();
+        rename.setName("Renamed Shelf");
+        collectionService.editCollection(collectionId, rename);
+        collectionService.removeProductFromCollection(collectionId, productId);
+        CollectionDTO collection = collectionService.getCollection(collectionId, FieldSelection.all());
+        assertThat(collection.getName()).isEqualTo("Renamed Shelf");
+        assertThat(collection.getProductIds()).isEmpty();
+        assertThat(productService.getProduct(productId, FieldSelection.all()).getCollectionIds()).isEmpty();
+    }
+
+    @Test
+    void testDeleteCollection_ProductsDropDeletedSubcollections() {
+        Long parentId = createCollection("Cached Parent", null);
+        Long subcollectionId = createCollection("Cached Child", parentId);
+        Long productId = TestProducts.named("Cached Child Dress").collections(subcollectionId).create(productService);
+        assertThat(productService.getProduct(productId, FieldSelection.all()).getCollectionIds())
+                .containsExactly(subcollectionId);
+
+        collectionService.deleteCollection(parentId);
+        assertThat(productService.getProduct(productId, FieldSelection.all()).getCollectionIds()).isEmpty();
+    }
+
+    @Test
+    void testFindByEmail_UsesQueryCache() throws Exception {
+        String token = signupAdmin("secondlevelcache@example.com");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        userRepository.findByEmail("secondlevelcache@example.com").orElseThrow();
+        long statements = statistics.getPrepareStatementCount();
+        long queryHits = statistics.getQueryCacheHitCount();
+        User user = userRepository.findByEmail("secondlevelcache@example.com").orElseThrow();
+        assertThat(user.getRole()).isEqualTo(Role.ADMIN);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(queryHits + 1);
+
+        mockMvc.perform(get("/admin/second-level-cache"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/admin/second-level-cache")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enabled").value(true))
+                .andExpect(jsonPath("$.queryHits").isNumber())
+                .andExpect(jsonPath("$.regions[?(@.region == 'user-queries')].hits").isNotEmpty())
+                .andExpect(jsonPath("$.regions[?(@.region == 'com.generic.rest.main.model.User')]").isNotEmpty());
+    }
+
+    private String signupAdmin(String email) throws Exception {
+        AuthRequest signupRequest = new AuthRequest();
+        signupRequest.setFirstName("Cache");
+        signupRequest.setLastName("Admin");
+        signupRequest.setEmail(email);
+        signupRequest.setPassword("TestPassword123");
+
+        MvcResult result = mockMvc.perform(post("/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(signupRequest)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        User user = userRepository.findByEmail(email).orElseThrow();
+        user.setRole(Role.ADMIN);
+        userRepository.save(user);
+
+        return objectMapper.readValue(result.getResponse().getContentAsString(), AuthResponse.class).getAccessToken();
+    }
+
+    private Long createCollection(String name, Long parentId) {
+        CollectionDTO collection = new CollectionDTO();
+        collection.setName(name);
+        collection.setParentCollectionId(parentId);
+        return collectionService.createCollection(collection).getId();
+    }
+}
@@ -0,0 +1,143 @@
+package com.generic.rest.main;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.generic.rest.main.dto.CollectionDTO;
+import com.generic.rest.main.dto.auth.AuthRequest;
+import com.generic.rest.main.dto.auth.AuthResponse;
+import com.generic.rest.main.model.User;
+import com.generic.rest.main.model.enums.Role;
+import com.generic.rest.main.repository.UserRepository;
+import com.generic.rest.main.service.CollectionService;
+import com.generic.rest.main.service.ProductService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Same properties as ProductBatchTest, so the two share a context
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SparseFieldsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CollectionService collectionService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void testProductFields_UnselectedAssociationsAreNotLoaded() throws Exception {
+        Long collectionId = createCollection("Sparse Collection");
+        Long productId = TestProducts.named("Sparse Tee").collections(collectionId).create(productService);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        long before = statistics.getCollectionLoadCount();
+        mockMvc.perform(get("/product/show/" + productId).param("fields", "name,price"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(productId))
+                .andExpect(jsonPath("$.name").value("Sparse Tee"))
+                .andExpect(jsonPath("$.price").value(10.0))
+                .andExpect(jsonPath("$.description").doesNotExist())
+                .andExpect(jsonPath("$.images").doesNotExist())
+                .andExpect(jsonPath("$.collectionIds").doesNotExist());
+        assertThat(statistics.getCollectionLoadCount()).isEqualTo(before);
+
+        mockMvc.perform(get("/product/batch").param("ids", productId.toString()).param("fields", "images"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products[0].images[0].url").value(TestProducts.IMAGE_URL))
+                .andExpect(jsonPath("$.products[0].name").doesNotExist())
+                .andExpect(jsonPath("$.missingIds.length()").value(0));
+
+        // Without fields every field is written, as before
+        mockMvc.perform(get("/product/show/" + productId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.note").hasJsonPath())
+                .andExpect(jsonPath("$.collectionIds[0]").value(collectionId));
+    }
+
+    @Test
+    void testCollectionFields_UnselectedAssociationsAreNotLoaded() throws Exception {
+        Long collectionId = createCollection("Sparse Shelf");
+        TestProducts.named("Sparse Dress").collections(collectionId).create(productService);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        String token = signupAdmin("sparsecollections@example.com");
+
+        long before = statistics.getCollectionLoadCount();
+        mockMvc.perform(get("/collection/show/" + collectionId).param("fields", "name")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Sparse Shelf"))
+                .andExpect(jsonPath("$.productIds").doesNotExist())
+                .andExpect(jsonPath("$.subcollections").doesNotExist());
+        assertThat(statistics.getCollectionLoadCount()).isEqualTo(before);
+
+        mockMvc.perform(get("/collection/" + collectionId + "/products").param("fields", "name")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Sparse Dress"))
+                .andExpect(jsonPath("$[0].images").doesNotExist());
+    }
+
+    @Test
+    void testFields_UnknownFieldIsRejected() throws Exception {
+        mockMvc.perform(get("/product/list").param("fields", "name,password"))
+                .andExpect(status().isBadRequest());
+        String token = signupAdmin("sparsefields@example.com");
+        mockMvc.perform(get("/collection/list").param("fields", "images")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String signupAdmin(String email) throws Exception {
+        AuthRequest signupRequest = new AuthRequest();
+        signupRequest.setFirstName("Sparse");
+        signupRequest.setLastName("Admin");
+        signupRequest.setEmail(email);
+        signupRequest.setPassword("TestPassword123");
+
+        MvcResult result = mockMvc.perform(post("/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(signupRequest)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        User user = userRepository.findByEmail(email).orElseThrow();
+        user.setRole(Role.ADMIN);
+        userRepository.save(user);
+
+        return objectMapper.readValue(result.getResponse().getContentAsString(), AuthResponse.class).getAccessToken();
+    }
+
+    private Long createCollection(String name) {
+        CollectionDTO collection = new CollectionDTO();
+        collection.setName(name);
+        return collectionService.createCollection(collection).getId();
+    }
+}
@@ -0,0 +1,84 @@
+package com.generic.rest.main;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the statements sent to the database at the JDBC level, whether they come from Hibernate
+ * or from {@code JdbcTemplate}. Each {@code execute*} call is one round trip, so a JDBC batch counts
+ * once. Only statements run on the thread that last called {@link #reset()} are counted.
+ * <p>
+ * Register with {@code @Import(StatementCounter.class)}.
+ */
+public class StatementCounter implements BeanPostProcessor {
+
+    private final AtomicInteger count = new AtomicInteger();
+    private volatile Thread counted;
+
+    public void reset() {
+        counted = Thread.currentThread();
+        count.set(0);
+    }
+
+    public int get() {
+        return count.get();
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return proxy(Connection.class, super.getConnection());
+                }
+
+                @Override
+                public Connection getConnection(String username, String password) throws SQLException {
+                    return proxy(Connection.class, super.getConnection(username, password));
+                }
+            };
+        }
+        return bean;
+    }
+
+    private <T> T proxy(Class<T> type, T target) {
+        Object proxy = Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type}, (p, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (target instanceof Connection) {
+                if (result instanceof CallableStatement statement) {
+                    return proxy(CallableStatement.class, statement);
+                }
+                if (result instanceof PreparedStatement statement) {
+                    return proxy(PreparedStatement.class, statement);
+                }
+                if (result instanceof Statement statement) {
+                    return proxy(Statement.class, statement);
+                }
+            } else if (method.getName().startsWith("execute") && Thread.currentThread() == counted) {
+                count.incrementAndGet();
+            }
+            return result;
+        });
+        return type.cast(proxy);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
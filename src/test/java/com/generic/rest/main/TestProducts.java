@@ -0,0 +1,79 @@
+package com.generic.rest.main;
+
+import com.generic.rest.main.dto.ProductDTO;
+import com.generic.rest.main.dto.ProductImageDTO;
+import com.generic.rest.main.model.enums.Gender;
+import com.generic.rest.main.model.enums.ProductType;
+import com.generic.rest.main.model.enums.Size;
+import com.generic.rest.main.service.ProductService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates test products through {@link ProductService}. Unless overridden, a product is a tee for
+ * both genders at 10, in size M, with one main image at {@link #IMAGE_URL} and no collections.
+ * <pre>
+ * Long id = TestProducts.named("Tee").price(20f).collections(collectionId).create(productService);
+ * </pre>
+ */
+public final class TestProducts {
+
+    public static final String IMAGE_URL = "https://example.com/product.jpg";
+
+    private final ProductDTO request = new ProductDTO();
+
+    private TestProducts(String name) {
+        request.setName(name);
+        request.setDescription("Test product");
+        request.setType(ProductType.TEE);
+        request.setGender(Gender.BOTH);
+        request.setPrice(10f);
+        request.setSizes(List.of(Size.M));
+        request.setImages(List.of(new ProductImageDTO(IMAGE_URL, true)));
+        request.setCollectionIds(List.of());
+    }
+
+    public static TestProducts named(String name) {
+        return new TestProducts(name);
+    }
+
+    public TestProducts type(ProductType type) {
+        request.setType(type);
+        return this;
+    }
+
+    public TestProducts gender(Gender gender) {
+        request.setGender(gender);
+        return this;
+    }
+
+    public TestProducts price(float price) {
+        request.setPrice(price);
+        return this;
+    }
+
+    public TestProducts sizes(List<Size> sizes) {
+        request.setSizes(sizes);
+        return this;
+    }
+
+    // The first image is the main one
+    public TestProducts images(String... urls) {
+        List<ProductImageDTO> images = new ArrayList<>();
+        for (int i = 0; i < urls.length; i++) {
+            images.add(new ProductImageDTO(urls[i], i == 0));
+        }
+        request.setImages(images);
+        return this;
+    }
+
+    public TestProducts collections(Long... collectionIds) {
+        request.setCollectionIds(List.of(collectionIds));
+        return this;
+    }
+
+    public Long create(ProductService productService) {
+        return productService.createProduct(request).getId();
+    }
+}
@@ -0,0 +1,84 @@
+package com.generic.rest.main;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.generic.rest.main.service.TrigramIndex;
+
+import java.util.List;
+import java.util.Random;
+
+// Builds a synthetic catalog directly, without Spring. The timed run only runs with -Pbenchmark.
+class TrigramIndexBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TrigramIndexBenchmarkTest.class);
+
+    private static final int QUERIES = 200;
+
+    private static final String[] ADJECTIVES = {"basic", "classic", "vintage", "oversized", "slim", "relaxed",
+            "cropped", "striped", "washed", "organic", "heavy", "light", "pleated", "quilted", "ribbed", "padded"};
+    private static final String[] COLORS = {"black", "white", "navy", "olive", "sand", "grey", "burgundy", "cream",
+            "charcoal", "mustard", "teal", "rust"};
+    private static final String[] ITEMS = {"tee", "shirt", "hoodie", "jacket", "dress", "trousers", "sweater",
+            "cardigan", "blazer", "skirt", "shorts", "sneakers", "boots", "scarf", "beanie", "overshirt"};
+    private static final String[] MATERIALS = {"cotton", "linen", "wool", "denim", "cashmere", "corduroy", "leather",
+            "fleece", "jersey", "canvas"};
+    private static final String[] QUERY_TERMS = {"merino turtlenek", "vintge", "cardigna", "corduroy",
+            "oversised hoodie", "charcol"};
+
+    @Test
+    void testSearch_RanksTypoMatchFirst() {
+        int products = 5_000;
+        TrigramIndex index = catalog(products);
+
+        for (String query : QUERY_TERMS) {
+            assertFalse(index.search(query, 200, 100).isEmpty(), query);
+        }
+        List<TrigramIndex.Hit> hits = index.search("merino turtlenek", 200, 100);
+        assertEquals(products + 1L, hits.get(0).id());
+        assertTrue(hits.get(0).inName());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void testSearch_LargeCatalog() {
+        int products = 100_000;
+        long buildStart = System.nanoTime();
+        TrigramIndex index = catalog(products);
+        long buildMillis = (System.nanoTime() - buildStart) / 1_000_000;
+        assertEquals(products + 1, index.size());
+
+        long queryStart = System.nanoTime();
+        for (int i = 0; i < QUERIES; i++) {
+            assertFalse(index.search(QUERY_TERMS[i % QUERY_TERMS.length], 200, 100).isEmpty());
+        }
+        double averageMillis = (System.nanoTime() - queryStart) / 1_000_000.0 / QUERIES;
+        log.info("Trigram index: {} products built in {} ms, {} ms per query",
+                products, buildMillis, String.format("%.2f", averageMillis));
+
+        assertEquals(products + 1L, index.search("merino turtlenek", 200, 100).get(0).id());
+        // Generous bound; the point is catching a regression to a full scan with edit distances
+        assertTrue(averageMillis < 250, "average query took " + averageMillis + " ms");
+    }
+
+    // Random names and descriptions, plus one distinct product with id products + 1
+    private static TrigramIndex catalog(int products) {
+        Random random = new Random(42);
+        TrigramIndex index = new TrigramIndex();
+        for (long id = 1; id <= products; id++) {
+            String name = pick(random, ADJECTIVES) + " " + pick(random, COLORS) + " " + pick(random, ITEMS) + " " + id;
+            String description = "Made from " + pick(random, MATERIALS) + " in a " + pick(random, ADJECTIVES) + " fit";
+            index.put(id, name, description);
+        }
+        index.put(products + 1L, "Merino Turtleneck", "Fine knit");
+        return index;
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,270 @@
+package com.generic.rest.main;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.generic.rest.main.dto.AddressDTO;
+import com.generic.rest.main.dto.WriteSchedulerStatsDTO;
+import com.generic.rest.main.dto.auth.AuthRequest;
+import com.generic.rest.main.dto.auth.AuthResponse;
+import com.generic.rest.main.model.Product;
+import com.generic.rest.main.model.User;
+import com.generic.rest.main.model.enums.Gender;
+import com.generic.rest.main.model.enums.ProductType;
+import com.generic.rest.main.model.enums.Role;
+import com.generic.rest.main.model.enums.Size;
+import com.generic.rest.main.repository.AddressRepository;
+import com.generic.rest.main.repository.OrderRepository;
+import com.generic.rest.main.repository.ProductRepository;
+import com.generic.rest.main.repository.UserRepository;
+import com.generic.rest.main.service.WriteScheduler;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@SpringBootTest(properties = {
+        "app.write-scheduler.enabled=true",
+        "app.write-scheduler.window-micros=200000",
+        "app.write-scheduler.max-batch-size=16"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class WriteSchedulerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private WriteScheduler writeScheduler;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        addressRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testConcurrentUnitsShareOneTransaction() throws Exception {
+        WriteSchedulerStatsDTO before = writeScheduler.getStats();
+
+        List<Object> transactions = runConcurrently(4, i -> writeScheduler.execute(() -> {
+            productRepository.save(product("Tee " + i));
+            return TransactionSynchronizationManager.getResource(entityManagerFactory);
+        }));
+
+        assertThat(new HashSet<>(transactions)).hasSize(1);
+        assertThat(productRepository.count()).isEqualTo(4);
+
+        WriteSchedulerStatsDTO after = writeScheduler.getStats();
+        assertThat(after.getUnits() - before.getUnits()).isEqualTo(4);
+        assertThat(after.getBatches() - before.getBatches()).isEqualTo(1);
+        assertThat(after.getMaxBatchSize()).isGreaterThanOrEqualTo(4);
+    }
+
+    @Test
+    void testFailingUnitIsRolledBackAlone() throws Exception {
+        List<Object> outcomes = runConcurrently(4, i -> {
+            try {
+                return writeScheduler.execute(() -> {
+                    productRepository.save(product("Tee " + i));
+                    if (i == 2) {
+                        throw new ResponseStatusException(HttpStatus.CONFLICT, "Rejected");
+                    }
+                    return "ok";
+                });
+            } catch (ResponseStatusException e) {
+                return e.getStatusCode();
+            }
+        });
+
+        assertThat(outcomes).containsExactly("ok", "ok", HttpStatus.CONFLICT, "ok");
+        Set<String> names = new HashSet<>();
+        productRepository.findAll().forEach(product -> names.add(product.getName()));
+        assertThat(names).containsExactlyInAnyOrder("Tee 0", "Tee 1", "Tee 3");
+    }
+
+    @Test
+    void testFailingUnitDropsItsSynchronizations() throws Exception {
+        Map<Integer, AtomicInteger> commits = new ConcurrentHashMap<>();
+        Map<Integer, AtomicInteger> rollbacks = new ConcurrentHashMap<>();
+
+        runConcurrently(4, i -> {
+            try {
+                return writeScheduler.execute(() -> {
+                    productRepository.save(product("Tee " + i));
+                    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            commits.computeIfAbsent(i, key -> new AtomicInteger()).incrementAndGet();
+                        }
+
+                        @Override
+                        public void afterCompletion(int status) {
+                            if (status == STATUS_ROLLED_BACK) {
+                                rollbacks.computeIfAbsent(i, key -> new AtomicInteger()).incrementAndGet();
+                            }
+                        }
+                    });
+                    if (i == 2) {
+                        throw new ResponseStatusException(HttpStatus.CONFLICT, "Rejected");
+                    }
+                    return "ok";
+                });
+            } catch (ResponseStatusException e) {
+                return e.getStatusCode();
+            }
+        });
+
+        assertThat(commits).containsOnlyKeys(0, 1, 3);
+        assertThat(commits.values()).allSatisfy(count -> assertThat(count.get()).isEqualTo(1));
+        assertThat(rollbacks).containsOnlyKeys(2);
+        assertThat(rollbacks.get(2).get()).isEqualTo(1);
+    }
+
+    @Test
+    void testFailingStatementDoesNotFailOtherUnits() throws Exception {
+        List<Object> outcomes = runConcurrently(3, i -> {
+            try {
+                return writeScheduler.execute(() -> {
+                    // A product without a name violates the NOT NULL constraint on flush
+                    Product product = product(i == 1 ? null : "Tee " + i);
+                    productRepository.save(product);
+                    return "ok";
+                });
+            } catch (RuntimeException e) {
+                return "failed";
+            }
+        });
+
+        assertThat(outcomes).containsExactly("ok", "failed", "ok");
+        assertThat(productRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void testAddressEndpointsThroughScheduler() throws Exception {
+        String token = signupAdmin("scheduler@example.com");
+
+        List<Object> statuses = runConcurrently(3, i -> {
+            AddressDTO request = new AddressDTO();
+            request.setFirstName("John");
+            request.setLastName("Doe " + i);
+            request.setAddress(i + " Main St");
+            request.setZipCode("12345");
+            return mockMvc.perform(post("/account/address/create")
+                    .header("Authorization", "Bearer " + token)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                    .andReturn().getResponse().getStatus();
+        });
+
+        assertThat(statuses).containsOnly(200);
+        assertThat(addressRepository.count()).isEqualTo(3);
+
+        mockMvc.perform(get("/admin/write-scheduler")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enabled").value(true))
+                .andExpect(jsonPath("$.units").isNumber())
+                .andExpect(jsonPath("$.averageWaitMillis").isNumber());
+    }
+
+    private interface Task {
+        Object run(int index) throws Exception;
+    }
+
+    private List<Object> runConcurrently(int count, Task task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(count);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.run(index);
+                }));
+            }
+            start.countDown();
+            List<Object> results = new ArrayList<>();
+            for (Future<Object> future : futures) {
+                results.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private Product product(String name) {
+        return new Product(name, "Cotton tee", null, null, ProductType.TEE, Gender.BOTH, 19.99f, List.of(Size.M));
+    }
+
+    private String signupAdmin(String email) throws Exception {
+        AuthRequest signupRequest = new AuthRequest();
+        signupRequest.setFirstName("Scheduler");
+        signupRequest.setLastName("User");
+        signupRequest.setEmail(email);
+        signupRequest.setPassword("TestPassword123");
+
+        MvcResult result = mockMvc.perform(post("/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(signupRequest)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        User user = userRepository.findByEmail(email).orElseThrow();
+        user.setRole(Role.ADMIN);
+        userRepository.save(user);
+
+        return objectMapper.readValue(result.getResponse().getContentAsString(), AuthResponse.class).getAccessToken();
+    }
+}